@@ -0,0 +1,473 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor that generates static invokers for Bootique DI, so that the injector can skip the reflective
+ * lookup of the module provider methods and injectable constructors. For each module class with {@code @Provides}
+ * methods it generates a "&lt;Module&gt;_BQProvides" class, and for each class with an {@code @Inject} constructor -
+ * a "&lt;Class&gt;_BQConstructor" class. Generated classes are listed in the "META-INF/bootique/di/generated.index"
+ * resource, keyed by the target class and the kind of the generated class. Classes that can't be handled by the generated code (e.g. private or generic ones) are skipped, and are
+ * processed by the injector via reflection as usual.
+ *
+ * @since 4.0
+ */
+@SupportedAnnotationTypes({
+        BQDIProcessor.PROVIDES_ANNOTATION,
+        BQDIProcessor.INJECT_ANNOTATION,
+        BQDIProcessor.BQ_INJECT_ANNOTATION
+})
+public class BQDIProcessor extends AbstractProcessor {
+
+    static final String PROVIDES_ANNOTATION = "io.bootique.di.Provides";
+    static final String INJECT_ANNOTATION = "jakarta.inject.Inject";
+    static final String BQ_INJECT_ANNOTATION = "io.bootique.di.BQInject";
+
+    static final String INDEX_LOCATION = "META-INF/bootique/di/generated.index";
+    static final String PROVIDES_SUFFIX = "_BQProvides";
+    static final String CONSTRUCTOR_SUFFIX = "_BQConstructor";
+
+    // a class may have both kinds of generated classes, so the index entries are qualified with the kind
+    static final String PROVIDES_KIND = "provides";
+    static final String CONSTRUCTOR_KIND = "constructor";
+
+    private static final String PROVIDER_TYPE = "jakarta.inject.Provider";
+    private static final String NAMED_ANNOTATION = "jakarta.inject.Named";
+    private static final String QUALIFIER_ANNOTATION = "jakarta.inject.Qualifier";
+    private static final String SINGLETON_ANNOTATION = "jakarta.inject.Singleton";
+
+    // "target class binary name#kind" -> generated class binary name
+    private final Map<String, String> index = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        Set<TypeElement> modules = new LinkedHashSet<>();
+        Set<TypeElement> injectables = new LinkedHashSet<>();
+
+        for (TypeElement annotation : annotations) {
+            String name = annotation.getQualifiedName().toString();
+            for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (e.getKind() == ElementKind.METHOD && PROVIDES_ANNOTATION.equals(name)) {
+                    modules.add((TypeElement) e.getEnclosingElement());
+                } else if (e.getKind() == ElementKind.CONSTRUCTOR) {
+                    injectables.add((TypeElement) e.getEnclosingElement());
+                }
+            }
+        }
+
+        modules.forEach(this::processModule);
+        injectables.forEach(this::processInjectable);
+
+        // do not claim the annotations, other processors may be interested in them too
+        return false;
+    }
+
+    private void processModule(TypeElement module) {
+        if (!isSupportedTarget(module)) {
+            return;
+        }
+
+        List<ProvidesMethod> methods = new ArrayList<>();
+        for (ExecutableElement m : ElementFilter.methodsIn(module.getEnclosedElements())) {
+            if (hasAnnotation(m, PROVIDES_ANNOTATION)) {
+
+                ProvidesMethod method = providesMethod(m);
+
+                // if any of the methods can't be invoked by the generated code, leave the whole module to reflection
+                if (method == null) {
+                    return;
+                }
+
+                methods.add(method);
+            }
+        }
+
+        String moduleName = sourceName(module);
+        StringBuilder body = new StringBuilder();
+        body.append("    @Override\n");
+        body.append("    public void bind(").append(moduleName).append(" module, io.bootique.di.spi.GeneratedProvides.Binder binder) {\n");
+        for (ProvidesMethod m : methods) {
+            body.append("        binder.provides(\n");
+            body.append("                ").append(m.key).append(",\n");
+            body.append("                ").append(m.singleton).append(",\n");
+            body.append("                \"").append(m.name).append("\",\n");
+            body.append("                new io.bootique.di.Key<?>[]{").append(String.join(", ", m.argumentKeys)).append("},\n");
+            body.append("                new boolean[]{").append(String.join(", ", m.providerArguments)).append("},\n");
+            body.append("                args -> ").append(m.isStatic ? moduleName : "module")
+                    .append('.').append(m.name).append('(').append(String.join(", ", m.argumentCasts)).append("));\n");
+        }
+        body.append("    }\n");
+
+        writeClass(module, PROVIDES_SUFFIX, PROVIDES_KIND, "io.bootique.di.spi.GeneratedProvides<" + moduleName + ">", body);
+    }
+
+    private ProvidesMethod providesMethod(ExecutableElement method) {
+
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)
+                || !method.getTypeParameters().isEmpty()
+                || method.getReturnType().getKind() == TypeKind.VOID
+                // provider-returning methods are rare, leave them to reflection
+                || isProvider(method.getReturnType())) {
+            return null;
+        }
+
+        String key = key(method.getReturnType(), method);
+        if (key == null) {
+            return null;
+        }
+
+        ProvidesMethod result = new ProvidesMethod(
+                method.getSimpleName().toString(),
+                key,
+                hasAnnotation(method, SINGLETON_ANNOTATION),
+                modifiers.contains(Modifier.STATIC));
+
+        if (!arguments(method, result.argumentKeys, result.providerArguments, result.argumentCasts)) {
+            return null;
+        }
+
+        return result;
+    }
+
+    private void processInjectable(TypeElement type) {
+        if (!isSupportedTarget(type) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+
+        // match the injector choice of the annotated constructor with the longest parameter list
+        ExecutableElement constructor = null;
+        for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if ((hasAnnotation(c, INJECT_ANNOTATION) || hasAnnotation(c, BQ_INJECT_ANNOTATION))
+                    && (constructor == null || c.getParameters().size() > constructor.getParameters().size())) {
+                constructor = c;
+            }
+        }
+
+        if (constructor == null
+                || constructor.getModifiers().contains(Modifier.PRIVATE)
+                || !constructor.getTypeParameters().isEmpty()) {
+            return;
+        }
+
+        List<String> argumentCasts = new ArrayList<>();
+        if (!arguments(constructor, new ArrayList<>(), new ArrayList<>(), argumentCasts)) {
+            return;
+        }
+
+        // erased parameter types, to let the injector detect a stale generated class
+        List<String> parameterTypes = new ArrayList<>();
+        for (VariableElement p : constructor.getParameters()) {
+            parameterTypes.add(processingEnv.getTypeUtils().erasure(p.asType()) + ".class");
+        }
+
+        String typeName = sourceName(type);
+        StringBuilder body = new StringBuilder();
+        body.append("    private static final Class<?>[] PARAMETER_TYPES = new Class<?>[]{")
+                .append(String.join(", ", parameterTypes)).append("};\n\n");
+        body.append("    @Override\n");
+        body.append("    public Class<?>[] parameterTypes() {\n");
+        body.append("        return PARAMETER_TYPES.clone();\n");
+        body.append("    }\n\n");
+        body.append("    @Override\n");
+        body.append("    public ").append(typeName).append(" newInstance(Object[] args) throws Exception {\n");
+        body.append("        return new ").append(typeName).append('(').append(String.join(", ", argumentCasts)).append(");\n");
+        body.append("    }\n");
+
+        writeClass(type, CONSTRUCTOR_SUFFIX, CONSTRUCTOR_KIND, "io.bootique.di.spi.GeneratedConstructor<" + typeName + ">", body);
+    }
+
+    private boolean arguments(
+            ExecutableElement executable,
+            List<String> keys,
+            List<String> providerFlags,
+            List<String> casts) {
+
+        List<? extends VariableElement> parameters = executable.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement p = parameters.get(i);
+            TypeMirror type = p.asType();
+            boolean provider = isProvider(type);
+
+            TypeMirror keyType = type;
+            if (provider) {
+                List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+                if (typeArguments.size() != 1) {
+                    // raw Provider, let the injector report it
+                    return false;
+                }
+                keyType = typeArguments.get(0);
+            }
+
+            String key = key(keyType, p);
+            if (key == null || !isRepresentable(type, processingEnv.getElementUtils().getPackageOf(p))) {
+                return false;
+            }
+
+            keys.add(key);
+            providerFlags.add(String.valueOf(provider));
+            casts.add("(" + boxed(type) + ") args[" + i + "]");
+        }
+
+        return true;
+    }
+
+    private String key(TypeMirror type, Element annotated) {
+        PackageElement from = processingEnv.getElementUtils().getPackageOf(annotated);
+        if (!isRepresentable(type, from)) {
+            return null;
+        }
+
+        String typeArg;
+        if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            typeArg = "new io.bootique.di.TypeLiteral<" + boxed(type) + ">(){}";
+        } else {
+            typeArg = processingEnv.getTypeUtils().erasure(type) + ".class";
+        }
+
+        AnnotationMirror qualifier = null;
+        for (AnnotationMirror a : annotated.getAnnotationMirrors()) {
+            if (hasAnnotation(a.getAnnotationType().asElement(), QUALIFIER_ANNOTATION)) {
+                if (qualifier != null) {
+                    // multiple qualifiers is an error reported by the injector
+                    return null;
+                }
+                qualifier = a;
+            }
+        }
+
+        if (qualifier == null) {
+            return "io.bootique.di.Key.get(" + typeArg + ")";
+        }
+
+        TypeElement qualifierType = (TypeElement) qualifier.getAnnotationType().asElement();
+        if (NAMED_ANNOTATION.contentEquals(qualifierType.getQualifiedName())) {
+            Object name = qualifier.getElementValues().entrySet().stream()
+                    .filter(e -> e.getKey().getSimpleName().contentEquals("value"))
+                    .map(e -> e.getValue().getValue())
+                    .findFirst()
+                    .orElse("");
+            return "io.bootique.di.Key.get(" + typeArg + ", " + processingEnv.getElementUtils().getConstantExpression(name) + ")";
+        }
+
+        if (!isAccessible(qualifierType, from)) {
+            return null;
+        }
+
+        return "io.bootique.di.Key.get(" + typeArg + ", " + sourceName(qualifierType) + ".class)";
+    }
+
+    // checks whether the type can be referenced by the generated code in the same package
+    private boolean isRepresentable(TypeMirror type, PackageElement from) {
+        switch (type.getKind()) {
+            case BOOLEAN, BYTE, SHORT, INT, LONG, CHAR, FLOAT, DOUBLE:
+                return true;
+            case ARRAY:
+                return isRepresentable(((ArrayType) type).getComponentType(), from);
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                if (!isAccessible((TypeElement) declared.asElement(), from)) {
+                    return false;
+                }
+                for (TypeMirror arg : declared.getTypeArguments()) {
+                    if (!isRepresentable(arg, from)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                // type variables, wildcards, error types, etc.
+                return false;
+        }
+    }
+
+    // checks that the class can be referenced by its name from the generated code in the given package
+    private boolean isAccessible(TypeElement type, PackageElement from) {
+        boolean samePackage = processingEnv.getElementUtils().getPackageOf(type).equals(from);
+
+        for (Element e = type; e instanceof TypeElement te; e = e.getEnclosingElement()) {
+            Set<Modifier> modifiers = te.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                    || (!samePackage && !modifiers.contains(Modifier.PUBLIC))
+                    || te.getNestingKind() == NestingKind.LOCAL
+                    || te.getNestingKind() == NestingKind.ANONYMOUS
+                    // generic enclosing classes would require unchecked raw type references
+                    || (te != type && !te.getTypeParameters().isEmpty())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // checks that the class is a module or an injectable class that can be handled by the generated code
+    private boolean isSupportedTarget(TypeElement type) {
+        return type.getKind() == ElementKind.CLASS
+                && type.getTypeParameters().isEmpty()
+                && (type.getNestingKind() == NestingKind.TOP_LEVEL || type.getModifiers().contains(Modifier.STATIC))
+                && isAccessible(type, processingEnv.getElementUtils().getPackageOf(type));
+    }
+
+    private boolean isProvider(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(PROVIDER_TYPE);
+    }
+
+    private String boxed(TypeMirror type) {
+        Types types = processingEnv.getTypeUtils();
+        return type.getKind().isPrimitive()
+                ? types.boxedClass(types.getPrimitiveType(type.getKind())).getQualifiedName().toString()
+                : type.toString();
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationType) {
+        for (AnnotationMirror a : element.getAnnotationMirrors()) {
+            if (((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sourceName(TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+    private void writeClass(TypeElement target, String suffix, String kind, String implementsType, StringBuilder body) {
+
+        Elements elements = processingEnv.getElementUtils();
+        PackageElement pkg = elements.getPackageOf(target);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+
+        // flatten nested class names, e.g. "Outer.Inner" becomes "Outer_Inner_BQProvides"
+        String targetName = sourceName(target);
+        String relativeName = packageName.isEmpty() ? targetName : targetName.substring(packageName.length() + 1);
+        String simpleName = relativeName.replace('.', '_') + suffix;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        Filer filer = processingEnv.getFiler();
+        try {
+            JavaFileObject file = filer.createSourceFile(qualifiedName, target);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+                out.println("public final class " + simpleName + " implements " + implementsType + " {");
+                out.println();
+                out.print(body);
+                out.println("}");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Failed to generate Bootique DI class " + qualifiedName + ": " + e.getMessage(),
+                    target);
+            return;
+        }
+
+        index.put(elements.getBinaryName(target) + "#" + kind, qualifiedName);
+    }
+
+    private void writeIndex() {
+        if (index.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer out = file.openWriter()) {
+                out.write("# Generated by bootique-di-processor\n");
+                for (Map.Entry<String, String> e : index.entrySet()) {
+                    out.write(e.getKey() + "=" + e.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Failed to write " + INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    private static class ProvidesMethod {
+
+        final String name;
+        final String key;
+        final boolean singleton;
+        final boolean isStatic;
+        final List<String> argumentKeys = new ArrayList<>();
+        final List<String> providerArguments = new ArrayList<>();
+        final List<String> argumentCasts = new ArrayList<>();
+
+        ProvidesMethod(String name, String key, boolean singleton, boolean isStatic) {
+            this.name = name;
+            this.key = key;
+            this.singleton = singleton;
+            this.isStatic = isStatic;
+        }
+    }
+}
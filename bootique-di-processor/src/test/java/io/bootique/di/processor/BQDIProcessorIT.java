@@ -0,0 +1,275 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.processor;
+
+import io.bootique.BQModule;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import io.bootique.di.Key;
+import io.bootique.di.TypeLiteral;
+import io.bootique.di.spi.GeneratedConstructor;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BQDIProcessorIT {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void generatedProvides() throws Exception {
+        source("p1/M1.java", """
+                package p1;
+                import io.bootique.BQModule;
+                import io.bootique.di.Binder;
+                import io.bootique.di.Provides;
+                import jakarta.inject.Named;
+                import jakarta.inject.Provider;
+                import jakarta.inject.Singleton;
+                import java.util.List;
+                public class M1 implements BQModule {
+                    public void configure(Binder binder) {}
+                    @Provides @Named("a") String a() { return "a"; }
+                    @Provides @Singleton static List<String> list(@Named("a") Provider<String> a, int i) { return List.of(a.get(), String.valueOf(i)); }
+                    @Provides int i() { return 5; }
+                }
+                """);
+
+        ClassLoader loader = compile();
+        assertIndex("p1.M1#provides=p1.M1_BQProvides");
+        assertNotNull(loader.loadClass("p1.M1_BQProvides"));
+
+        Injector injector = DIBootstrap.createInjector(newModule(loader, "p1.M1"));
+        assertEquals(List.of("a", "5"), injector.getInstance(Key.get(new TypeLiteral<List<String>>() {})));
+        assertTrue(injector.isSingleton(Key.get(new TypeLiteral<List<String>>() {})));
+        assertFalse(injector.isSingleton(Key.get(String.class, "a")));
+    }
+
+    @Test
+    public void generatedProvides_NestedModule() throws Exception {
+        source("p2/Outer.java", """
+                package p2;
+                import io.bootique.BQModule;
+                import io.bootique.di.Binder;
+                import io.bootique.di.Provides;
+                public class Outer {
+                    public static class M2 implements BQModule {
+                        public void configure(Binder binder) {}
+                        @Provides String s() { return "s"; }
+                    }
+                }
+                """);
+
+        ClassLoader loader = compile();
+        assertIndex("p2.Outer$M2#provides=p2.Outer_M2_BQProvides");
+
+        Injector injector = DIBootstrap.createInjector(newModule(loader, "p2.Outer$M2"));
+        assertEquals("s", injector.getInstance(String.class));
+    }
+
+    @Test
+    public void unsupportedModule() throws Exception {
+        source("p3/M3.java", """
+                package p3;
+                import io.bootique.BQModule;
+                import io.bootique.di.Binder;
+                import io.bootique.di.Provides;
+                public class M3 implements BQModule {
+                    public void configure(Binder binder) {}
+                    @Provides String s() { return "s"; }
+                    @Provides private Integer i() { return 1; }
+                }
+                """);
+
+        ClassLoader loader = compile();
+        assertFalse(Files.exists(dir.resolve("classes").resolve(BQDIProcessor.INDEX_LOCATION)));
+        assertThrows(ClassNotFoundException.class, () -> loader.loadClass("p3.M3_BQProvides"));
+
+        // reflection is used instead
+        Injector injector = DIBootstrap.createInjector(newModule(loader, "p3.M3"));
+        assertEquals("s", injector.getInstance(String.class));
+        assertEquals(1, injector.getInstance(Integer.class));
+    }
+
+    @Test
+    public void generatedConstructor() throws Exception {
+        source("p4/S1.java", """
+                package p4;
+                import jakarta.inject.Inject;
+                import jakarta.inject.Named;
+                import jakarta.inject.Provider;
+                import java.util.function.Supplier;
+                public class S1 implements Supplier<String> {
+                    private final String s;
+                    private final Provider<Integer> i;
+                    public S1() { this(null, null); }
+                    @Inject public S1(@Named("x") String s, Provider<Integer> i) { this.s = s; this.i = i; }
+                    public String get() { return s + i.get(); }
+                }
+                """);
+
+        ClassLoader loader = compile();
+        assertIndex("p4.S1#constructor=p4.S1_BQConstructor");
+
+        Class<?> type = loader.loadClass("p4.S1");
+        GeneratedConstructor<?> generated = (GeneratedConstructor<?>) loader.loadClass("p4.S1_BQConstructor")
+                .getDeclaredConstructor()
+                .newInstance();
+        assertArrayEquals(new Class<?>[]{String.class, Provider.class}, generated.parameterTypes());
+
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(Key.get(String.class, "x")).toInstance("x");
+            b.bind(Integer.class).toInstance(7);
+        });
+
+        assertEquals("x7", ((Supplier<?>) injector.getInstance(type)).get());
+    }
+
+    @Test
+    public void generatedConstructor_CheckedException() throws Exception {
+        source("p5/S2.java", """
+                package p5;
+                import jakarta.inject.Inject;
+                import java.io.IOException;
+                public class S2 {
+                    @Inject public S2(String s) throws IOException {
+                        if (s.isEmpty()) { throw new IOException("empty"); }
+                    }
+                }
+                """);
+
+        ClassLoader loader = compile();
+        assertIndex("p5.S2#constructor=p5.S2_BQConstructor");
+
+        Class<?> type = loader.loadClass("p5.S2");
+        assertNotNull(DIBootstrap.createInjector(b -> b.bind(String.class).toInstance("s")).getInstance(type));
+
+        Injector failing = DIBootstrap.createInjector(b -> b.bind(String.class).toInstance(""));
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> failing.getInstance(type));
+        assertTrue(hasCause(e, "empty"), e::toString);
+    }
+
+    @Test
+    public void generatedProvidesAndConstructor() throws Exception {
+        source("p6/M6.java", """
+                package p6;
+                import io.bootique.BQModule;
+                import io.bootique.di.Binder;
+                import io.bootique.di.Provides;
+                import jakarta.inject.Inject;
+                public class M6 implements BQModule {
+                    @Inject public M6() {}
+                    public void configure(Binder binder) {}
+                    @Provides String s() { return "s"; }
+                }
+                """);
+
+        ClassLoader loader = compile();
+        assertIndex("p6.M6#provides=p6.M6_BQProvides");
+        assertIndex("p6.M6#constructor=p6.M6_BQConstructor");
+
+        Injector injector = DIBootstrap.createInjector(newModule(loader, "p6.M6"));
+        assertEquals("s", injector.getInstance(String.class));
+        assertNotNull(injector.getInstance(loader.loadClass("p6.M6")));
+    }
+
+    private static boolean hasCause(Throwable th, String message) {
+        for (Throwable t = th; t != null; t = t.getCause()) {
+            if (message.equals(t.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void source(String path, String text) throws IOException {
+        Path file = dir.resolve("src").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, text);
+    }
+
+    private ClassLoader compile() throws Exception {
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+
+        List<Path> sources;
+        try (Stream<Path> files = Files.walk(dir.resolve("src"))) {
+            sources = files.filter(p -> p.toString().endsWith(".java")).collect(Collectors.toList());
+        }
+
+        // resolve the classpath from the classes, as "java.class.path" is not reliable under the test runners
+        String classpath = Stream.of(BQModule.class, Inject.class)
+                .map(BQDIProcessorIT::location)
+                .collect(Collectors.joining(File.pathSeparator));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter err = new StringWriter();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    err,
+                    fileManager,
+                    null,
+                    List.of("-classpath", classpath, "-d", classes.toString()),
+                    null,
+                    fileManager.getJavaFileObjectsFromPaths(sources));
+            task.setProcessors(List.of(new BQDIProcessor()));
+            assertTrue(task.call(), err::toString);
+        }
+
+        return new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private static String location(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void assertIndex(String expectedLine) throws IOException {
+        List<String> lines = Files.readAllLines(dir.resolve("classes").resolve(BQDIProcessor.INDEX_LOCATION));
+        assertTrue(lines.contains(expectedLine), () -> "Missing '" + expectedLine + "' in " + lines);
+    }
+
+    private static BQModule newModule(ClassLoader loader, String name) throws ReflectiveOperationException {
+        return (BQModule) loader.loadClass(name).getDeclaredConstructor().newInstance();
+    }
+}
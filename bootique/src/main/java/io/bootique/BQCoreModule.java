@@ -20,6 +20,7 @@
 package io.bootique;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.bootique.annotation.*;
 import io.bootique.cli.Cli;
 import io.bootique.cli.CliFactory;
@@ -28,6 +29,7 @@ import io.bootique.config.ConfigurationFactory;
 import io.bootique.config.PolymorphicConfiguration;
 import io.bootique.config.TypesFactory;
 import io.bootique.config.jackson.*;
+import io.bootique.config.jackson.JsonConfigurationFactory.Memoization;
 import io.bootique.config.jackson.merger.InPlaceLeftHandMerger;
 import io.bootique.config.jackson.merger.JsonConfigurationMerger;
 import io.bootique.config.jackson.parser.*;
@@ -58,6 +60,7 @@ import io.bootique.meta.config.ConfigHierarchyResolver;
 import io.bootique.meta.config.ConfigMetadataCompiler;
 import io.bootique.meta.module.ModulesMetadata;
 import io.bootique.meta.module.ModulesMetadataCompiler;
+import io.bootique.profile.StartupProfiler;
 import io.bootique.run.DefaultRunner;
 import io.bootique.run.Runner;
 import io.bootique.shutdown.ShutdownManager;
@@ -70,6 +73,7 @@ import io.bootique.value.Percent;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -93,6 +97,7 @@ public class BQCoreModule implements BQModule {
     private final BootLogger bootLogger;
     private final ShutdownManager shutdownManager;
     private final Supplier<Collection<ModuleCrate>> modulesSource;
+    private boolean provisionStats;
 
     protected BQCoreModule(
             String[] args,
@@ -118,6 +123,14 @@ public class BQCoreModule implements BQModule {
         return new BQCoreModuleExtender(binder);
     }
 
+    /**
+     * Registers diagnostics command printing DI provisioning statistics. Should only be called if the statistics
+     * collection is enabled in the injector.
+     */
+    void enableProvisionStats() {
+        this.provisionStats = true;
+    }
+
     private static Optional<Command> defaultCommand(Injector injector) {
         // default is optional, so check via injector whether it is bound...
         Key<Command> key = Key.get(Command.class, DefaultCommand.class);
@@ -157,6 +170,10 @@ public class BQCoreModule implements BQModule {
                 .addConfigLoader(CliCustomOptionsConfigurationLoader.class)
                 .addConfigLoader(PropertiesConfigurationLoader.class);
 
+        if (provisionStats) {
+            BQCoreModule.extend(binder).addCommand(DIStatsCommand.class);
+        }
+
         // bind instances
         binder.bind(BootLogger.class).toInstance(bootLogger);
         binder.bind(ShutdownManager.class).toInstance(shutdownManager);
@@ -175,15 +192,34 @@ public class BQCoreModule implements BQModule {
     ConfigurationFactory provideConfigurationFactory(
             Set<JsonConfigurationLoader> loaders,
             TypesFactory<PolymorphicConfiguration> typesFactory,
+            Environment environment,
+            @Args String[] args,
             Injector injector) {
 
-        JsonNode root = JsonConfigurationLoader.load(loaders);
+        JsonNode root = loadConfiguration(loaders, environment, args, injector);
         bootLogger.trace(() -> "Merged configuration: " + root.toString());
 
         // preregister all explicitly declared polymorphic configurations for injection, as we won't be
         // able to identify them on the fly
         Collection injectionEnabledTypes = typesFactory.getTypes();
-        return DIJsonConfigurationFactory.of(root, (DefaultInjector) injector, injectionEnabledTypes);
+        Memoization memoization = Memoization.parse(environment.getProperty(JsonConfigurationFactory.MEMOIZATION_PROPERTY));
+        return DIJsonConfigurationFactory.of(root, (DefaultInjector) injector, injectionEnabledTypes, memoization);
+    }
+
+    private JsonNode loadConfiguration(
+            Set<JsonConfigurationLoader> loaders,
+            Environment environment,
+            String[] args,
+            Injector injector) {
+
+        String cacheDir = environment.getProperty(JsonConfigurationCache.CACHE_DIR_PROPERTY);
+        if (cacheDir == null) {
+            return JsonConfigurationLoader.load(loaders);
+        }
+
+        ObjectMapper mapper = injector.getInstance(JacksonService.class).newObjectMapper();
+        return new JsonConfigurationCache(Path.of(cacheDir), mapper, bootLogger)
+                .load(loaders, args, environment.frameworkProperties());
     }
 
     @Provides
@@ -313,7 +349,9 @@ public class BQCoreModule implements BQModule {
         ConfigMetadataCompiler configCompiler =
                 new ConfigMetadataCompiler(logger, hierarchyResolver::directSubclasses, valueObjectDescriptors);
         Collection<ModuleCrate> modules = modulesSource.get();
-        return new ModulesMetadataCompiler(configCompiler).compile(modules);
+        try (StartupProfiler.Span span = StartupProfiler.span("compile modules metadata")) {
+            return new ModulesMetadataCompiler(configCompiler).compile(modules);
+        }
     }
 
     @Provides
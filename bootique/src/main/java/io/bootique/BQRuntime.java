@@ -23,13 +23,18 @@ import io.bootique.annotation.Args;
 import io.bootique.command.CommandOutcome;
 import io.bootique.di.Injector;
 import io.bootique.di.Key;
+import io.bootique.di.ProvisionStats;
 import io.bootique.env.Environment;
 import io.bootique.log.BootLogger;
 import io.bootique.meta.application.ApplicationMetadata;
 import io.bootique.meta.module.ModulesMetadata;
 import io.bootique.run.Runner;
+import io.bootique.shutdown.DefaultShutdownManager;
 import io.bootique.shutdown.ShutdownManager;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * A wrapper around launcher DI container.
  */
@@ -110,6 +115,35 @@ public class BQRuntime {
         return injector.getInstance(Environment.class);
     }
 
+    /**
+     * Returns per-binding DI provisioning statistics. Empty unless the statistics collection was enabled via
+     * {@link Bootique#provisionStats()} or the "bq.di.stats" system property.
+     *
+     * @since 4.0
+     */
+    public List<ProvisionStats> getProvisionStats() {
+        return injector.getProvisionStats();
+    }
+
+    /**
+     * Creates a runtime that shares the services of this runtime, and additionally has the services of the provided
+     * modules. Only the provided modules are configured, and the keys they don't bind are resolved by this runtime,
+     * reusing its singletons. Set and map contributions of the new modules extend the ones of this runtime, as seen
+     * by the services created in the child (singletons of this runtime are not affected). The child runtime has its own {@link ShutdownManager}, so its
+     * {@link #shutdown()} only affects the services created by the child.
+     *
+     * @since 4.0
+     */
+    public BQRuntime createChild(BQModule... modules) {
+        ShutdownManager shutdownManager = new DefaultShutdownManager(Duration.ofMillis(10000L), getBootLogger());
+
+        BQModule[] childModules = new BQModule[modules.length + 1];
+        childModules[0] = b -> b.bind(ShutdownManager.class).toInstance(shutdownManager);
+        System.arraycopy(modules, 0, childModules, 1, modules.length);
+
+        return new BQRuntime(injector.createChild(childModules));
+    }
+
     /**
      * Executes Bootique runtime shutdown, allowing all interested DI services to perform cleanup.
      */
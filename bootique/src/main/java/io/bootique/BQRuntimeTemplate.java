@@ -0,0 +1,132 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique;
+
+import io.bootique.di.Injector;
+import io.bootique.log.BootLogger;
+import io.bootique.profile.StartupProfiler;
+import io.bootique.shutdown.DefaultShutdownManager;
+import io.bootique.shutdown.ShutdownManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A reusable "blueprint" of a Bootique app that creates multiple runtimes with the same modules, but different
+ * arguments and properties. Module auto-loading and sorting are done once when the template is created by
+ * {@link Bootique#template()}. The injector and all the services are created from scratch for each runtime, so any
+ * argument-dependent services, like {@link io.bootique.cli.Cli} or configuration, reflect the arguments of that runtime.
+ * <p>
+ * Note that only module loading and sorting are captured by the template. Each runtime still calls
+ * {@link BQModule#configure(io.bootique.di.Binder)} of every module and scans the modules for the provider methods,
+ * as the bindings are registered with a specific injector and can't be reused. The module instances are shared
+ * between the runtimes, and therefore must be stateless, i.e. must not keep any per-runtime state in their fields,
+ * and may be called from multiple threads if the runtimes are created concurrently.
+ *
+ * @since 4.0
+ */
+public class BQRuntimeTemplate {
+
+    private final List<ModuleCrate> sortedCrates;
+    private final int coreModuleIndex;
+    private final String[] args;
+    private final BootLogger logger;
+    private final ShutdownManager shutdownManager;
+    private final boolean provisionStats;
+
+    BQRuntimeTemplate(
+            List<ModuleCrate> sortedCrates,
+            String[] args,
+            BootLogger logger,
+            ShutdownManager shutdownManager,
+            boolean provisionStats) {
+
+        this.sortedCrates = sortedCrates;
+        this.coreModuleIndex = coreModuleIndex(sortedCrates);
+        this.args = args;
+        this.logger = Objects.requireNonNull(logger);
+        this.shutdownManager = shutdownManager;
+        this.provisionStats = provisionStats;
+    }
+
+    private static int coreModuleIndex(List<ModuleCrate> crates) {
+        for (int i = 0; i < crates.size(); i++) {
+            if (crates.get(i).getModule() instanceof BQCoreModule) {
+                return i;
+            }
+        }
+
+        throw new IllegalStateException("BQCoreModule is not present among the template modules");
+    }
+
+    /**
+     * Creates a new runtime, appending the provided arguments to the arguments of the template app.
+     *
+     * @param args extra runtime arguments
+     * @return a new {@link BQRuntime}
+     */
+    public BQRuntime createRuntime(String... args) {
+        return createRuntime(Collections.emptyMap(), args);
+    }
+
+    /**
+     * Creates a new runtime, appending the provided arguments to the arguments of the template app, and setting the
+     * provided properties, just like {@link BQCoreModuleExtender#setProperties(Map)} would do.
+     *
+     * @param properties runtime properties
+     * @param args       extra runtime arguments
+     * @return a new {@link BQRuntime}
+     */
+    public BQRuntime createRuntime(Map<String, String> properties, String... args) {
+        Objects.requireNonNull(properties);
+
+        String[] runtimeArgs = args != null ? Bootique.mergeArrays(this.args, args) : this.args;
+        ShutdownManager shutdownManager = this.shutdownManager != null
+                ? this.shutdownManager
+                : new DefaultShutdownManager(Duration.ofMillis(10000L), logger);
+
+        try (StartupProfiler.Span span = StartupProfiler.span("create runtime")) {
+
+            DeferredModulesSource modulesSource = new DeferredModulesSource();
+            BQCoreModule coreModule = Bootique.createCoreModule(
+                    runtimeArgs,
+                    logger,
+                    shutdownManager,
+                    modulesSource,
+                    provisionStats);
+
+            // the modules order is fixed, so simply replace the placeholder core module with the one for this runtime
+            List<ModuleCrate> crates = new ArrayList<>(sortedCrates);
+            crates.set(coreModuleIndex, coreModule.crate());
+            modulesSource.init(crates);
+
+            // properties module is not a part of the app, so it is not reported in the modules metadata
+            Injector injector = properties.isEmpty()
+                    ? Bootique.createInjector(crates, provisionStats)
+                    : Bootique.createInjector(crates, provisionStats, b -> BQCoreModule.extend(b).setProperties(properties));
+
+            return Bootique.createRuntime(injector, logger);
+        }
+    }
+}
@@ -27,10 +27,15 @@ import io.bootique.di.Key;
 import io.bootique.env.DefaultEnvironment;
 import io.bootique.log.BootLogger;
 import io.bootique.log.DefaultBootLogger;
+import io.bootique.profile.StartupProfiler;
 import io.bootique.shutdown.DefaultShutdownManager;
 import io.bootique.shutdown.ShutdownManager;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 
@@ -51,9 +56,28 @@ import java.util.*;
  */
 public class Bootique {
 
+    /**
+     * A system property that enables DI provisioning statistics, same as {@link #provisionStats()}.
+     *
+     * @since 4.0
+     */
+    public static final String PROVISION_STATS_PROPERTY = "bq.di.stats";
+
+    /**
+     * A system property that enables startup profiling, same as {@link #profileStartup(Path)}. Its value is the
+     * path of the profile file.
+     *
+     * @since 4.0
+     */
+    public static final String PROFILE_PROPERTY = "bq.profile";
+
+    private static final int PROFILE_SUMMARY_SIZE = 20;
+
     private final List<ModuleCrate> crates;
     private String[] args;
     private boolean autoLoadModules;
+    private boolean provisionStats;
+    private Path profileFile;
     private BootLogger bootLogger;
     private ShutdownManager shutdownManager;
 
@@ -160,6 +184,36 @@ public class Bootique {
         return this;
     }
 
+    /**
+     * Enables collection of per-binding DI provisioning statistics. The statistics are available via
+     * {@link BQRuntime#getProvisionStats()}, and the app gets an extra "--di-stats" command that prints the
+     * bindings that took the most time to create. Statistics collection adds some overhead to each object creation,
+     * so it is intended for diagnostics.
+     *
+     * @return this Bootique instance
+     * @since 4.0
+     */
+    public Bootique provisionStats() {
+        this.provisionStats = true;
+        return this;
+    }
+
+    /**
+     * Enables startup profiling. Startup phases, such as modules loading and configuration, injector creation and
+     * configuration loading, are recorded as nested spans and are saved to a given file in the Chrome trace event
+     * JSON format (viewable in "chrome://tracing" or Perfetto). A summary of the slowest phases is printed to
+     * STDERR. When started via {@link #exec()}, profiling ends when the command returns, otherwise - when the
+     * runtime is created.
+     *
+     * @param profileFile a file to save the profile to
+     * @return this Bootique instance
+     * @since 4.0
+     */
+    public Bootique profileStartup(Path profileFile) {
+        this.profileFile = Objects.requireNonNull(profileFile);
+        return this;
+    }
+
     /**
      * @param moduleType custom Module class to add to Bootique DI runtime.
      * @return this Bootique instance
@@ -251,18 +305,86 @@ public class Bootique {
     public BQRuntime createRuntime() {
         BootLogger logger = resolveBootLogger();
         ShutdownManager shutdownManager = resolveShutdownManager(logger);
-        return createRuntime(shutdownManager, logger);
+
+        StartupProfiler profiler = startProfiler();
+        try {
+            return createRuntime(shutdownManager, logger);
+        } finally {
+            stopProfiler(profiler, logger);
+        }
     }
 
     private BQRuntime createRuntime(ShutdownManager shutdownManager, BootLogger logger) {
-        Injector injector = createInjector(shutdownManager, logger);
+        try (StartupProfiler.Span span = StartupProfiler.span("create runtime")) {
+            return createRuntime(createInjector(shutdownManager, logger), logger);
+        }
+    }
+
+    static BQRuntime createRuntime(Injector injector, BootLogger logger) {
         BQRuntime runtime = new BQRuntime(injector);
 
-        runtime.getInstance(Key.getSetOf(BQRuntimeListener.class)).forEach(sl -> sl.onRuntimeCreated(runtime));
+        for (BQRuntimeListener listener : runtime.getInstance(Key.getSetOf(BQRuntimeListener.class))) {
+            try (StartupProfiler.Span listenerSpan = StartupProfiler.span("runtime listener", listener.getClass())) {
+                listener.onRuntimeCreated(runtime);
+            }
+        }
+
         injector.reportWarnings(logger);
         return runtime;
     }
 
+    /**
+     * Creates a template that can produce multiple runtimes with the modules of this Bootique app, but different
+     * arguments and properties. Module auto-loading and sorting are done once when this method is called, so the
+     * modules added to this Bootique app afterwards are not visible to the template. Boot logger and shutdown
+     * manager are resolved once as well, except for the default shutdown manager, that is created per runtime, so
+     * that each runtime can be shut down independently.
+     * <p>
+     * Module configuration is not captured: each runtime calls "configure" and processes the provider methods of
+     * every module again. The module instances are shared by all the runtimes of the template, so they must be
+     * stateless.
+     *
+     * @return a new template of the runtimes of this app
+     * @since 4.0
+     */
+    public BQRuntimeTemplate template() {
+        BootLogger logger = resolveBootLogger();
+        boolean provisionStats = isProvisionStats();
+
+        // the core module is created here only as a placeholder for the sorter, the template will create a fresh
+        // one for each runtime
+        BQCoreModule coreModule = createCoreModule(
+                args,
+                logger,
+                resolveShutdownManager(logger),
+                new DeferredModulesSource(),
+                provisionStats);
+        List<ModuleCrate> sortedCrates = sortCrates(coreModule, logger);
+
+        return new BQRuntimeTemplate(sortedCrates, args, logger, shutdownManager, provisionStats);
+    }
+
+    private StartupProfiler startProfiler() {
+        return profileFile != null || System.getProperty(PROFILE_PROPERTY) != null ? StartupProfiler.start() : null;
+    }
+
+    private void stopProfiler(StartupProfiler profiler, BootLogger logger) {
+
+        // the profiler may have been already stopped
+        if (profiler == null || !profiler.stop()) {
+            return;
+        }
+
+        Path file = profileFile != null ? profileFile : Path.of(System.getProperty(PROFILE_PROPERTY));
+        try (Writer out = Files.newBufferedWriter(file)) {
+            profiler.writeChromeTrace(out);
+        } catch (IOException | RuntimeException e) {
+            logger.stderr("Error saving startup profile to '" + file + "': " + e.getMessage());
+        }
+
+        logger.stderr(profiler.summary(PROFILE_SUMMARY_SIZE));
+    }
+
     /**
      * Executes this Bootique application, returning the outcome object.
      *
@@ -274,6 +396,8 @@ public class Bootique {
         BootLogger logger = resolveBootLogger();
         ShutdownManager shutdownManager = resolveShutdownManager(logger);
 
+        StartupProfiler profiler = startProfiler();
+
         CommandOutcome o;
         try {
             // In case the app gets killed when command is running, let's use an explicit shutdown hook for cleanup.
@@ -281,6 +405,7 @@ public class Bootique {
             Runtime.getRuntime().addShutdownHook(shutdownThread);
             try {
                 o = createRuntime(shutdownManager, logger).run();
+                stopProfiler(profiler, logger);
 
                 // block exit if there are remaining tasks...
                 if (o.forkedToBackground()) {
@@ -292,6 +417,8 @@ public class Bootique {
                 }
 
             } finally {
+                stopProfiler(profiler, logger);
+
                 // run shutdown explicitly...
                 shutdown(shutdownManager, logger);
                 Runtime.getRuntime().removeShutdownHook(shutdownThread);
@@ -364,28 +491,71 @@ public class Bootique {
 
     Injector createInjector(ShutdownManager shutdownManager, BootLogger logger) {
 
-        Collection<ModuleCrate> crates = new HashSet<>();
         DeferredModulesSource modulesSource = new DeferredModulesSource();
+        BQCoreModule coreModule = createCoreModule(args, logger, shutdownManager, modulesSource, isProvisionStats());
+
+        // Note that BQCoreModule is invalid at this point due to uninitialized "modulesSource". It will be
+        // initialized below, which is safe to do, as it won't be used until the Injector is returned to the method caller.
+        List<ModuleCrate> sortedCrates = sortCrates(coreModule, logger);
+
+        // before returning the Injector, finish 'moduleMetadata' initialization
+        modulesSource.init(sortedCrates);
+        return createInjector(sortedCrates, isProvisionStats());
+    }
+
+    static BQCoreModule createCoreModule(
+            String[] args,
+            BootLogger logger,
+            ShutdownManager shutdownManager,
+            DeferredModulesSource modulesSource,
+            boolean provisionStats) {
 
         // BQCoreModule requires a couple of explicit services that can not be initialized within the module itself
         BQCoreModule coreModule = new BQCoreModule(args, logger, shutdownManager, modulesSource);
+        if (provisionStats) {
+            coreModule.enableProvisionStats();
+        }
 
-        // Note that BQCoreModule is invalid at this point due to uninitialized "modulesSource". It will be
-        // initialized below, which is safe to do, as it won't be used until the Injector is returned to the method caller.
+        return coreModule;
+    }
+
+    List<ModuleCrate> sortCrates(BQCoreModule coreModule, BootLogger logger) {
+
+        Collection<ModuleCrate> crates = new HashSet<>();
         crates.add(coreModule.crate());
         crates.addAll(this.crates);
 
         if (autoLoadModules) {
-            autoLoadedModules().forEach(m -> crates.add(m.crate()));
+            try (StartupProfiler.Span span = StartupProfiler.span("autoload modules")) {
+                autoLoadedModules().forEach(m -> crates.add(m.crate()));
+            }
         }
 
-        List<ModuleCrate> sortedCrates = new ModulesSorter(logger).uniqueCratesInLoadOrder(crates);
+        try (StartupProfiler.Span span = StartupProfiler.span("sort modules")) {
+            return new ModulesSorter(logger).uniqueCratesInLoadOrder(crates);
+        }
+    }
 
-        // before returning the Injector, finish 'moduleMetadata' initialization
-        modulesSource.init(sortedCrates);
+    static Injector createInjector(List<ModuleCrate> sortedCrates, boolean provisionStats, BQModule... extraModules) {
+
+        BQModule[] modules = new BQModule[sortedCrates.size() + extraModules.length];
+        for (int i = 0; i < sortedCrates.size(); i++) {
+            modules[i] = sortedCrates.get(i).getModule();
+        }
+        System.arraycopy(extraModules, 0, modules, sortedCrates.size(), extraModules.length);
+
+        DIBootstrap.InjectorBuilder injectorBuilder = DIBootstrap.injectorBuilder(modules);
+        if (provisionStats) {
+            injectorBuilder.enableProvisionStats();
+        }
+
+        try (StartupProfiler.Span span = StartupProfiler.span("create injector")) {
+            return injectorBuilder.build();
+        }
+    }
 
-        BQModule[] modules = sortedCrates.stream().map(ModuleCrate::getModule).toArray(BQModule[]::new);
-        return DIBootstrap.injectorBuilder(modules).build();
+    boolean isProvisionStats() {
+        return provisionStats || System.getProperty(PROVISION_STATS_PROPERTY) != null;
     }
 
     List<BQModule> autoLoadedModules() {
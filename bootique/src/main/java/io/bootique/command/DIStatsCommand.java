@@ -0,0 +1,99 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.command;
+
+import io.bootique.cli.Cli;
+import io.bootique.di.Injector;
+import io.bootique.di.ProvisionStats;
+import io.bootique.log.BootLogger;
+import io.bootique.meta.application.CommandMetadata;
+import jakarta.inject.Inject;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A diagnostics command that prints DI bindings that took the most time to create. Only available when DI provisioning
+ * statistics are enabled via {@link io.bootique.Bootique#provisionStats()} or the "bq.di.stats" system property.
+ *
+ * @since 4.0
+ */
+public class DIStatsCommand extends CommandWithMetadata {
+
+    static final String NAME = "di-stats";
+    static final int DEFAULT_COUNT = 20;
+
+    private final BootLogger bootLogger;
+    private final Injector injector;
+
+    @Inject
+    public DIStatsCommand(BootLogger bootLogger, Injector injector) {
+        super(CommandMetadata
+                .builder(DIStatsCommand.class)
+                .name(NAME)
+                .description("Prints DI bindings that took the most time to create. Optionally, you can provide "
+                        + "a 'count' argument to limit the number of printed bindings.")
+                .valueOptionalWithDefault("count", String.valueOf(DEFAULT_COUNT))
+                .build());
+
+        this.bootLogger = bootLogger;
+        this.injector = injector;
+    }
+
+    @Override
+    public CommandOutcome run(Cli cli) {
+
+        int count;
+        try {
+            String value = cli.optionString(NAME);
+            count = value != null ? Integer.parseInt(value) : DEFAULT_COUNT;
+        } catch (NumberFormatException e) {
+            return CommandOutcome.failed(1, "Invalid '" + NAME + "' value. Expected a number.");
+        }
+
+        List<ProvisionStats> stats = injector.getProvisionStats();
+        List<ProvisionStats> top = stats.stream()
+                .sorted(Comparator.comparingLong(ProvisionStats::getTotalNanos).reversed())
+                .limit(Math.max(count, 0))
+                .toList();
+
+        bootLogger.stdout(format(top, stats.size()));
+        return CommandOutcome.succeeded();
+    }
+
+    static String format(List<ProvisionStats> top, int total) {
+        StringBuilder out = new StringBuilder();
+        out.append("Top ").append(top.size()).append(" of ").append(total).append(" DI bindings by creation time:")
+                .append(System.lineSeparator())
+                .append(String.format("%12s %12s %10s  %-10s %-24s %s", "total ms", "max ms", "count", "scope", "first thread", "key"));
+
+        for (ProvisionStats s : top) {
+            out.append(System.lineSeparator()).append(String.format("%12.3f %12.3f %10d  %-10s %-24s %s",
+                    s.getTotalNanos() / 1_000_000.,
+                    s.getMaxNanos() / 1_000_000.,
+                    s.getCount(),
+                    s.getScope(),
+                    s.getFirstThread(),
+                    s.getKey()));
+        }
+
+        return out.toString();
+    }
+}
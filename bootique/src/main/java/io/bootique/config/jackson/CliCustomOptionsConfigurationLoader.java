@@ -29,8 +29,12 @@ import io.bootique.meta.application.OptionMetadata;
 import jakarta.inject.Inject;
 import joptsimple.OptionSpec;
 
+import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -83,17 +87,20 @@ public class CliCustomOptionsConfigurationLoader implements JsonConfigurationLoa
             return mutableInput;
         }
 
-        for (OptionSpec<?> cliOpt : detectedOptions) {
+        List<OptionMetadata> options = findMetadata(detectedOptions);
 
-            OptionMetadata omd = findMetadata(cliOpt);
-            if (omd == null) {
-                continue;
-            }
+        // fetch and parse the configs of all options concurrently, and then merge them in the order of options
+        List<OptionRefWithConfig> configs = findConfigs(options);
+        Iterator<JsonNode> parsedConfigs = ParallelConfigParser
+                .parse(configs, d -> parser.parse(d.getConfigResource().getUrl()))
+                .iterator();
+
+        for (OptionMetadata omd : options) {
 
             // config decorators are loaded first, and then can be overridden from options...
             for (OptionRefWithConfig decorator : optionDecorators) {
                 if (decorator.getOptionName().equals(omd.getName())) {
-                    JsonNode parsed = parser.parse(decorator.getConfigResource().getUrl());
+                    JsonNode parsed = parsedConfigs.next();
                     if (parsed != null) {
                         mutableInput = merger.apply(mutableInput, parsed);
                     }
@@ -112,6 +119,42 @@ public class CliCustomOptionsConfigurationLoader implements JsonConfigurationLoa
         return mutableInput;
     }
 
+    @Override
+    public Optional<List<URL>> getSources() {
+        if (optionMetadata.isEmpty()) {
+            return Optional.of(List.of());
+        }
+
+        List<URL> sources = new ArrayList<>();
+        findConfigs(findMetadata(cli.detectedOptions())).forEach(d -> sources.add(d.getConfigResource().getUrl()));
+        return Optional.of(sources);
+    }
+
+    private List<OptionMetadata> findMetadata(List<OptionSpec<?>> detectedOptions) {
+        List<OptionMetadata> options = new ArrayList<>(detectedOptions.size());
+        for (OptionSpec<?> cliOpt : detectedOptions) {
+            OptionMetadata omd = findMetadata(cliOpt);
+            if (omd != null) {
+                options.add(omd);
+            }
+        }
+
+        return options;
+    }
+
+    private List<OptionRefWithConfig> findConfigs(List<OptionMetadata> options) {
+        List<OptionRefWithConfig> configs = new ArrayList<>();
+        for (OptionMetadata omd : options) {
+            for (OptionRefWithConfig decorator : optionDecorators) {
+                if (decorator.getOptionName().equals(omd.getName())) {
+                    configs.add(decorator);
+                }
+            }
+        }
+
+        return configs;
+    }
+
     private OptionMetadata findMetadata(OptionSpec<?> option) {
 
         List<String> optionNames = option.options();
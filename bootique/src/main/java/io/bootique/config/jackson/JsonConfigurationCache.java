@@ -0,0 +1,242 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.config.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.bootique.log.BootLogger;
+import io.bootique.profile.StartupProfiler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An on-disk cache of the merged configuration tree, that allows to skip reading, parsing and merging of the config
+ * sources on startup. Enabled by setting the {@link #CACHE_DIR_PROPERTY} property to a cache directory. The cache key
+ * is a hash of the app arguments, the framework properties, the config loaders, and the URLs of the config sources
+ * (see {@link JsonConfigurationLoader#getSources()}) together with their size and modification time (for files and
+ * jars) or content hash (for any other URLs). If any of the loaders can't report its sources upfront, the cache is
+ * bypassed.
+ * <p>
+ * The tree is stored as JSON, which is read with the same mapper as the JSON configs, and is many times faster to
+ * parse than YAML.
+ *
+ * @since 4.0
+ */
+public class JsonConfigurationCache {
+
+    /**
+     * A property that enables configuration caching, whose value is a path to the cache directory.
+     */
+    public static final String CACHE_DIR_PROPERTY = "bq.config.cache";
+
+    // change this whenever the key or the file format change
+    private static final String FORMAT_VERSION = "1";
+
+    private final Path dir;
+    private final ObjectMapper mapper;
+    private final BootLogger logger;
+
+    public JsonConfigurationCache(Path dir, ObjectMapper mapper, BootLogger logger) {
+        this.dir = dir;
+        this.mapper = mapper;
+        this.logger = logger;
+    }
+
+    /**
+     * Returns the configuration tree, either from the cache, or loaded with the provided loaders and then cached.
+     */
+    public JsonNode load(Set<JsonConfigurationLoader> loaders, String[] args, Map<String, String> properties) {
+
+        String key;
+        try (StartupProfiler.Span span = StartupProfiler.span("configuration cache key")) {
+            key = cacheKey(loaders, args, properties);
+        }
+
+        if (key == null) {
+            return JsonConfigurationLoader.load(loaders);
+        }
+
+        Path file = dir.resolve(key + ".json");
+        if (Files.isRegularFile(file)) {
+            try (StartupProfiler.Span span = StartupProfiler.span("read cached configuration", file)) {
+                JsonNode root = mapper.readTree(file.toFile());
+                logger.trace(() -> "Loaded cached configuration from " + file);
+                return root;
+            } catch (IOException | RuntimeException e) {
+                logger.trace(() -> "Ignoring unreadable cached configuration at " + file + ": " + e.getMessage());
+            }
+        }
+
+        JsonNode root = JsonConfigurationLoader.load(loaders);
+        store(file, root);
+        return root;
+    }
+
+    // returns null if the configuration is not cacheable
+    String cacheKey(Set<JsonConfigurationLoader> loaders, String[] args, Map<String, String> properties) {
+
+        List<JsonConfigurationLoader> ordered = new ArrayList<>(loaders);
+        ordered.sort(Comparator.comparing(JsonConfigurationLoader::getOrder));
+
+        MessageDigest digest = sha256();
+        update(digest, FORMAT_VERSION);
+
+        for (String arg : args) {
+            update(digest, arg);
+        }
+
+        new TreeMap<>(properties).forEach((k, v) -> {
+            update(digest, k);
+            update(digest, v);
+        });
+
+        for (JsonConfigurationLoader loader : ordered) {
+
+            update(digest, loader.getClass().getName());
+
+            Optional<List<URL>> sources;
+            try {
+                sources = loader.getSources();
+            } catch (RuntimeException e) {
+                // let the loader report the error when loading the configuration
+                logger.trace(() -> "Configuration cache is disabled, as config sources can't be resolved: " + e.getMessage());
+                return null;
+            }
+
+            if (sources.isEmpty()) {
+                logger.trace(() -> "Configuration cache is disabled due to loader " + loader.getClass().getName());
+                return null;
+            }
+
+            for (URL url : sources.get()) {
+                update(digest, url.toExternalForm());
+                try {
+                    updateWithFingerprint(digest, url);
+                } catch (IOException | URISyntaxException e) {
+                    logger.trace(() -> "Configuration cache is disabled, as " + url + " can't be read: " + e.getMessage());
+                    return null;
+                }
+            }
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void updateWithFingerprint(MessageDigest digest, URL url) throws IOException, URISyntaxException {
+
+        Path file = localFile(url);
+        if (file != null) {
+            update(digest, Long.toString(Files.size(file)));
+            update(digest, Long.toString(Files.getLastModifiedTime(file).toMillis()));
+            return;
+        }
+
+        // no cheap way to check whether a remote source has changed, so compare the content
+        try (InputStream in = url.openStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    // returns a file that changes whenever the URL content changes, or null if there's no such file
+    private static Path localFile(URL url) throws IOException, URISyntaxException {
+        switch (url.getProtocol()) {
+            case "file":
+                return Path.of(url.toURI());
+            case "jar":
+                URLConnection connection = url.openConnection();
+                if (connection instanceof JarURLConnection jar && "file".equals(jar.getJarFileURL().getProtocol())) {
+                    return Path.of(jar.getJarFileURL().toURI());
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private void store(Path file, JsonNode root) {
+        try (StartupProfiler.Span span = StartupProfiler.span("write cached configuration", file)) {
+            Files.createDirectories(dir);
+
+            // write to a temp file first, so that concurrently starting apps never see a partially written file
+            Path tmp = Files.createTempFile(dir, "config", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    mapper.writeValue(out, root);
+                }
+
+                try {
+                    Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+
+            logger.trace(() -> "Stored configuration in cache at " + file);
+        } catch (IOException | UncheckedIOException e) {
+            // failing to cache must not prevent the app from starting
+            logger.trace(() -> "Failed to store configuration in cache at " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+
+        // prefix each value with its length, so that the value boundaries are unambiguous
+        int len = value != null ? bytes.length : -1;
+        digest.update(new byte[]{(byte) (len >>> 24), (byte) (len >>> 16), (byte) (len >>> 8), (byte) len});
+        digest.update(bytes);
+    }
+}
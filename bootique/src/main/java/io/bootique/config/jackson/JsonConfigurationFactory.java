@@ -26,54 +26,144 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TreeTraversingParser;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.bootique.config.ConfigurationFactory;
+import io.bootique.config.jackson.path.CiKeyIndex;
 import io.bootique.config.jackson.path.CiPropertySegment;
 import io.bootique.config.jackson.path.PathSegment;
 import io.bootique.type.TypeRef;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * {@link ConfigurationFactory} based on Jackson {@link JsonNode} data
  * structure. The actual configuration can come from JSON, YAML, XML, etc.
+ * <p>
+ * Optionally memoizes config objects per type and prefix (see {@link Memoization}). Memoization statistics are
+ * available via {@link #getCacheHits()} and {@link #getCacheMisses()}.
  *
  * @since 2.0
  */
 public class JsonConfigurationFactory implements ConfigurationFactory {
 
+    /**
+     * A property that enables config memoization. Its value is one of the {@link Memoization} constants
+     * (case-insensitive).
+     *
+     * @since 4.0
+     */
+    public static final String MEMOIZATION_PROPERTY = "bq.config.memoize";
+
+    /**
+     * Config memoization modes.
+     *
+     * @since 4.0
+     */
+    public enum Memoization {
+
+        /**
+         * No memoization. Each call resolves the config path and creates a new object.
+         */
+        NONE,
+
+        /**
+         * Config objects are created once per type and prefix, and the same instance is returned to all callers.
+         * Only suitable when the config objects (e.g. factories) are not modified by the callers.
+         */
+        SHARED,
+
+        /**
+         * Config paths are resolved once per type and prefix, but each call creates a new, fully independent copy
+         * of the config object. Suitable for mutable config objects.
+         */
+        COPY;
+
+        public static Memoization parse(String value) {
+            return value != null ? valueOf(value.trim().toUpperCase(Locale.ROOT)) : NONE;
+        }
+    }
+
     final JsonNode rootNode;
     private final ObjectMapper mapper;
     private final TypeFactory typeFactory;
+    private final CiKeyIndex ciKeyIndex;
+
+    private final Memoization memoization;
+    private final Map<CacheKey, Object> cache;
+    private final LongAdder cacheHits;
+    private final LongAdder cacheMisses;
 
     public JsonConfigurationFactory(JsonNode rootConfigNode, ObjectMapper objectMapper) {
+        this(rootConfigNode, objectMapper, Memoization.NONE);
+    }
+
+    /**
+     * @since 4.0
+     */
+    public JsonConfigurationFactory(JsonNode rootConfigNode, ObjectMapper objectMapper, Memoization memoization) {
         this.typeFactory = TypeFactory.defaultInstance();
         this.mapper = objectMapper;
         this.rootNode = rootConfigNode;
+        this.ciKeyIndex = new CiKeyIndex();
+        this.memoization = Objects.requireNonNull(memoization);
+        this.cache = new ConcurrentHashMap<>();
+        this.cacheHits = new LongAdder();
+        this.cacheMisses = new LongAdder();
     }
 
     @Override
     public <T> T config(Class<T> type, String prefix) {
-
-        JsonNode child = findChild(prefix);
-
-        try {
-            return mapper.readValue(new TreeTraversingParser(child, mapper), type);
-        }
-        // TODO: implement better exception handling. See ConfigurationFactory
-        // in Dropwizard for inspiration
-        catch (IOException e) {
-            throw new RuntimeException("Error creating config", e);
-        }
+        return config((Type) type, prefix);
     }
 
     @Override
     public <T> T config(TypeRef<? extends T> type, String prefix) {
+        return config(type.getType(), prefix);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T config(Type type, String prefix) {
+
+        if (memoization == Memoization.NONE) {
+            return readValue(findChild(prefix), type);
+        }
+
+        CacheKey key = new CacheKey(type, prefix);
 
+        // not using "computeIfAbsent", as config object creation may recursively call this factory
+        Object cached = cache.get(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return memoization == Memoization.SHARED ? (T) cached : readValue((JsonNode) cached, type);
+        }
+
+        cacheMisses.increment();
         JsonNode child = findChild(prefix);
 
-        JavaType jacksonType = typeFactory.constructType(type.getType());
+        if (memoization == Memoization.COPY) {
+            cache.putIfAbsent(key, child);
+            return readValue(child, type);
+        }
+
+        T value = readValue(child, type);
+        if (value == null) {
+            return null;
+        }
+
+        // if another thread got ahead of us, return its instance, so that all callers share the same object
+        Object existing = cache.putIfAbsent(key, value);
+        return existing != null ? (T) existing : value;
+    }
+
+    private <T> T readValue(JsonNode node, Type type) {
+        JavaType jacksonType = typeFactory.constructType(type);
 
         try {
-            return mapper.readValue(new TreeTraversingParser(child, mapper), jacksonType);
+            return mapper.readValue(new TreeTraversingParser(node, mapper), jacksonType);
         }
         // TODO: implement better exception handling. See ConfigurationFactory
         // in Dropwizard for inspiration
@@ -82,6 +172,44 @@ public class JsonConfigurationFactory implements ConfigurationFactory {
         }
     }
 
+    /**
+     * Returns the memoization mode of this factory.
+     *
+     * @since 4.0
+     */
+    public Memoization getMemoization() {
+        return memoization;
+    }
+
+    /**
+     * Returns how many times a config object was served from the memoization cache.
+     *
+     * @since 4.0
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Returns how many times a config object had to be created from scratch with memoization enabled.
+     *
+     * @since 4.0
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Drops all memoized config objects and the config path index. Must be called whenever the underlying
+     * configuration is reloaded or modified, so that the callers do not see stale objects.
+     *
+     * @since 4.0
+     */
+    public void invalidateCache() {
+        cache.clear();
+        ciKeyIndex.clear();
+    }
+
     protected JsonNode findChild(String path) {
 
         // assuming prefix is case-insensitive. This allows prefixes that are defined in the shell vars and nowhere
@@ -95,9 +223,11 @@ public class JsonConfigurationFactory implements ConfigurationFactory {
         // or we just make it case-sensitive like the rest of the config...
 
         return CiPropertySegment
-                .create(rootNode, path)
+                .create(rootNode, path, ciKeyIndex)
                 .lastPathComponent().map(PathSegment::getNode)
                 .orElse(new ObjectNode(null));
     }
 
+    private record CacheKey(Type type, String prefix) {
+    }
 }
@@ -21,10 +21,13 @@ package io.bootique.config.jackson;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.bootique.profile.StartupProfiler;
 
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -40,12 +43,16 @@ public interface JsonConfigurationLoader {
         List<JsonConfigurationLoader> ordered = new ArrayList<>(loaders);
         ordered.sort(Comparator.comparing(JsonConfigurationLoader::getOrder));
 
-        JsonNode root = new ObjectNode(new JsonNodeFactory(true));
-        for (JsonConfigurationLoader loader : ordered) {
-            root = loader.updateConfiguration(root);
-        }
+        try (StartupProfiler.Span span = StartupProfiler.span("load configuration")) {
+            JsonNode root = new ObjectNode(new JsonNodeFactory(true));
+            for (JsonConfigurationLoader loader : ordered) {
+                try (StartupProfiler.Span loaderSpan = StartupProfiler.span("configuration loader", loader.getClass())) {
+                    root = loader.updateConfiguration(root);
+                }
+            }
 
-        return root;
+            return root;
+        }
     }
 
 
@@ -55,4 +62,15 @@ public interface JsonConfigurationLoader {
     int getOrder();
 
     JsonNode updateConfiguration(JsonNode mutableInput);
+
+    /**
+     * Returns URLs of all the config sources that this loader would read, without reading them. Used to validate
+     * the cached configuration (see {@link JsonConfigurationCache}). An empty Optional means that the loader sources
+     * can't be determined upfront, which disables the configuration cache. This is the default.
+     *
+     * @since 4.0
+     */
+    default Optional<List<URL>> getSources() {
+        return Optional.empty();
+    }
 }
@@ -23,7 +23,10 @@ import io.bootique.config.jackson.merger.InPlacePropertiesMerger;
 import io.bootique.env.Environment;
 import jakarta.inject.Inject;
 
+import java.net.URL;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * @since 2.0
@@ -49,4 +52,10 @@ public class PropertiesConfigurationLoader implements JsonConfigurationLoader {
         Map<String, String> properties = environment.frameworkProperties();
         return new InPlacePropertiesMerger(properties).apply(mutableInput);
     }
+
+    @Override
+    public Optional<List<URL>> getSources() {
+        // properties are not read from URLs, and are a part of the cache key instead
+        return Optional.of(List.of());
+    }
 }
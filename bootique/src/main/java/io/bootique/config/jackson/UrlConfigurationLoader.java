@@ -22,10 +22,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import io.bootique.config.jackson.merger.JsonConfigurationMerger;
 import io.bootique.config.jackson.parser.JsonConfigurationParser;
 import io.bootique.log.BootLogger;
+import io.bootique.profile.StartupProfiler;
 import io.bootique.resource.ResourceFactory;
 
+import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Configuration loader for a set of config URLs. Subclasses define where the URLs come from and the order of
@@ -52,13 +57,28 @@ public abstract class UrlConfigurationLoader implements JsonConfigurationLoader
         this.locations = Objects.requireNonNull(locations);
     }
 
+    private JsonNode parse(URL url) {
+        try (StartupProfiler.Span span = StartupProfiler.span("parse configuration", url)) {
+            return parser.parse(url);
+        }
+    }
+
     @Override
     public JsonNode updateConfiguration(JsonNode mutableInput) {
-        return locations.stream()
-                .peek(s -> bootLogger.trace(() -> "Reading configuration at " + s))
-                .map(s -> new ResourceFactory(s).getUrl())
-                .map(parser::parse)
+
+        // log the locations upfront to preserve the declared order, as parsing happens in parallel
+        List<String> locations = new ArrayList<>(this.locations);
+        locations.forEach(s -> bootLogger.trace(() -> "Reading configuration at " + s));
+
+        // fetching and parsing is done concurrently, but merging must follow the declared order of locations
+        List<JsonNode> parsed = ParallelConfigParser.parse(locations, s -> parse(new ResourceFactory(s).getUrl()));
+        return parsed.stream()
                 .filter(n -> n != null) // is there ever a condition when the parser returns null?
                 .reduce(mutableInput, merger);
     }
+
+    @Override
+    public Optional<List<URL>> getSources() {
+        return Optional.of(locations.stream().map(s -> new ResourceFactory(s).getUrl()).toList());
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.config.jackson.path;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A case-insensitive index of the field names of the {@link ObjectNode}s of a config tree, built lazily per node on
+ * the first lookup, so that resolving a case-insensitive path doesn't require scanning all the siblings of each path
+ * segment. Small nodes are not indexed and are scanned directly. The index assumes that the indexed nodes are not
+ * modified, and must be {@link #clear() cleared} if they are. Node indices are built outside of any lock, and the
+ * lookups only take a read lock, that (unlike "synchronized") doesn't pin the carrier threads of the virtual threads.
+ *
+ * @since 4.0
+ */
+public class CiKeyIndex {
+
+    // below this size a linear scan is as fast as the index lookup, and the index is not worth the memory
+    private static final int MIN_INDEXED_SIZE = 8;
+
+    // ObjectNode "equals" and "hashCode" are deep, so must use identity
+    private final Map<ObjectNode, Map<String, String>> indices;
+    private final ReadWriteLock lock;
+
+    public CiKeyIndex() {
+        this.indices = new IdentityHashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Returns a field name of the node that matches the provided name ignoring case, or null if there's no such field.
+     * If there are multiple matching fields, the one that comes first in the node is returned.
+     */
+    public String getKey(ObjectNode node, String fieldName) {
+        if (node.size() < MIN_INDEXED_SIZE) {
+            return scan(node, fieldName);
+        }
+
+        return index(node).get(normalize(fieldName));
+    }
+
+    /**
+     * Drops all the indexed nodes.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            indices.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, String> index(ObjectNode node) {
+        Map<String, String> index;
+
+        lock.readLock().lock();
+        try {
+            index = indices.get(node);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (index != null) {
+            return index;
+        }
+
+        // concurrent lookups may build the same index more than once, but only the first one is kept
+        Map<String, String> built = buildIndex(node);
+
+        lock.writeLock().lock();
+        try {
+            Map<String, String> existing = indices.putIfAbsent(node, built);
+            return existing != null ? existing : built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String scan(JsonNode node, String fieldName) {
+        Iterator<String> names = node.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (fieldName.equalsIgnoreCase(name)) {
+                return name;
+            }
+        }
+
+        return null;
+    }
+
+    private static Map<String, String> buildIndex(ObjectNode node) {
+        Map<String, String> index = new HashMap<>((int) (node.size() / 0.75f) + 1);
+        node.fieldNames().forEachRemaining(n -> index.putIfAbsent(normalize(n), n));
+        return index;
+    }
+
+    // produces the same value for any two strings that are "equalsIgnoreCase"
+    static String normalize(String name) {
+        StringBuilder normalized = null;
+        int len = name.length();
+        for (int i = 0; i < len; ) {
+            int cp = name.codePointAt(i);
+            int ncp = Character.toLowerCase(Character.toUpperCase(cp));
+            if (ncp != cp && normalized == null) {
+                normalized = new StringBuilder(len).append(name, 0, i);
+            }
+
+            if (normalized != null) {
+                normalized.appendCodePoint(ncp);
+            }
+
+            i += Character.charCount(cp);
+        }
+
+        return normalized != null ? normalized.toString() : name;
+    }
+}
@@ -23,15 +23,24 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
-import java.util.Iterator;
-import java.util.Map.Entry;
-
 /**
  * A path segment for case-insensitive path.
  */
 public class CiPropertySegment extends PropertyPathSegment {
 
+    private final CiKeyIndex index;
+
     public static PathSegment<?> create(JsonNode node, String path) {
+        return create(node, path, null);
+    }
+
+    /**
+     * Creates a path segment that resolves case-insensitive names via the provided index. If the index is null,
+     * every path segment scans the fields of its node.
+     *
+     * @since 4.0
+     */
+    public static PathSegment<?> create(JsonNode node, String path, CiKeyIndex index) {
 
         if (path.length() == 0) {
             return new LastPathSegment(node, null, null);
@@ -41,17 +50,31 @@ public class CiPropertySegment extends PropertyPathSegment {
             return new IndexPathSegment(toArrayNode(node), null, null, path);
         }
 
-        return new CiPropertySegment(toObjectNode(node), null, null, path);
+        return new CiPropertySegment(toObjectNode(node), null, null, path, index);
     }
 
     protected CiPropertySegment(ObjectNode node, PathSegment<?> parent, String incomingPath, String remainingPath) {
+        this(node, parent, incomingPath, remainingPath, null);
+    }
+
+    /**
+     * @since 4.0
+     */
+    protected CiPropertySegment(
+            ObjectNode node,
+            PathSegment<?> parent,
+            String incomingPath,
+            String remainingPath,
+            CiKeyIndex index) {
+
         super(node, parent, incomingPath, remainingPath);
+        this.index = index;
     }
 
     @Override
     protected JsonNode readChild(String childName) {
-        String key = getNode() != null ? getChildCiKey(getNode(), childName) : childName;
-        return getNode() != null ? getNode().get(key) : null;
+        String key = node != null ? getChildCiKey(node, childName) : childName;
+        return node != null ? node.get(key) : null;
     }
 
     @Override
@@ -62,22 +85,12 @@ public class CiPropertySegment extends PropertyPathSegment {
     @Override
     protected PathSegment<ObjectNode> createPropertyChild(String childName, String remainingPath) {
         ObjectNode on = toObjectNode(readChild(childName));
-        return new CiPropertySegment(on, this, childName, remainingPath);
+        return new CiPropertySegment(on, this, childName, remainingPath, index);
     }
 
-    private String getChildCiKey(JsonNode parent, String fieldName) {
-
-        fieldName = fieldName.toUpperCase();
-
-        Iterator<Entry<String, JsonNode>> fields = parent.fields();
-        while (fields.hasNext()) {
-            Entry<String, JsonNode> f = fields.next();
-            if (fieldName.equalsIgnoreCase(f.getKey())) {
-                return f.getKey();
-            }
-        }
-
-        return fieldName;
+    private String getChildCiKey(ObjectNode parent, String fieldName) {
+        String key = index != null ? index.getKey(parent, fieldName) : CiKeyIndex.scan(parent, fieldName);
+        return key != null ? key : fieldName.toUpperCase();
     }
 
 }
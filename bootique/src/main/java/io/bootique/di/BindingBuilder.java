@@ -61,4 +61,15 @@ public interface BindingBuilder<T> extends ScopeBuilder {
      * @since 4.0
      */
     ScopeBuilder toProviderInstance(Provider<? extends T> provider) throws DIRuntimeException;
+
+    /**
+     * Makes the binding lazy. Instead of the actual object, the callers would receive a proxy that creates the
+     * object on the first method call, so that the services that are rarely used do not slow down the startup.
+     * Binding key must be an interface. Scope of the binding still defines how the actual objects are shared. Can be
+     * called either before or after the binding target is set, e.g. {@code binder.bind(S.class).lazy().to(S1.class)}.
+     *
+     * @return this builder to allow setting the binding target and the scope
+     * @since 4.0
+     */
+    BindingBuilder<T> lazy();
 }
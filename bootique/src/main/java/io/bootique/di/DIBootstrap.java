@@ -162,6 +162,47 @@ public class DIBootstrap {
             return this;
         }
 
+        /**
+         * Use {@link java.lang.invoke.MethodHandle}s instead of the core reflection to invoke constructors, provider
+         * methods and to inject fields and methods. Handles are created once per injection point, so this adds some
+         * startup overhead, but makes instantiation of no-scope objects cheaper.
+         * Disabled by default.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder enableFastReflection() {
+            options.add(DefaultInjector.Options.ENABLE_FAST_REFLECTION);
+            return this;
+        }
+
+        /**
+         * Initialize singletons marked with {@link ScopeBuilder#initOnStartup()} concurrently on virtual threads.
+         * Singletons that share dependencies are initialized by the same thread in sequence, while independent
+         * ones are initialized in parallel. The first initialization error is rethrown from {@link #build()}.
+         * Disabled by default.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder parallelEarlySetup() {
+            options.add(DefaultInjector.Options.PARALLEL_EARLY_SETUP);
+            return this;
+        }
+
+        /**
+         * Collect per-binding provisioning statistics, available via {@link Injector#getProvisionStats()}. Adds
+         * some overhead to each object creation, so is intended for diagnostics.
+         * Disabled by default.
+         *
+         * @return this
+         * @since 4.0
+         */
+        public InjectorBuilder enableProvisionStats() {
+            options.add(DefaultInjector.Options.ENABLE_PROVISION_STATS);
+            return this;
+        }
+
         /**
          * Set custom predicate for methods in modules that should be used as providers.
          * Default predicate test methods for {@link Provides} annotation.
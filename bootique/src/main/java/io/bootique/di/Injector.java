@@ -19,10 +19,12 @@
 
 package io.bootique.di;
 
+import io.bootique.BQModule;
 import io.bootique.log.BootLogger;
 import jakarta.inject.Provider;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -143,6 +145,27 @@ public interface Injector {
      */
     Set<Key<?>> getKeys();
 
+    /**
+     * Returns per-binding provisioning statistics collected since the injector creation. Empty unless statistics
+     * collection was enabled via {@link DIBootstrap.InjectorBuilder#enableProvisionStats()}.
+     *
+     * @since 4.0
+     */
+    default List<ProvisionStats> getProvisionStats() {
+        return List.of();
+    }
+
+    /**
+     * Creates a child injector configured with the provided modules. Child bindings take precedence over the
+     * bindings of this injector, while the keys not bound in the child are delegated to this injector. So the child
+     * reuses the singletons of this injector, and only the child modules have to be configured.
+     *
+     * @since 4.0
+     */
+    default Injector createChild(BQModule... modules) {
+        throw new DIRuntimeException("Child injectors are not supported by %s", getClass().getName());
+    }
+
     /**
      * Report any warnings found in the injector
      *
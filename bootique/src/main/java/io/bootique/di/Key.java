@@ -69,15 +69,21 @@ public class Key<T> {
     }
 
     public static <T> Key<T> get(TypeLiteral<T> typeLiteral, String bindingName) {
-        return new Key<>(typeLiteral, bindingName);
+        return bindingName != null && bindingName.length() > 0
+                ? new Key<>(typeLiteral, bindingName)
+                : TypeLiteral.normalize(typeLiteral).key();
     }
 
     public static <T> Key<T> get(TypeLiteral<T> typeLiteral, Class<? extends Annotation> annotationType) {
-        return new Key<>(typeLiteral, annotationType);
+        return annotationType != null
+                ? new Key<>(typeLiteral, annotationType)
+                : TypeLiteral.normalize(typeLiteral).key();
     }
 
     public static <T> Key<T> get(TypeLiteral<T> typeLiteral, Annotation annotationInstance) {
-        return new Key<>(typeLiteral, annotationInstance);
+        return annotationInstance != null
+                ? new Key<>(typeLiteral, annotationInstance)
+                : TypeLiteral.normalize(typeLiteral).key();
     }
 
 
@@ -152,6 +158,7 @@ public class Key<T> {
 
     private final TypeLiteral<T> type;
     private final KeyQualifier qualifier;
+    private final int hash;
 
     protected Key(TypeLiteral<T> type, String bindingName) {
         this.type = TypeLiteral.normalize(type);
@@ -159,6 +166,7 @@ public class Key<T> {
         this.qualifier = bindingName != null && bindingName.length() > 0
                 ? new NamedKeyQualifier(bindingName)
                 : NO_QUALIFIER;
+        this.hash = hash(this.type, qualifier);
     }
 
     protected Key(TypeLiteral<T> type, Class<? extends Annotation> annotationType) {
@@ -167,6 +175,7 @@ public class Key<T> {
         this.qualifier = annotationType == null
                 ? NO_QUALIFIER
                 : new AnnotationTypeQualifier(annotationType);
+        this.hash = hash(this.type, qualifier);
     }
 
     protected Key(TypeLiteral<T> type, Annotation annotationInstance) {
@@ -182,6 +191,11 @@ public class Key<T> {
             // general case
             this.qualifier = new AnnotationTypeQualifier(annotationInstance.annotationType());
         }
+        this.hash = hash(this.type, qualifier);
+    }
+
+    private static int hash(TypeLiteral<?> type, KeyQualifier qualifier) {
+        return 407 + 11 * type.hashCode() + qualifier.hashCode();
     }
 
     public TypeLiteral<T> getType() {
@@ -216,7 +230,7 @@ public class Key<T> {
         if (object instanceof Key<?> key) {
 
             // type is guaranteed to be not null, so skip null checking...
-            if (!type.equals(key.type)) {
+            if (hash != key.hash || !type.equals(key.type)) {
                 return false;
             }
 
@@ -229,7 +243,7 @@ public class Key<T> {
 
     @Override
     public int hashCode() {
-        return 407 + 11 * type.hashCode() + qualifier.hashCode();
+        return hash;
     }
 
     @Override
@@ -22,6 +22,7 @@ package io.bootique.di;
 import jakarta.inject.Provider;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * A binding builder for map configurations. Creates a parameterized map of type &lt;K, V&gt;.
@@ -74,4 +75,37 @@ public interface MapBuilder<K, V> extends ScopeBuilder {
      * @since 2.0
      */
     MapBuilder<K, V> putInstances(Map<K, V> map) throws DIRuntimeException;
+
+    /**
+     * Makes the bound map unmodifiable and, if all its values are instances or singletons, creates it only
+     * once, so that injecting the map in a "no scope" object doesn't allocate a new map every time.
+     *
+     * @since 4.0
+     */
+    MapBuilder<K, V> snapshot();
+
+    /**
+     * Makes the bound map unmodifiable, with each value created on the first lookup (or iteration over the values),
+     * instead of all at once when the map is injected.
+     *
+     * @since 4.0
+     */
+    MapBuilder<K, V> lazyElements();
+
+    /**
+     * Makes the binding create map values concurrently, one virtual thread per element, which speeds up the
+     * resolution of the elements that do I/O on creation. Order of elements and error reporting are the same as
+     * with the sequential creation. Has no effect on the lazy elements.
+     *
+     * @since 4.0
+     */
+    MapBuilder<K, V> parallel();
+
+    /**
+     * Makes the binding create map values concurrently on the provided executor. Order of elements and error
+     * reporting are the same as with the sequential creation. Has no effect on the lazy elements.
+     *
+     * @since 4.0
+     */
+    MapBuilder<K, V> parallel(Executor executor);
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import java.util.Objects;
+
+/**
+ * Provisioning statistics of a single DI binding collected since the injector creation. Times exclude the time spent
+ * on resolving nested dependencies, so that the cost is attributed to the binding that actually incurred it.
+ * Statistics are only collected when enabled via {@link DIBootstrap.InjectorBuilder#enableProvisionStats()}.
+ *
+ * @since 4.0
+ */
+public class ProvisionStats {
+
+    private final Key<?> key;
+    private final String scope;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final String firstThread;
+
+    public ProvisionStats(Key<?> key, String scope, long count, long totalNanos, long maxNanos, String firstThread) {
+        this.key = Objects.requireNonNull(key);
+        this.scope = scope;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.firstThread = firstThread;
+    }
+
+    public Key<?> getKey() {
+        return key;
+    }
+
+    /**
+     * Returns a label of the binding scope, i.e. "singleton", "none" or a name of a custom scope class. May be null
+     * if the binding is no longer available.
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    /**
+     * Returns how many times an object was created for the binding. For singletons this is normally 1.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns cumulative time spent creating objects for the binding, excluding nested dependencies.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the longest time spent creating a single object for the binding, excluding nested dependencies.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns a name of the thread that created the first object for the binding.
+     */
+    public String getFirstThread() {
+        return firstThread;
+    }
+
+    @Override
+    public String toString() {
+        return "ProvisionStats{" + key
+                + ", scope=" + scope
+                + ", count=" + count
+                + ", totalNanos=" + totalNanos
+                + ", maxNanos=" + maxNanos
+                + ", firstThread=" + firstThread + "}";
+    }
+}
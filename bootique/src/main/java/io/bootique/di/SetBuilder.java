@@ -22,6 +22,7 @@ package io.bootique.di;
 import jakarta.inject.Provider;
 
 import java.util.Collection;
+import java.util.concurrent.Executor;
 
 /**
  * A binding builder for set configurations.
@@ -72,4 +73,39 @@ public interface SetBuilder<T> extends ScopeBuilder {
      * @since 2.0
      */
     SetBuilder<T> addInstances(Collection<T> values) throws DIRuntimeException;
+
+    /**
+     * Makes the bound set unmodifiable and, if all its elements are instances or singletons, creates it only
+     * once, so that injecting the set in a "no scope" object doesn't allocate a new set every time. Element order
+     * is the order in which the elements were added.
+     *
+     * @since 4.0
+     */
+    SetBuilder<T> snapshot();
+
+    /**
+     * Makes the bound set unmodifiable, with its elements created on the first iteration, instead of all at once
+     * when the set is injected. As elements are not created up front, duplicates are only detected (and result in an
+     * exception) when they are resolved.
+     *
+     * @since 4.0
+     */
+    SetBuilder<T> lazyElements();
+
+    /**
+     * Makes the binding create set elements concurrently, one virtual thread per element, which speeds up the
+     * resolution of the elements that do I/O on creation. Order of elements and error reporting are the same as
+     * with the sequential creation. Has no effect on the lazy elements.
+     *
+     * @since 4.0
+     */
+    SetBuilder<T> parallel();
+
+    /**
+     * Makes the binding create set elements concurrently on the provided executor. Order of elements and error
+     * reporting are the same as with the sequential creation. Has no effect on the lazy elements.
+     *
+     * @since 4.0
+     */
+    SetBuilder<T> parallel(Executor executor);
 }
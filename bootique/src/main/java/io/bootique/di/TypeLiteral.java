@@ -19,8 +19,12 @@
 
 package io.bootique.di;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class represents any generic type T, as there is no support for this in Java.
@@ -33,16 +37,69 @@ public class TypeLiteral<T> {
 
     private static final Class<?> WILDCARD_MARKER = WildcardMarker.class;
 
+    // canonical literals of classes, attached to the classes themselves, so they don't prevent class unloading
+    private static final ClassValue<TypeLiteral<?>> CLASS_LITERALS = new ClassValue<>() {
+        @Override
+        protected TypeLiteral<?> computeValue(Class<?> type) {
+            return new TypeLiteral<>((Type) type);
+        }
+    };
+
+    // canonical literals of generic types, the reflection objects are weakly referenced. A concurrent map, as
+    // opposed to a synchronized WeakHashMap, doesn't serialize the lookups and doesn't pin the virtual threads
+    private static final Map<WeakTypeKey, TypeLiteral<?>> GENERIC_LITERALS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Type> GENERIC_LITERALS_QUEUE = new ReferenceQueue<>();
+
     private final Class<? super T> type;
     private final String typeName;
     private final String[] argumentTypes;
+    private final int hash;
+
+    // lazily created, racy initialization is fine, as both objects are immutable
+    private String string;
+    private Key<T> key;
 
+    /**
+     * Returns a canonical literal for a given class. Repeated calls with the same class return the same object.
+     */
+    @SuppressWarnings("unchecked")
     public static <T> TypeLiteral<T> of(Class<T> type) {
-        return new TypeLiteral<>(type);
+        return (TypeLiteral<T>) CLASS_LITERALS.get(Objects.requireNonNull(type, "No type"));
     }
 
+    /**
+     * Returns a canonical literal for a given type. Repeated calls with the same (or an equal) type return the same
+     * object.
+     */
+    @SuppressWarnings("unchecked")
     public static <T> TypeLiteral<T> of(Type type) {
-        return new TypeLiteral<>(type);
+        if (type instanceof Class<?> c) {
+            return (TypeLiteral<T>) CLASS_LITERALS.get(c);
+        }
+
+        Objects.requireNonNull(type, "No type");
+        TypeLiteral<?> literal = GENERIC_LITERALS.get(new WeakTypeKey(type, null));
+
+        if (literal == null) {
+            expungeGenericLiterals();
+
+            // not using "computeIfAbsent", as argument types are resolved recursively
+            TypeLiteral<?> newLiteral = new TypeLiteral<>(type);
+            literal = GENERIC_LITERALS.putIfAbsent(new WeakTypeKey(type, GENERIC_LITERALS_QUEUE), newLiteral);
+
+            if (literal == null) {
+                literal = newLiteral;
+            }
+        }
+
+        return (TypeLiteral<T>) literal;
+    }
+
+    private static void expungeGenericLiterals() {
+        Reference<? extends Type> cleared;
+        while ((cleared = GENERIC_LITERALS_QUEUE.poll()) != null) {
+            GENERIC_LITERALS.remove(cleared);
+        }
     }
 
     public static <T> TypeLiteral<T> of(Class<T> rawType, Type... parameters) {
@@ -123,38 +180,56 @@ public class TypeLiteral<T> {
         Type genericType = getGenericSuperclassType(getClass());
         this.type = (Class<T>) getRawType(genericType);
         this.typeName = type.getName();
-        Type[] argumentTypes = getArgumentTypes(genericType);
-        this.argumentTypes = new String[argumentTypes.length];
-        initArgumentTypes(argumentTypes);
+        this.argumentTypes = argumentTypes(getArgumentTypes(genericType));
+        this.hash = hash(typeName, argumentTypes);
     }
 
     @SuppressWarnings("unchecked")
     private TypeLiteral(Type type) {
         this.type = (Class<T>) getRawType(Objects.requireNonNull(type, "No type"));
         this.typeName = this.type.getName();
-        Type[] argumentTypes = getArgumentTypes(type);
-        this.argumentTypes = new String[argumentTypes.length];
-        initArgumentTypes(argumentTypes);
+        this.argumentTypes = argumentTypes(getArgumentTypes(type));
+        this.hash = hash(typeName, argumentTypes);
     }
 
     private TypeLiteral(Class<? super T> type, String... argumentTypes) {
         this.type = type;
         this.typeName = type.getName();
         this.argumentTypes = argumentTypes;
+        this.hash = hash(typeName, argumentTypes);
     }
 
     private TypeLiteral(Class<? super T> type, Type... argumentsType) {
         this.type = Objects.requireNonNull(type, "No class");
         this.typeName = type.getName();
-        this.argumentTypes = new String[argumentsType.length];
-        initArgumentTypes(argumentsType);
+        this.argumentTypes = argumentTypes(argumentsType);
+        this.hash = hash(typeName, argumentTypes);
     }
 
-    private void initArgumentTypes(Type... argumentsType) {
+    private static String[] argumentTypes(Type... argumentsType) {
+        String[] argumentTypes = new String[argumentsType.length];
         for (int i = 0; i < argumentsType.length; i++) {
             // recursively resolve argument types..
-            this.argumentTypes[i] = new TypeLiteral<>(argumentsType[i]).toString();
+            argumentTypes[i] = of(argumentsType[i]).toString();
+        }
+        return argumentTypes;
+    }
+
+    private static int hash(String typeName, String[] argumentTypes) {
+        int result = typeName.hashCode();
+        result = 31 * result + Arrays.hashCode(argumentTypes);
+        return result;
+    }
+
+    /**
+     * Returns an unqualified key for this type, cached to avoid creating new keys for canonical literals.
+     */
+    Key<T> key() {
+        Key<T> key = this.key;
+        if (key == null) {
+            key = this.key = new Key<>(this, (String) null);
         }
+        return key;
     }
 
     private static Type getGenericSuperclassType(Class<?> subclass) {
@@ -176,7 +251,7 @@ public class TypeLiteral<T> {
         }
 
         if (o instanceof TypeLiteral tl) {
-            if (!typeName.equals(tl.typeName)) {
+            if (hash != tl.hash || !typeName.equals(tl.typeName)) {
                 return false;
             }
             return Arrays.equals(argumentTypes, tl.argumentTypes);
@@ -187,16 +262,15 @@ public class TypeLiteral<T> {
 
     @Override
     public int hashCode() {
-        int result = typeName.hashCode();
-        result = 31 * result + Arrays.hashCode(argumentTypes);
-        return result;
+        return hash;
     }
 
     @Override
     public String toString() {
-        String result = typeName;
-        if (argumentTypes.length > 0) {
-            result += Arrays.toString(argumentTypes);
+        String result = string;
+        if (result == null) {
+            result = argumentTypes.length > 0 ? typeName + Arrays.toString(argumentTypes) : typeName;
+            string = result;
         }
         return result;
     }
@@ -247,4 +321,37 @@ public class TypeLiteral<T> {
      */
     private interface WildcardMarker {
     }
+
+    /**
+     * A weak reference to a generic type usable as a hash map key. Equal to another key if the referenced types are
+     * equal, while a cleared key is only equal to itself, so that it can still be removed from the map.
+     */
+    private static final class WeakTypeKey extends WeakReference<Type> {
+
+        private final int hash;
+
+        WeakTypeKey(Type type, ReferenceQueue<Type> queue) {
+            super(type, queue);
+            this.hash = type.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof WeakTypeKey k) || hash != k.hash) {
+                return false;
+            }
+
+            Type type = get();
+            return type != null && type.equals(k.get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
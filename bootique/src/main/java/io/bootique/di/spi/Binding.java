@@ -38,6 +38,7 @@ class Binding<T> {
     private Provider<T> scoped;
     private Scope scope;
     private boolean optional;
+    private boolean lazy;
 
     Binding(Key<T> key, Provider<T> provider, Scope initialScope, boolean optional) {
         this.key = key;
@@ -59,8 +60,8 @@ class Binding<T> {
         // TODO: what happens to the old scoped value? Seems like this leaks
         // scope event listeners and may cause unexpected events...
 
-        this.scoped = scope.scope(original);
         this.scope = scope;
+        this.scoped = lazyIfNeeded(scope.scope(original));
     }
 
     void decorate(DefaultInjector injector, Decoration<T> decoration) {
@@ -80,7 +81,24 @@ class Binding<T> {
         // TODO: what happens to the old scoped value? Seems like this leaks
         // scope event listeners and may cause unexpected events...
 
-        this.scoped = scope.scope(decorated);
+        this.scoped = lazyIfNeeded(scope.scope(decorated));
+    }
+
+    /**
+     * Makes the binding return interface proxies that create the actual object on the first method call.
+     */
+    void makeLazy() {
+        if (!lazy) {
+            this.lazy = true;
+            this.scoped = lazyIfNeeded(scoped);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Provider<T> lazyIfNeeded(Provider<T> provider) {
+        return lazy
+                ? new LazyProvider<>((Class<T>) key.getType().getRawType(), provider, scope instanceof SingletonScope)
+                : provider;
     }
 
     Provider<T> getOriginal() {
@@ -91,6 +109,22 @@ class Binding<T> {
         return scoped;
     }
 
+    /**
+     * Returns a provider to give out to the callers. For the singletons that are already created, this is a constant
+     * provider of the singleton instance, otherwise the same as {@link #getScoped()}.
+     */
+    Provider<T> getResolved() {
+        Provider<T> scoped = this.scoped;
+        if (scoped instanceof SingletonScopeProvider<T> singleton) {
+            Provider<T> constant = singleton.getConstant();
+            if (constant != null) {
+                return constant;
+            }
+        }
+
+        return scoped;
+    }
+
     Scope getScope() {
         return scope;
     }
@@ -103,6 +137,10 @@ class Binding<T> {
         return optional;
     }
 
+    boolean isLazy() {
+        return lazy;
+    }
+
     Key<T> getKey() {
         return key;
     }
@@ -19,11 +19,9 @@
 
 package io.bootique.di.spi;
 
+import io.bootique.di.spi.InjectionPlan.Dependency;
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Type;
-
 class ConstructorInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
 
     private final Class<? extends T> implementation;
@@ -39,12 +37,14 @@ class ConstructorInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
 
         return new ConstructorInjectingProvider<T>(implementation, injector) {
             @Override
-            protected Object value(Class<?> parameter, Type genericType, Annotation bindingAnnotation) {
+            protected Object value(Dependency argument) {
+
+                Class<?> parameter = argument.getRawType();
 
                 // delegate (possibly) injected as Provider
-                if (injector.getPredicates().isProviderType(parameter)) {
+                if (argument.isProvider()) {
 
-                    Class<?> objectClass = GenericTypesUtils.parameterClass(genericType);
+                    Class<?> objectClass = GenericTypesUtils.parameterClass(argument.getGenericType());
 
                     if (objectClass == null) {
                         return injector.throwException("Constructor provider parameter %s must be "
@@ -60,7 +60,7 @@ class ConstructorInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
                     return undecorated.get();
                 }
 
-                return super.value(parameter, genericType, bindingAnnotation);
+                return super.value(argument);
             }
         };
     }
@@ -19,27 +19,35 @@
 
 package io.bootique.di.spi;
 
+import io.bootique.di.spi.InjectionPlan.ConstructorPlan;
+import io.bootique.di.spi.InjectionPlan.Dependency;
+import io.bootique.di.spi.Invokers.ConstructorInvoker;
+
 import io.bootique.di.Key;
-import io.bootique.di.TypeLiteral;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Type;
+import java.util.Collection;
 
-public class ConstructorInjectingProvider<T> implements NamedProvider<T> {
+public class ConstructorInjectingProvider<T> implements NamedProvider<T>, DependencyAwareProvider {
 
     private final Constructor<? extends T> constructor;
+    private final ConstructorInvoker<? extends T> invoker;
+    private final Dependency[] arguments;
     private final DefaultInjector injector;
-    private final Annotation[] bindingAnnotations;
 
     public ConstructorInjectingProvider(Class<? extends T> implementation, DefaultInjector injector) {
-        this(ConstructorInjectingProvider.findRequiredConstructor(implementation, injector), injector);
+        this(injector.getInjectionPlan(implementation).getConstructor(), injector);
     }
 
     public ConstructorInjectingProvider(Constructor<? extends T> constructor, DefaultInjector injector) {
-        this.constructor = constructor;
+        this(new ConstructorPlan<>(constructor, injector), injector);
+    }
+
+    ConstructorInjectingProvider(ConstructorPlan<? extends T> plan, DefaultInjector injector) {
+        this.constructor = plan.getConstructor();
+        this.invoker = plan.getInvoker();
+        this.arguments = plan.getArguments();
         this.injector = injector;
-        this.bindingAnnotations = collectParametersQualifiers(constructor);
     }
 
     static <T> Constructor<? extends T> findRequiredConstructor(Class<? extends T> implementation, DefaultInjector injector) {
@@ -87,56 +95,51 @@ public class ConstructorInjectingProvider<T> implements NamedProvider<T> {
         return (Constructor<? extends T>) lastMatch;
     }
 
-    private Annotation[] collectParametersQualifiers(Constructor<? extends T> constructor) {
-        Annotation[] result = new Annotation[constructor.getParameterCount()];
-        Annotation[][] annotations = constructor.getParameterAnnotations();
-        for (int i = 0; i < annotations.length; i++) {
-            Annotation[] parameterAnnotations = annotations[i];
-            for (Annotation annotation : parameterAnnotations) {
-                if (injector.getPredicates().isQualifierAnnotation(annotation)) {
-                    result[i] = annotation;
-                }
-            }
-        }
-        return result;
-    }
-
     @Override
     public T get() {
 
-        Class<?>[] constructorParameters = constructor.getParameterTypes();
-        Type[] genericTypes = constructor.getGenericParameterTypes();
-        Object[] args = new Object[constructorParameters.length];
+        int len = arguments.length;
+        Object[] args = new Object[len];
 
-        for (int i = 0; i < constructorParameters.length; i++) {
-            final int idx = i;
-            injector.trace(() -> "Get argument " + idx + " for " + getName());
-            args[i] = value(constructorParameters[i], genericTypes[i], bindingAnnotations[i]);
+        for (int i = 0; i < len; i++) {
+            injector.trace(TraceMessage.GET_ARGUMENT, this, i);
+            args[i] = value(arguments[i]);
         }
 
         try {
-            injector.trace(() -> "Invoking " + getName());
-            return constructor.newInstance(args);
+            injector.trace(TraceMessage.INVOKING, this);
+            return invoker.newInstance(args);
         } catch (Exception e) {
             return injector.throwException("Error invoking %s", e, getName());
         }
     }
 
-    protected Object value(Class<?> parameter, Type genericType, Annotation bindingAnnotation) {
+    protected Object value(Dependency argument) {
 
-        if (injector.getPredicates().isProviderType(parameter)) {
-            Type parameterType = GenericTypesUtils.getGenericParameterType(genericType);
-            if (parameterType == null) {
+        if (argument.isProvider()) {
+            if (argument.getKey() == null) {
                 return injector.throwException("Constructor provider parameter %s must be "
-                        + "parameterized to be usable for injection", parameter.getName());
+                        + "parameterized to be usable for injection", argument.getRawType().getName());
             }
-            return injector.getProvider(Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
+            return injector.getProvider(argument.getKey());
         } else {
-            Key<?> key = Key.get(TypeLiteral.of(genericType), bindingAnnotation);
-            return injector.getInstanceWithCycleProtection(key, false);
+            return injector.getInstanceWithCycleProtection(argument.getKey(), false);
         }
     }
 
+    @Override
+    public void collectDependencies(Collection<Key<?>> dependencies) {
+        for (Dependency argument : arguments) {
+            if (argument.getKey() != null) {
+                dependencies.add(argument.getKey());
+            }
+        }
+    }
+
+    Class<?> getImplementationType() {
+        return constructor.getDeclaringClass();
+    }
+
     @Override
     public String getName() {
         return "constructor of class '" + constructor.getDeclaringClass().getName() + "'";
@@ -39,7 +39,7 @@ class CustomProvidersProvider<T> implements NamedProvider<T> {
     @Override
     public T get() {
         Provider<? extends T> customProvider = providerOfProviders.get();
-        injector.trace(() -> "Invoking " + getName());
+        injector.trace(TraceMessage.INVOKING, this);
         return customProvider.get();
     }
 
@@ -43,17 +43,17 @@ public abstract class DICollectionBuilder<K, E> implements ScopeBuilder {
     protected Provider<E> createInstanceProvider(E value) {
         Provider<E> provider0 = new InstanceProvider<>(value);
         Provider<E> provider1 = new FieldInjectingProvider<>(provider0, injector);
-        if (!injector.isMethodInjectionEnabled()) {
-            return provider1;
+        if (injector.isMethodInjectionEnabled()) {
+            provider1 = new MethodInjectingProvider<>(provider1, injector);
         }
-        return new MethodInjectingProvider<>(provider1, injector);
+        return new ElementProvider<>(provider1, null);
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected Provider<E> createProviderProvider(Class<? extends Provider<? extends E>> providerType) {
         Key<? extends Provider<? extends E>> providerKey = Key.get(providerType);
         Provider<Provider<? extends E>> providerProvider = () -> {
-            injector.trace(() -> "Resolving custom provider of type " + providerType);
+            injector.trace(TraceMessage.RESOLVING_CUSTOM_PROVIDER, providerType);
             if (!injector.hasProvider(providerKey)) {
                 // create new provider
                 Provider<Provider<? extends E>> provider0 = new ConstructorInjectingProvider<>(providerType, injector);
@@ -61,6 +61,10 @@ public abstract class DICollectionBuilder<K, E> implements ScopeBuilder {
                 if (injector.isMethodInjectionEnabled()) {
                     provider1 = new MethodInjectingProvider<>(provider1, injector);
                 }
+                if (injector.isFrozen()) {
+                    // frozen injector can't register a new binding, so use the provider as is
+                    return provider1.get();
+                }
                 injector.putBinding((Key) providerKey, provider1);
             }
             // get existing provider
@@ -85,7 +89,16 @@ public abstract class DICollectionBuilder<K, E> implements ScopeBuilder {
         if (!injector.hasProvider(key)) {
             injector.putBinding(key, (Provider<SubT>) null);
         }
-        return () -> injector.getInstance(key);
+        return new ElementProvider<>(() -> injector.getInstance(key), key);
+    }
+
+    /**
+     * Returns whether the collection element provider always returns the same object, i.e. it is either an instance
+     * or a key bound as a singleton. Custom providers are not considered singletons.
+     */
+    static boolean isSingletonElement(DefaultInjector injector, Provider<?> provider) {
+        return provider instanceof ElementProvider<?> element
+                && (element.key == null || injector.isSingleton(element.key));
     }
 
     @Override
@@ -107,4 +120,23 @@ public abstract class DICollectionBuilder<K, E> implements ScopeBuilder {
     public void initOnStartup() {
         injector.markForEarlySetup(bindingKey);
     }
+
+    /**
+     * A collection element provider that remembers the element key, if any.
+     */
+    static class ElementProvider<E> implements Provider<E> {
+
+        private final Provider<E> delegate;
+        private final Key<? extends E> key;
+
+        ElementProvider(Provider<E> delegate, Key<? extends E> key) {
+            this.delegate = delegate;
+            this.key = key;
+        }
+
+        @Override
+        public E get() {
+            return delegate.get();
+        }
+    }
 }
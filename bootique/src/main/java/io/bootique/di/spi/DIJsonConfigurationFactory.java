@@ -21,6 +21,7 @@ package io.bootique.di.spi;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.bootique.config.jackson.JsonConfigurationFactory;
+import io.bootique.config.jackson.JsonConfigurationFactory.Memoization;
 import io.bootique.jackson.JacksonService;
 
 import java.util.Collection;
@@ -39,6 +40,17 @@ public class DIJsonConfigurationFactory extends JsonConfigurationFactory {
             JsonNode rootConfigNode,
             DefaultInjector injector,
             Collection<Class<?>> injectionEnabledTypes) {
+        return of(rootConfigNode, injector, injectionEnabledTypes, Memoization.NONE);
+    }
+
+    /**
+     * @since 4.0
+     */
+    public static DIJsonConfigurationFactory of(
+            JsonNode rootConfigNode,
+            DefaultInjector injector,
+            Collection<Class<?>> injectionEnabledTypes,
+            Memoization memoization) {
 
         DIJacksonBridgeModule jacksonBridge = new DIJacksonBridgeModule(injector, injectionEnabledTypes);
 
@@ -46,15 +58,26 @@ public class DIJsonConfigurationFactory extends JsonConfigurationFactory {
         ObjectMapper mapper = injector.getInstance(JacksonService.class).newObjectMapper();
         mapper.registerModule(jacksonBridge);
 
-        return new DIJsonConfigurationFactory(rootConfigNode, mapper, jacksonBridge);
+        return new DIJsonConfigurationFactory(rootConfigNode, mapper, jacksonBridge, memoization);
     }
 
     protected DIJsonConfigurationFactory(
             JsonNode rootConfigNode,
             ObjectMapper objectMapper,
             DIJacksonBridgeModule jacksonBridge) {
+        this(rootConfigNode, objectMapper, jacksonBridge, Memoization.NONE);
+    }
+
+    /**
+     * @since 4.0
+     */
+    protected DIJsonConfigurationFactory(
+            JsonNode rootConfigNode,
+            ObjectMapper objectMapper,
+            DIJacksonBridgeModule jacksonBridge,
+            Memoization memoization) {
 
-        super(rootConfigNode, objectMapper);
+        super(rootConfigNode, objectMapper, memoization);
         this.jacksonBridge = jacksonBridge;
     }
 
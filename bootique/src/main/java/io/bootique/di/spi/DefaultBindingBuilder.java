@@ -24,11 +24,14 @@ import io.bootique.di.Key;
 import io.bootique.di.Scope;
 import jakarta.inject.Provider;
 
+import java.util.Collection;
+
 class DefaultBindingBuilder<T> implements BindingBuilder<T> {
 
     protected final DefaultInjector injector;
     protected final Key<T> bindingKey;
     protected volatile Key<? extends T> implementationKey;
+    protected volatile boolean lazy;
 
     DefaultBindingBuilder(Key<T> bindingKey, DefaultInjector injector) {
         this.injector = injector;
@@ -45,6 +48,11 @@ class DefaultBindingBuilder<T> implements BindingBuilder<T> {
 
     protected void addBinding(Provider<T> provider) {
         injector.putBinding(bindingKey, provider);
+
+        // "lazy()" may have been called before the binding target was set
+        if (lazy) {
+            injector.makeBindingLazy(bindingKey);
+        }
     }
 
     @Override
@@ -64,10 +72,7 @@ class DefaultBindingBuilder<T> implements BindingBuilder<T> {
         if(!bindingKey.equals(key)) {
             implementationKey = key;
             injector.putBinding(implementationKey, (Provider) null);
-            addBinding(() -> {
-                injector.trace(() -> "Target implementation is " + implementationKey);
-                return injector.getProvider(implementationKey).get();
-            });
+            addBinding(new ImplementationProvider());
         }
         return this;
     }
@@ -89,7 +94,7 @@ class DefaultBindingBuilder<T> implements BindingBuilder<T> {
     public BindingBuilder<T> toProvider(Class<? extends Provider<? extends T>> providerType) {
         // Actual provider instance is resolved lazily, so it could be bound to other implementation
         Provider<Provider<? extends T>> providerProvider = () -> {
-            injector.trace(() -> "Resolving custom provider of type " + providerType);
+            injector.trace(TraceMessage.RESOLVING_CUSTOM_PROVIDER, providerType);
             Binding<? extends Provider<? extends T>> binding = injector.getBinding(Key.get(providerType));
             if(binding != null) {
                 // get existing provider
@@ -164,4 +169,27 @@ class DefaultBindingBuilder<T> implements BindingBuilder<T> {
         }
     }
 
+    @Override
+    public BindingBuilder<T> lazy() {
+        lazy = true;
+        injector.makeBindingLazy(bindingKey);
+        return this;
+    }
+
+    /**
+     * Resolves the object via the implementation key binding.
+     */
+    private class ImplementationProvider implements Provider<T>, DependencyAwareProvider {
+
+        @Override
+        public T get() {
+            injector.trace(TraceMessage.TARGET_IMPLEMENTATION, implementationKey);
+            return injector.getProvider(implementationKey).get();
+        }
+
+        @Override
+        public void collectDependencies(Collection<Key<?>> dependencies) {
+            dependencies.add(implementationKey);
+        }
+    }
 }
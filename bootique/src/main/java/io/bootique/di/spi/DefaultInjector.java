@@ -22,11 +22,12 @@ package io.bootique.di.spi;
 import io.bootique.BQModule;
 import io.bootique.di.Binder;
 import io.bootique.di.DIRuntimeException;
-import io.bootique.di.InjectionTraceElement;
 import io.bootique.di.Injector;
 import io.bootique.di.Key;
+import io.bootique.di.ProvisionStats;
 import io.bootique.di.Scope;
 import io.bootique.log.BootLogger;
+import io.bootique.profile.StartupProfiler;
 import jakarta.inject.Provider;
 
 import java.lang.reflect.InvocationHandler;
@@ -35,13 +36,16 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Supplier;
 
 /**
  * A default implementations of a DI injector.
@@ -54,10 +58,31 @@ public class DefaultInjector implements Injector {
         DISABLE_DYNAMIC_BINDINGS,
         ENABLE_METHOD_INJECTION,
         DISABLE_TRACE,
-        DISABLE_PROXY
-    }
-
-    private final DefaultScope singletonScope;
+        DISABLE_PROXY,
+
+        /**
+         * @since 4.0
+         */
+        ENABLE_FAST_REFLECTION,
+
+        /**
+         * Initialize independent early setup singletons concurrently.
+         *
+         * @since 4.0
+         */
+        PARALLEL_EARLY_SETUP,
+
+        /**
+         * Collect per-binding provisioning statistics.
+         *
+         * @since 4.0
+         */
+        ENABLE_PROVISION_STATS
+    }
+
+    private final DefaultInjector parent;
+    private final Set<Options> options;
+    private final SingletonScope singletonScope;
     private final Scope noScope;
     private final Scope defaultScope;
 
@@ -65,26 +90,37 @@ public class DefaultInjector implements Injector {
     private final Map<Key<?>, Decoration<?>> decorations;
     private final InjectionStack injectionStack;
     private final InjectionTrace injectionTrace;
+    private final ProvisionStatsCollector provisionStats;
     private final InjectorPredicates predicates;
+    private final Invokers invokers;
     private final Set<Key<?>> earlySetupSet;
     private final Map<Class<?>, List<Key<?>>> keysByRawType;
+    private final Map<Class<?>, InjectionPlan<?>> injectionPlans;
 
     private final boolean allowDynamicBinding;
     private final boolean allowOverride;
     private final boolean allowMethodInjection;
     private final boolean injectionTraceEnabled;
     private final boolean allowProxyCreation;
+    private final boolean parallelEarlySetup;
 
     private volatile boolean isShutdown;
+    private volatile FrozenBindings frozenBindings;
 
     DefaultInjector(BQModule... modules) {
         this(Collections.emptySet(), new InjectorPredicates(), modules);
     }
 
     public DefaultInjector(Set<Options> options, InjectorPredicates predicates, BQModule... modules) {
+        this(null, options, predicates, modules);
+    }
+
+    private DefaultInjector(DefaultInjector parent, Set<Options> options, InjectorPredicates predicates, BQModule... modules) {
+        this.parent = parent;
+        this.options = options.isEmpty() ? EnumSet.noneOf(Options.class) : EnumSet.copyOf(options);
         this.predicates = predicates;
 
-        this.singletonScope = new DefaultScope();
+        this.singletonScope = new SingletonScope();
         this.noScope = NoScope.INSTANCE;
         this.defaultScope = options.contains(Options.SINGLETON_SCOPE_BY_DEFAULT) ? singletonScope : noScope;
 
@@ -93,13 +129,17 @@ public class DefaultInjector implements Injector {
         this.allowMethodInjection = options.contains(Options.ENABLE_METHOD_INJECTION);
         this.injectionTraceEnabled = !options.contains(Options.DISABLE_TRACE);
         this.allowProxyCreation = !options.contains(Options.DISABLE_PROXY);
+        this.parallelEarlySetup = options.contains(Options.PARALLEL_EARLY_SETUP);
 
         this.bindings = new ConcurrentHashMap<>();
         this.decorations = new ConcurrentHashMap<>();
         this.injectionStack = new InjectionStack();
         this.injectionTrace = injectionTraceEnabled ? new InjectionTrace() : null;
+        this.provisionStats = options.contains(Options.ENABLE_PROVISION_STATS) ? new ProvisionStatsCollector() : null;
         this.earlySetupSet = Collections.newSetFromMap(new ConcurrentHashMap<>());
         this.keysByRawType = new ConcurrentHashMap<>();
+        this.injectionPlans = new ConcurrentHashMap<>();
+        this.invokers = new Invokers(options.contains(Options.ENABLE_FAST_REFLECTION));
 
         Binder binder = new DefaultBinder(this);
 
@@ -111,13 +151,52 @@ public class DefaultInjector implements Injector {
             ProvidesHandler providesHandler = new ProvidesHandler(this);
 
             for (BQModule module : modules) {
-                module.configure(binder);
-                providesHandler.bindingsFromAnnotatedMethods(module);
+                try (StartupProfiler.Span span = StartupProfiler.span("configure", module.getClass())) {
+                    module.configure(binder);
+                    providesHandler.bindingsFromAnnotatedMethods(module);
+                }
             }
         }
 
-        applyDecorators();
-        earlySetup();
+        try (StartupProfiler.Span span = StartupProfiler.span("apply decorators")) {
+            applyDecorators();
+        }
+
+        try (StartupProfiler.Span span = StartupProfiler.span("early setup")) {
+            earlySetup();
+        }
+
+        // with no dynamic bindings, the set of bindings is final once the injector is created
+        if (!allowDynamicBinding) {
+            freeze();
+        }
+    }
+
+    /**
+     * Creates a child injector configured with the provided modules. Child bindings take precedence over the
+     * bindings of this injector, and the keys not bound in the child are resolved by this injector, so the child
+     * shares the singletons of this injector. Set and map bindings extended in the child include the elements of the
+     * same bindings of this injector. The child uses the same options as this injector and has its own singleton
+     * scope, so shutting it down doesn't affect this injector.
+     *
+     * @since 4.0
+     */
+    @Override
+    public Injector createChild(BQModule... modules) {
+        if (isShutdown) {
+            throwException("Injector is shutdown");
+        }
+
+        return new DefaultInjector(this, options, predicates, modules);
+    }
+
+    /**
+     * Returns a parent injector if this is a child injector, or null.
+     *
+     * @since 4.0
+     */
+    DefaultInjector getParent() {
+        return parent;
     }
 
     InjectionStack getInjectionStack() {
@@ -128,13 +207,28 @@ public class DefaultInjector implements Injector {
         return predicates;
     }
 
+    Invokers getInvokers() {
+        return invokers;
+    }
+
+    /**
+     * Returns cached constructor and member injection metadata for a given class.
+     */
+    @SuppressWarnings("unchecked")
+    <T> InjectionPlan<T> getInjectionPlan(Class<T> type) {
+        return (InjectionPlan<T>) injectionPlans.computeIfAbsent(type, t -> new InjectionPlan<>(t, this));
+    }
+
     @SuppressWarnings("unchecked")
     <T> Binding<T> getBinding(Key<T> key) {
         if (isShutdown) {
             throwException("Injector is shutdown");
         }
+        Objects.requireNonNull(key, "Null key");
+
         // may return null - this is intentionally allowed in this non-public method
-        return (Binding<T>) bindings.get(Objects.requireNonNull(key, "Null key"));
+        FrozenBindings frozen = this.frozenBindings;
+        return frozen != null ? frozen.get(key) : (Binding<T>) bindings.get(key);
     }
 
     <T> void putBinding(Key<T> bindingKey, Provider<T> provider) {
@@ -149,9 +243,7 @@ public class DefaultInjector implements Injector {
      * Override existing binding, will throw if no binding exists for given key.
      */
     <T> void overrideBinding(Key<T> bindingKey, Provider<T> provider) {
-        if (isShutdown) {
-            throwException("Injector is shutdown");
-        }
+        checkMutable();
         Binding<T> binding = new Binding<>(bindingKey, wrapProvider(bindingKey, provider), defaultScope, false);
         Binding<?> oldBinding = bindings.put(bindingKey, binding);
         if (oldBinding == null) {
@@ -160,9 +252,7 @@ public class DefaultInjector implements Injector {
     }
 
     <T> void putBinding(Key<T> bindingKey, Binding<T> binding) {
-        if (isShutdown) {
-            throwException("Injector is shutdown");
-        }
+        checkMutable();
         Binding<?> oldBinding = bindings.put(bindingKey, binding);
         if (oldBinding == null) {
             keysByRawType.computeIfAbsent(bindingKey.getType().getRawType(), type -> new ArrayList<>(1))
@@ -193,9 +283,7 @@ public class DefaultInjector implements Injector {
 
     @SuppressWarnings("unchecked")
     private <T> Decoration<T> getDecoration(Key<T> bindingKey) {
-        if (isShutdown) {
-            throwException("Injector is shutdown");
-        }
+        checkMutable();
         return (Decoration<T>) decorations.computeIfAbsent(bindingKey, bk -> new Decoration<>());
     }
 
@@ -212,6 +300,7 @@ public class DefaultInjector implements Injector {
             scope = noScope;
         }
 
+        checkMutable();
         Binding<?> binding = bindings.get(bindingKey);
         if (binding == null) {
             throwException("No existing binding for key " + bindingKey);
@@ -221,6 +310,21 @@ public class DefaultInjector implements Injector {
         binding.changeScope(scope);
     }
 
+    <T> void makeBindingLazy(Key<T> bindingKey) {
+        checkMutable();
+        Binding<?> binding = bindings.get(bindingKey);
+        if (binding == null) {
+            throwException("No existing binding for key " + bindingKey);
+            return;
+        }
+
+        if (!bindingKey.getType().getRawType().isInterface()) {
+            throwException("Lazy binding requires an interface type, got %s", bindingKey);
+        }
+
+        binding.makeLazy();
+    }
+
     @Override
     public <T> T getInstance(Key<T> key) {
         return getInstanceWithCycleProtection(key, false);
@@ -257,31 +361,39 @@ public class DefaultInjector implements Injector {
         if (!bindingClass.isInterface()) {
             return null;
         }
-        InvocationHandler handler = new ProxyInvocationHandler<>(this, key);
+        InvocationHandler handler = new ProxyInvocationHandler<>(() -> getInstanceWithCycleProtection(key, true), false);
         T proxyInstance = (T) Proxy.newProxyInstance(bindingClass.getClassLoader(), new Class<?>[]{bindingClass}, handler);
-        trace(() -> "Create proxy for binding " + key);
+        trace(TraceMessage.CREATE_PROXY, key);
         return proxyInstance;
     }
 
     @Override
     public <T> Provider<T> getProvider(Key<T> key) throws DIRuntimeException {
         Binding<T> binding = getBinding(key);
+        if (binding == null && parent != null && parent.hasProvider(key)) {
+            return parent.getProvider(key);
+        }
+
         if (binding == null || binding.getOriginal() == null) {
             binding = createDynamicBinding(key);
         }
 
-        return predicates.wrapProvider(binding.getScoped());
+        return predicates.wrapProvider(binding.getResolved());
     }
 
     @Override
     public boolean hasProvider(Key<?> key) {
-        return getBinding(key) != null;
+        return getBinding(key) != null || (parent != null && parent.hasProvider(key));
     }
 
     @Override
     public boolean isSingleton(Key<?> key) {
         Binding<?> binding = getBinding(key);
         if (binding == null) {
+            if (parent != null && parent.hasProvider(key)) {
+                return parent.isSingleton(key);
+            }
+
             throw new DIRuntimeException("Non-existing binding: %s", key);
         }
 
@@ -290,6 +402,17 @@ public class DefaultInjector implements Injector {
 
     @SuppressWarnings("unchecked")
     private <T> Binding<T> createDynamicBinding(Key<T> key) {
+        FrozenBindings frozen = this.frozenBindings;
+        if (frozen != null) {
+            Binding<T> binding = frozen.get(key);
+            if (binding == null) {
+                return throwException("DI container has no binding for key %s and it is frozen.", key);
+            }
+
+            // an incomplete binding that failed to resolve on freeze, it can't be stored, so let it fail again
+            return binding.getOriginal() != null ? binding : createImplicitBinding(key, binding);
+        }
+
         // Compute new bindings for given key
         return (Binding<T>) bindings.compute(key, (k, oldBinding) -> {
             if (oldBinding == null && !allowDynamicBinding) {
@@ -300,18 +423,85 @@ public class DefaultInjector implements Injector {
                 return oldBinding;
             }
 
-            Class<T> implementation = (Class<T>) key.getType().getRawType();
-            Provider<T> provider = new ConstructorInjectingProvider<>(implementation, this);
+            return createImplicitBinding(key, (Binding<T>) oldBinding);
+        });
+    }
+
+    /**
+     * Creates a binding to a constructor of the key type, optionally completing an incomplete binding that has no
+     * provider (e.g. {@code binder.bind(MyClass.class);}).
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Binding<T> createImplicitBinding(Key<T> key, Binding<T> incompleteBinding) {
+        Class<T> implementation = (Class<T>) key.getType().getRawType();
+        Provider<T> provider = new ConstructorInjectingProvider<>(implementation, this);
+
+        Scope scope = defaultScope;
+        if (incompleteBinding != null && incompleteBinding.getScope() != defaultScope) {
+            scope = incompleteBinding.getScope();
+        } else if (getPredicates().isSingleton(implementation)) {
+            scope = singletonScope;
+        }
+
+        return new Binding<>(key, wrapInMemberInjectionProviders(key, provider), scope, false);
+    }
+
+    /**
+     * Compacts the injector bindings into an immutable lookup table and releases the state that is only needed
+     * while the injector is being configured. After this call any attempt to add or change bindings, including
+     * dynamic bindings, will throw.
+     * Called automatically when the injector is created with dynamic bindings disabled, as in this case the set of
+     * bindings can't change anyway.
+     *
+     * @since 4.0
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public synchronized void freeze() {
+        if (isShutdown) {
+            throwException("Injector is shutdown");
+        }
+
+        if (frozenBindings != null) {
+            return;
+        }
 
-            Scope scope = defaultScope;
-            if (oldBinding != null && oldBinding.getScope() != defaultScope) {
-                scope = oldBinding.getScope();
-            } else if (getPredicates().isSingleton(implementation)) {
-                scope = singletonScope;
+        Map<Key<?>, Binding<?>> completeBindings = new HashMap<>(bindings);
+        for (Entry<Key<?>, Binding<?>> e : completeBindings.entrySet()) {
+            Binding binding = e.getValue();
+            if (binding.getOriginal() == null) {
+                try {
+                    e.setValue(createImplicitBinding(e.getKey(), binding));
+                } catch (RuntimeException ex) {
+                    // keep the incomplete binding to report the same error when (and if) it is requested
+                }
             }
+        }
 
-            return new Binding<>(key, wrapInMemberInjectionProviders(key, provider), scope, false);
-        });
+        this.frozenBindings = new FrozenBindings(completeBindings);
+
+        bindings.clear();
+        decorations.clear();
+        earlySetupSet.clear();
+        keysByRawType.clear();
+    }
+
+    /**
+     * Returns whether this injector was {@link #freeze() frozen}, so that its bindings can no longer be changed.
+     *
+     * @since 4.0
+     */
+    public boolean isFrozen() {
+        return frozenBindings != null;
+    }
+
+    private void checkMutable() {
+        if (isShutdown) {
+            throwException("Injector is shutdown");
+        }
+
+        if (frozenBindings != null) {
+            throwException("Injector is frozen, its bindings can't be changed");
+        }
     }
 
     private <T> Provider<T> wrapInMemberInjectionProviders(Key<T> key, Provider<T> provider) {
@@ -337,21 +527,65 @@ public class DefaultInjector implements Injector {
         }
         isShutdown = true;
         singletonScope.shutdown();
+        frozenBindings = null;
         bindings.clear();
         decorations.clear();
         injectionStack.reset();
+        if (provisionStats != null) {
+            provisionStats.reset();
+        }
         keysByRawType.clear();
+        injectionPlans.clear();
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public <T> Collection<Key<T>> getKeysByType(Class<T> type) {
-        return (List) keysByRawType.getOrDefault(type, Collections.emptyList());
+        FrozenBindings frozen = this.frozenBindings;
+        List<Key<T>> keys = frozen != null
+                ? (List) frozen.keysByRawType(type)
+                : (List) keysByRawType.getOrDefault(type, Collections.emptyList());
+
+        if (parent == null) {
+            return keys;
+        }
+
+        Set<Key<T>> merged = new LinkedHashSet<>(keys);
+        merged.addAll(parent.getKeysByType(type));
+        return List.copyOf(merged);
     }
 
     @Override
     public Set<Key<?>> getKeys() {
-        return Set.copyOf(bindings.keySet());
+        FrozenBindings frozen = this.frozenBindings;
+        Set<Key<?>> keys = frozen != null ? frozen.keys() : Set.copyOf(bindings.keySet());
+
+        if (parent == null) {
+            return keys;
+        }
+
+        Set<Key<?>> merged = new HashSet<>(keys);
+        merged.addAll(parent.getKeys());
+        return Set.copyOf(merged);
+    }
+
+    @Override
+    public List<ProvisionStats> getProvisionStats() {
+        return provisionStats != null ? provisionStats.snapshot(this::scopeLabel) : List.of();
+    }
+
+    private String scopeLabel(Key<?> key) {
+        Binding<?> binding = isShutdown ? null : getBinding(key);
+        if (binding == null) {
+            return null;
+        }
+
+        Scope scope = binding.getScope();
+        if (scope == singletonScope) {
+            return "singleton";
+        }
+
+        return scope == noScope ? "none" : scope.getClass().getSimpleName();
     }
 
     @Override
@@ -360,7 +594,7 @@ public class DefaultInjector implements Injector {
         // future
     }
 
-    DefaultScope getSingletonScope() {
+    SingletonScope getSingletonScope() {
         return singletonScope;
     }
 
@@ -386,14 +620,32 @@ public class DefaultInjector implements Injector {
 
             Binding b = bindings.get(e.getKey());
             if (b == null) {
-                // TODO: print warning - decorator of a non-existing service..
-                continue;
+                if (parent == null || !parent.hasProvider(e.getKey())) {
+                    // TODO: print warning - decorator of a non-existing service..
+                    continue;
+                }
+
+                // decorating a service of the parent injector, that must remain undecorated in the parent
+                b = bindParentService(e.getKey());
             }
 
             b.decorate(this, e.getValue());
         }
     }
 
+    /**
+     * Creates a local binding delegating to the parent injector. Singletons of the parent remain singletons in this
+     * injector, so that the decorated object is created once per child.
+     */
+    private <T> Binding<T> bindParentService(Key<T> key) {
+        Provider<T> parentProvider = () -> parent.getProvider(key).get();
+        Scope scope = parent.isSingleton(key) ? singletonScope : noScope;
+
+        Binding<T> binding = new Binding<>(key, wrapProvider(key, parentProvider), scope, false);
+        putBinding(key, binding);
+        return binding;
+    }
+
     void markForEarlySetup(Key<?> key) {
         changeBindingScope(key, getSingletonScope());
         earlySetupSet.add(key);
@@ -403,27 +655,66 @@ public class DefaultInjector implements Injector {
      * Init all services that a marked for early setup
      */
     private void earlySetup() {
-        earlySetupSet.forEach(this::getInstance);
+        if (parallelEarlySetup) {
+            new ParallelEarlySetup(this).setup(earlySetupSet);
+        } else {
+            earlySetupSet.forEach(this::getInstance);
+        }
         earlySetupSet.clear();
     }
 
     /**
-     * Wraps provider in traceable provider if trace is enabled
+     * Wraps provider in traceable provider if trace is enabled, and in a statistics collecting provider if statistics
+     * are enabled
      */
     <T> Provider<T> wrapProvider(Key<T> key, Provider<T> provider) {
-        if (!injectionTraceEnabled || provider == null) {
-            return provider;
+        if (provider == null) {
+            return null;
+        }
+
+        if (provisionStats != null) {
+            provider = provisionStats.wrap(key, provider);
+        }
+
+        return injectionTraceEnabled ? new TraceableProvider<>(key, provider, this) : provider;
+    }
+
+    /**
+     * Returns a provider passed to {@link #wrapProvider(Key, Provider)}, removing all the wrappers added by it.
+     */
+    @SuppressWarnings("unchecked")
+    <T, P extends Provider<T>> P unwrapProvider(Provider<T> provider) {
+        if (provider instanceof TraceableProvider<T> traceable) {
+            provider = traceable.unwrap();
+        }
+
+        if (provisionStats != null) {
+            provider = provisionStats.unwrap(provider);
         }
 
-        return new TraceableProvider<>(key, provider, this);
+        return (P) provider;
     }
 
     /**
-     * @param messageSupplier trace message supplier
+     * Records a message for the currently resolving key. The message is only formatted if an exception is thrown.
+     *
+     * @param message precomputed trace message
+     * @param context an object the message refers to
      */
-    void trace(Supplier<String> messageSupplier) {
+    void trace(TraceMessage message, Object context) {
+        trace(message, context, 0);
+    }
+
+    /**
+     * Records a message for the currently resolving key. The message is only formatted if an exception is thrown.
+     *
+     * @param message  precomputed trace message
+     * @param context  an object the message refers to
+     * @param argument an extra int argument of the message, e.g. an argument index
+     */
+    void trace(TraceMessage message, Object context, int argument) {
         if (injectionTraceEnabled) {
-            injectionTrace.updateMessage(messageSupplier);
+            injectionTrace.updateMessage(message, context, argument);
         }
     }
 
@@ -508,14 +799,7 @@ public class DefaultInjector implements Injector {
             return ex;
         }
 
-        InjectionTraceElement[] traceElements = new InjectionTraceElement[injectionTrace.size()];
-        InjectionTraceElement element;
-        int i = 0;
-        while ((element = injectionTrace.pop()) != null) {
-            traceElements[i++] = element;
-        }
-
-        ex.setInjectionTrace(traceElements);
+        ex.setInjectionTrace(injectionTrace.drain());
         return ex;
     }
 
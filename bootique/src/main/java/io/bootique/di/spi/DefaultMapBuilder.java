@@ -26,6 +26,8 @@ import jakarta.inject.Provider;
 
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 // TODO: current implementation does nothing in case of overriding the key
 class DefaultMapBuilder<K, V> extends DICollectionBuilder<Map<K, V>, V> implements MapBuilder<K, V> {
@@ -81,19 +83,45 @@ class DefaultMapBuilder<K, V> extends DICollectionBuilder<Map<K, V>, V> implemen
         return this;
     }
 
+    @Override
+    public MapBuilder<K, V> snapshot() {
+        findOrCreateMapProvider().setSnapshot();
+        return this;
+    }
+
+    @Override
+    public MapBuilder<K, V> lazyElements() {
+        findOrCreateMapProvider().setLazyElements();
+        return this;
+    }
+
+    @Override
+    public MapBuilder<K, V> parallel() {
+        findOrCreateMapProvider().setParallel(null);
+        return this;
+    }
+
+    @Override
+    public MapBuilder<K, V> parallel(Executor executor) {
+        findOrCreateMapProvider().setParallel(Objects.requireNonNull(executor));
+        return this;
+    }
+
     private MapProvider<K, V> findOrCreateMapProvider() {
         MapProvider<K, V> provider;
 
         Binding<Map<K, V>> binding = injector.getBinding(bindingKey);
         if (binding == null) {
             provider = new MapProvider<>(injector);
+
+            DefaultInjector parent = injector.getParent();
+            if (parent != null && parent.hasProvider(bindingKey)) {
+                provider.setParent(parent, bindingKey);
+            }
+
             injector.putBinding(bindingKey, provider);
         } else {
-            if (injector.isInjectionTraceEnabled()) {
-                provider = ((TraceableProvider<Map<K, V>>) binding.getOriginal()).unwrap();
-            } else {
-                provider = (MapProvider<K, V>) binding.getOriginal();
-            }
+            provider = injector.unwrapProvider(binding.getOriginal());
         }
 
         return provider;
@@ -24,11 +24,9 @@ import io.bootique.di.Scope;
 import jakarta.inject.Provider;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -37,8 +35,6 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  */
 public class DefaultScope implements Scope {
 
-    private static final String SPECIAL_EVENT = AfterScopeEnd.class.getName();
-
     protected final Collection<Class<? extends Annotation>> eventTypes;
     protected final Map<String, Collection<ScopeEventBinding>> listeners;
 
@@ -81,18 +77,20 @@ public class DefaultScope implements Scope {
      */
     public void addScopeEventListener(Object object) {
 
-        // TODO: cache metadata for non-singletons scopes for performance
+        ScopeEventHandlers handlers = ScopeEventHandlers.of(object.getClass());
+        if (handlers.isEmpty()) {
+            return;
+        }
 
-        // 'getMethods' grabs public method from the class and its superclasses...
-        for (Method method : object.getClass().getMethods()) {
+        for (ScopeEventHandlers.Handler handler : handlers.getHandlers()) {
 
             for (Class<? extends Annotation> annotationType : eventTypes) {
 
-                if (method.isAnnotationPresent(annotationType)) {
+                if (handler.handles(annotationType)) {
                     String typeName = annotationType.getName();
 
                     Collection<ScopeEventBinding> eventListeners = listeners.get(typeName);
-                    eventListeners.add(new ScopeEventBinding(object, method));
+                    eventListeners.add(new ScopeEventBinding(object, handler));
                 }
             }
         }
@@ -100,20 +98,27 @@ public class DefaultScope implements Scope {
 
     public void removeScopeEventListener(Object object) {
 
-        // TODO: 2 level-deep full scan will not be very efficient for short scopes. Right
-        // now this would only affect the unit test scope, but if we start creating the
-        // likes of HTTP request scope, we may need to create a faster listener
-        // removal algorithm.
+        // objects with no annotated methods were never registered
+        ScopeEventHandlers handlers = ScopeEventHandlers.of(object.getClass());
+        if (handlers.isEmpty()) {
+            return;
+        }
 
-        for (Entry<String, Collection<ScopeEventBinding>> entry : listeners.entrySet()) {
+        // only scan the queues of the events that the object handles. Still a linear scan, but it is only done for
+        // long-lived scopes. Short scopes (e.g. per-request) should use TaskScope that drops all its listeners at once.
+        for (Class<? extends Annotation> annotationType : eventTypes) {
 
-            if (SPECIAL_EVENT.equals(entry.getKey())) {
+            if (annotationType == AfterScopeEnd.class) {
                 // no scanning and removal of Scope providers ...
-                // for faster scan skip those
                 continue;
             }
 
-            entry.getValue().removeIf(binding -> binding.getObject() == object);
+            for (ScopeEventHandlers.Handler handler : handlers.getHandlers()) {
+                if (handler.handles(annotationType)) {
+                    listeners.get(annotationType.getName()).removeIf(binding -> binding.getObject() == object);
+                    break;
+                }
+            }
         }
     }
 
@@ -24,7 +24,9 @@ import io.bootique.di.SetBuilder;
 import jakarta.inject.Provider;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 class DefaultSetBuilder<T> extends DICollectionBuilder<Set<T>, T> implements SetBuilder<T> {
 
@@ -72,19 +74,45 @@ class DefaultSetBuilder<T> extends DICollectionBuilder<Set<T>, T> implements Set
         return this;
     }
 
+    @Override
+    public SetBuilder<T> snapshot() {
+        findOrCreateSetProvider().setSnapshot();
+        return this;
+    }
+
+    @Override
+    public SetBuilder<T> lazyElements() {
+        findOrCreateSetProvider().setLazyElements();
+        return this;
+    }
+
+    @Override
+    public SetBuilder<T> parallel() {
+        findOrCreateSetProvider().setParallel(null);
+        return this;
+    }
+
+    @Override
+    public SetBuilder<T> parallel(Executor executor) {
+        findOrCreateSetProvider().setParallel(Objects.requireNonNull(executor));
+        return this;
+    }
+
     private SetProvider<T> findOrCreateSetProvider() {
 
         SetProvider<T> provider;
         Binding<Set<T>> binding = injector.getBinding(bindingKey);
         if (binding == null) {
             provider = new SetProvider<>(injector, bindingKey);
+
+            DefaultInjector parent = injector.getParent();
+            if (parent != null && parent.hasProvider(bindingKey)) {
+                provider.setParent(parent);
+            }
+
             injector.putBinding(bindingKey, provider);
         } else {
-            if (injector.isInjectionTraceEnabled()) {
-                provider = ((TraceableProvider<Set<T>>) binding.getOriginal()).unwrap();
-            } else {
-                provider = (SetProvider<T>) binding.getOriginal();
-            }
+            provider = injector.unwrapProvider(binding.getOriginal());
         }
 
         return provider;
@@ -0,0 +1,39 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import java.util.Collection;
+
+/**
+ * A provider that can report keys of the objects it depends on without creating anything. Used to plan parallel
+ * early setup of singletons.
+ *
+ * @since 4.0
+ */
+interface DependencyAwareProvider {
+
+    /**
+     * Adds keys of the direct dependencies of this provider to the collection, including the keys injected as
+     * Providers, as those may be resolved right away.
+     */
+    void collectDependencies(Collection<Key<?>> dependencies);
+}
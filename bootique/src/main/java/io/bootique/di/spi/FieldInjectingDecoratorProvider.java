@@ -19,10 +19,9 @@
 
 package io.bootique.di.spi;
 
-import io.bootique.di.TypeLiteral;
+import io.bootique.di.spi.InjectionPlan.Dependency;
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 
 class FieldInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
@@ -43,26 +42,26 @@ class FieldInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
         return new FieldInjectingProvider<T>(delegate.get(undecorated), injector) {
 
             @Override
-            protected Object value(Field field, TypeLiteral<?> fieldType, Annotation bindingAnnotation) {
+            protected Object value(Field field, Dependency dependency) {
                 // delegate (possibly) injected as Provider
-                if (injector.getPredicates().isProviderType(fieldType.getRawType())) {
+                if (dependency.isProvider()) {
 
                     Class<?> objectClass = GenericTypesUtils.parameterClass(field.getGenericType());
 
                     if (objectClass == null) {
                         return injector.throwException("Provider field %s.%s of type %s must be "
                                 + "parameterized to be usable for injection", field.getDeclaringClass().getName(),
-                                field.getName(), fieldType.getRawType().getName());
+                                field.getName(), dependency.getRawType().getName());
                     }
 
                     if(objectClass.isAssignableFrom(implementation)) {
                         return undecorated;
                     }
-                } else if (fieldType.getRawType().isAssignableFrom(implementation)) {
+                } else if (dependency.getRawType().isAssignableFrom(implementation)) {
                     return undecorated.get();
                 }
 
-                return super.value(field, fieldType, bindingAnnotation);
+                return super.value(field, dependency);
             }
         };
     }
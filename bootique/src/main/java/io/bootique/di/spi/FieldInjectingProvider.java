@@ -20,16 +20,13 @@
 package io.bootique.di.spi;
 
 import io.bootique.di.Key;
-import io.bootique.di.TypeLiteral;
+import io.bootique.di.spi.InjectionPlan.Dependency;
+import io.bootique.di.spi.InjectionPlan.InjectableField;
+import io.bootique.di.spi.Invokers.FieldSetter;
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.Type;
-import java.lang.reflect.TypeVariable;
-import java.util.function.Predicate;
+import java.util.Collection;
 
 class FieldInjectingProvider<T> extends MemberInjectingProvider<T> {
 
@@ -39,75 +36,46 @@ class FieldInjectingProvider<T> extends MemberInjectingProvider<T> {
 
     @Override
     protected void injectMembers(T object, Class<?> type) {
-
-        // bail on recursion stop condition
-        if (type == Object.class) {
-            return;
+        for (InjectableField field : injector.getInjectionPlan(type).getFields()) {
+            injectMember(object, field.getField(), field.getSetter(), field.getDependency());
         }
+    }
 
-        injectMembers(object, type.getSuperclass());
-
-        Predicate<AccessibleObject> injectPredicate = injector.getPredicates().getInjectPredicate();
-
-        for (Field field : type.getDeclaredFields()) {
-            if (Modifier.isStatic(field.getModifiers())) {
-                // skip static fields completely
-                continue;
-            }
-
-            if (injectPredicate.test(field)) {
-                injectMember(object, field, getQualifier(field));
+    @Override
+    void collectMemberDependencies(Class<?> type, Collection<Key<?>> dependencies) {
+        for (InjectableField field : injector.getInjectionPlan(type).getFields()) {
+            if (field.getDependency().getKey() != null) {
+                dependencies.add(field.getDependency().getKey());
             }
         }
     }
 
-    private void injectMember(Object object, Field field, Annotation bindingAnnotation) {
+    private void injectMember(Object object, Field field, FieldSetter setter, Dependency dependency) {
 
-        injector.trace(() -> "Injecting field '" + field.getName() + "' of class " + field.getDeclaringClass().getName());
+        injector.trace(TraceMessage.INJECTING_FIELD, field);
 
-        TypeLiteral<?> fieldType = getFieldType(object, field);
-        Object value = value(field, fieldType, bindingAnnotation);
+        Object value = value(field, dependency);
 
-        field.setAccessible(true);
         try {
-            field.set(object, value);
+            setter.set(object, value);
         } catch (Exception e) {
             injector.throwException("Error injecting into field %s.%s of type %s"
                     , e, field.getDeclaringClass().getName(), field.getName(), field.getType().getName());
         }
     }
 
-    protected Object value(Field field, TypeLiteral<?> fieldType, Annotation bindingAnnotation) {
+    protected Object value(Field field, Dependency dependency) {
 
-        if (injector.getPredicates().isProviderType(fieldType.getRawType())) {
-            Type parameterType = GenericTypesUtils.getGenericParameterType(field.getGenericType());
-
-            if (parameterType == null) {
+        if (dependency.isProvider()) {
+            if (dependency.getKey() == null) {
                 injector.throwException("Provider field %s.%s must be parameterized to be usable for injection"
                         , field.getDeclaringClass().getName(), field.getName());
             }
 
-            return injector.getProvider(Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
+            return injector.getProvider(dependency.getKey());
         } else {
-            Key<?> key = Key.get(fieldType, bindingAnnotation);
-            return injector.getInstanceWithCycleProtection(key, false);
-        }
-    }
-
-    private TypeLiteral<?> getFieldType(Object object, Field field) {
-        Type genericType = field.getGenericType();
-        // field is defined as some generic type that should be provided by its defining class
-        if (genericType instanceof TypeVariable) {
-            Class<?> objectClass = object.getClass();
-            TypeLiteral<?> typeLiteral = GenericTypesUtils.resolveVariableType(objectClass, field, genericType);
-            if (typeLiteral == null) {
-                return injector.throwException("Unable to resolve type parameter %s for the field %s type %s "
-                        , genericType.getTypeName(), field.getName(), objectClass.getName());
-            }
-            return typeLiteral;
+            return injector.getInstanceWithCycleProtection(dependency.getKey(), false);
         }
-
-        return TypeLiteral.of(genericType);
     }
 
     @Override
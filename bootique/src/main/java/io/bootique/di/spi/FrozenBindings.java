@@ -0,0 +1,111 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable binding table of a frozen injector. Bindings are stored in open-addressing arrays with linear probing
+ * and precomputed key hashes, so a lookup needs no locking, no node traversal and, in most cases, a single
+ * {@link Key#equals(Object)} call.
+ *
+ * @since 4.0
+ */
+class FrozenBindings {
+
+    private final Key<?>[] keys;
+    private final Binding<?>[] bindings;
+    private final int[] hashes;
+    private final int mask;
+
+    private final Set<Key<?>> keySet;
+    private final Map<Class<?>, List<Key<?>>> keysByRawType;
+
+    FrozenBindings(Map<Key<?>, Binding<?>> bindings) {
+
+        // keep the load factor at or below 0.5 to make probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(2, bindings.size()) * 2 - 1) << 1;
+
+        this.keys = new Key<?>[capacity];
+        this.bindings = new Binding<?>[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+
+        Map<Class<?>, List<Key<?>>> byType = new HashMap<>();
+        for (Map.Entry<Key<?>, Binding<?>> e : bindings.entrySet()) {
+            Key<?> key = e.getKey();
+            int hash = hash(key);
+            int i = hash & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = key;
+            this.bindings[i] = e.getValue();
+            hashes[i] = hash;
+
+            byType.computeIfAbsent(key.getType().getRawType(), t -> new ArrayList<>(1)).add(key);
+        }
+
+        byType.replaceAll((t, l) -> List.copyOf(l));
+        this.keysByRawType = Map.copyOf(byType);
+        this.keySet = Set.copyOf(bindings.keySet());
+    }
+
+    private static int hash(Key<?> key) {
+        int h = key.hashCode();
+        // spread the high bits, as the table index only uses the low ones
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Binding<T> get(Key<T> key) {
+        int hash = hash(key);
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Key<?> k = keys[i];
+            if (k == null) {
+                return null;
+            }
+
+            if (hashes[i] == hash && (k == key || k.equals(key))) {
+                return (Binding<T>) bindings[i];
+            }
+        }
+    }
+
+    int size() {
+        return keySet.size();
+    }
+
+    Set<Key<?>> keys() {
+        return keySet;
+    }
+
+    List<Key<?>> keysByRawType(Class<?> type) {
+        return keysByRawType.getOrDefault(type, Collections.emptyList());
+    }
+}
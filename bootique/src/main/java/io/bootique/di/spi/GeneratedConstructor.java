@@ -0,0 +1,40 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+/**
+ * A compile-time generated invoker of the injection constructor of a class, used by the injector instead of the
+ * reflective constructor call. Generated by the "bootique-di-processor" and registered in the
+ * "META-INF/bootique/di/generated.index" resource.
+ *
+ * @param <T> type of the created object
+ * @since 4.0
+ */
+public interface GeneratedConstructor<T> {
+
+    /**
+     * Returns erased parameter types of the constructor the class was generated for. The injector ignores the
+     * generated class if they don't match the actual constructor, e.g. if the class is left over from an earlier
+     * incremental build.
+     */
+    Class<?>[] parameterTypes();
+
+    T newInstance(Object[] arguments) throws Exception;
+}
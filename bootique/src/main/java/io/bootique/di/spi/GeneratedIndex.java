@@ -0,0 +1,129 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Locates classes generated by the "bootique-di-processor". Each class loader may contain one or more
+ * "META-INF/bootique/di/generated.index" resources with "target_class#kind=generated_class" lines, where "kind" is
+ * either "provides" or "constructor". Instances of the generated classes are created once per target class and kind,
+ * and cached.
+ */
+class GeneratedIndex {
+
+    static final String INDEX_LOCATION = "META-INF/bootique/di/generated.index";
+
+    private static final Object NOT_GENERATED = new Object();
+
+    // weak keys to avoid leaking the class loaders of the redeployed apps
+    private static final Map<ClassLoader, Map<String, String>> INDEXES = new WeakHashMap<>();
+
+    private static final ClassValue<Object> PROVIDES = generated("provides");
+    private static final ClassValue<Object> CONSTRUCTORS = generated("constructor");
+
+    private static ClassValue<Object> generated(String kind) {
+        return new ClassValue<>() {
+            @Override
+            protected Object computeValue(Class<?> type) {
+                Object instance = createGenerated(type, kind);
+                return instance != null ? instance : NOT_GENERATED;
+            }
+        };
+    }
+
+    /**
+     * Returns a generated object for a given class, or null if nothing was generated or the generated object is not
+     * of the expected type.
+     */
+    static <T> T find(Class<?> type, Class<T> generatedType) {
+        ClassValue<Object> generated = generatedType == GeneratedProvides.class ? PROVIDES : CONSTRUCTORS;
+        Object instance = generated.get(type);
+        return generatedType.isInstance(instance) ? generatedType.cast(instance) : null;
+    }
+
+    private static Object createGenerated(Class<?> type, String kind) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            return null;
+        }
+
+        String generatedName = index(loader).get(type.getName() + "#" + kind);
+        if (generatedName == null) {
+            return null;
+        }
+
+        try {
+            return Class.forName(generatedName, true, loader).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // stale index or a class compiled against a different version; fall back to reflection
+            return null;
+        }
+    }
+
+    private static Map<String, String> index(ClassLoader loader) {
+        synchronized (INDEXES) {
+            return INDEXES.computeIfAbsent(loader, GeneratedIndex::loadIndex);
+        }
+    }
+
+    private static Map<String, String> loadIndex(ClassLoader loader) {
+        Map<String, String> index = new HashMap<>();
+
+        try {
+            Enumeration<URL> urls = loader.getResources(INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                try (InputStream in = urls.nextElement().openStream()) {
+                    readIndex(in, index);
+                }
+            }
+        } catch (IOException e) {
+            // unreadable index is treated the same as a missing one
+        }
+
+        return index;
+    }
+
+    private static void readIndex(InputStream in, Map<String, String> index) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            int eq = line.indexOf('=');
+            if (eq > 0) {
+                index.put(line.substring(0, eq).trim(), line.substring(eq + 1).trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+/**
+ * A compile-time alternative to the reflective lookup of the {@link io.bootique.di.Provides} methods of a module.
+ * Implementations are generated by the "bootique-di-processor" and are registered in the
+ * "META-INF/bootique/di/generated.index" resource. The injector uses them in place of the reflection when it is
+ * configured with the standard annotation predicates.
+ *
+ * @param <M> module type
+ * @since 4.0
+ */
+public interface GeneratedProvides<M> {
+
+    void bind(M module, Binder binder);
+
+    /**
+     * Receives bindings for the provider methods of a single module.
+     */
+    interface Binder {
+
+        /**
+         * Binds a provider method.
+         *
+         * @param key               binding key of the method result
+         * @param singleton         whether the method is annotated as a singleton
+         * @param methodName        provider method name used in error messages
+         * @param argumentKeys      keys of the method arguments
+         * @param providerArguments flags of the arguments that should be passed as Providers
+         * @param invoker           calls the method
+         */
+        <T> void provides(
+                Key<T> key,
+                boolean singleton,
+                String methodName,
+                Key<?>[] argumentKeys,
+                boolean[] providerArguments,
+                Invoker<T> invoker);
+    }
+
+    @FunctionalInterface
+    interface Invoker<T> {
+        T invoke(Object[] arguments) throws Exception;
+    }
+}
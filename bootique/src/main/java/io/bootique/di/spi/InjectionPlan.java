@@ -0,0 +1,355 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import io.bootique.di.TypeLiteral;
+import io.bootique.di.spi.Invokers.ConstructorInvoker;
+import io.bootique.di.spi.Invokers.FieldSetter;
+import io.bootique.di.spi.Invokers.MethodInvoker;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Reflection metadata needed to create and inject an object of a given class. Resolved lazily once per class and
+ * cached by the injector, so that object creation only has to resolve the dependencies and assign them.
+ *
+ * @param <T> type of object described by the plan
+ */
+class InjectionPlan<T> {
+
+    private final Class<T> type;
+    private final DefaultInjector injector;
+
+    private volatile ConstructorPlan<T> constructor;
+    private volatile List<InjectableField> fields;
+    private volatile List<InjectableMethod> methods;
+
+    InjectionPlan(Class<T> type, DefaultInjector injector) {
+        this.type = type;
+        this.injector = injector;
+    }
+
+    /**
+     * Returns a constructor to use for injection, or throws if the class has no applicable constructor.
+     */
+    ConstructorPlan<T> getConstructor() {
+        ConstructorPlan<T> local = constructor;
+        if (local == null) {
+            // concurrent resolution produces equivalent plans, so no locking is needed
+            local = constructor = new ConstructorPlan<>(
+                    ConstructorInjectingProvider.findRequiredConstructor(type, injector),
+                    injector);
+        }
+        return local;
+    }
+
+    /**
+     * Returns injectable fields of the class and its superclasses, superclass fields first.
+     */
+    List<InjectableField> getFields() {
+        List<InjectableField> local = fields;
+        if (local == null) {
+            local = fields = List.copyOf(collectFields(type, new ArrayList<>()));
+        }
+        return local;
+    }
+
+    /**
+     * Returns injectable methods of the class and its superclasses, excluding overridden methods.
+     */
+    List<InjectableMethod> getMethods() {
+        List<InjectableMethod> local = methods;
+        if (local == null) {
+            local = methods = List.copyOf(collectMethods());
+        }
+        return local;
+    }
+
+    private List<InjectableField> collectFields(Class<?> declaringType, List<InjectableField> result) {
+
+        // bail on recursion stop condition
+        if (declaringType == Object.class || declaringType == null) {
+            return result;
+        }
+
+        collectFields(declaringType.getSuperclass(), result);
+
+        Predicate<AccessibleObject> injectPredicate = injector.getPredicates().getInjectPredicate();
+        for (Field field : declaringType.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                // skip static fields completely
+                continue;
+            }
+
+            if (injectPredicate.test(field)) {
+                field.setAccessible(true);
+                result.add(new InjectableField(field, injector.getInvokers().setter(field), fieldDependency(field)));
+            }
+        }
+
+        return result;
+    }
+
+    private Dependency fieldDependency(Field field) {
+        Annotation qualifier = qualifier(field.getAnnotations(), field);
+        TypeLiteral<?> fieldType = fieldType(field);
+
+        if (injector.getPredicates().isProviderType(fieldType.getRawType())) {
+            Type parameterType = GenericTypesUtils.getGenericParameterType(field.getGenericType());
+            Key<?> key = parameterType != null ? Key.get(TypeLiteral.of(parameterType), qualifier) : null;
+            return new Dependency(fieldType.getRawType(), field.getGenericType(), qualifier, key, true);
+        }
+
+        return new Dependency(fieldType.getRawType(), field.getGenericType(), qualifier, Key.get(fieldType, qualifier), false);
+    }
+
+    private TypeLiteral<?> fieldType(Field field) {
+        Type genericType = field.getGenericType();
+        // field is defined as some generic type that should be provided by its defining class
+        if (genericType instanceof TypeVariable) {
+            TypeLiteral<?> typeLiteral = GenericTypesUtils.resolveVariableType(type, field, genericType);
+            if (typeLiteral == null) {
+                return injector.throwException("Unable to resolve type parameter %s for the field %s type %s "
+                        , genericType.getTypeName(), field.getName(), type.getName());
+            }
+            return typeLiteral;
+        }
+
+        return TypeLiteral.of(genericType);
+    }
+
+    private List<InjectableMethod> collectMethods() {
+        List<InjectableMethod> result = new ArrayList<>();
+
+        Map<String, List<Method>> methods = MethodInjectingProvider.collectMethods(type, new LinkedHashMap<>());
+        for (List<Method> methodList : methods.values()) {
+            for (Method method : methodList) {
+                if (injector.getPredicates().hasInjectAnnotation(method)) {
+                    method.setAccessible(true);
+                    result.add(new InjectableMethod(method, injector.getInvokers().method(method), parameterDependencies(method)));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private Dependency[] parameterDependencies(Method method) {
+        Type[] parameterTypes = method.getGenericParameterTypes();
+        Class<?>[] parameterClasses = method.getParameterTypes();
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+
+        Dependency[] result = new Dependency[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Annotation qualifier = qualifier(parameterAnnotations[i], method);
+            result[i] = parameterDependency(parameterClasses[i], parameterTypes[i], qualifier, injector);
+        }
+
+        return result;
+    }
+
+    private Annotation qualifier(Annotation[] annotations, Member member) {
+        Annotation bindingAnnotation = null;
+        for (Annotation annotation : annotations) {
+            if (injector.getPredicates().isQualifierAnnotation(annotation)) {
+                if (bindingAnnotation != null) {
+                    injector.throwException("Found more than one qualifier annotation for '%s.%s'."
+                            , member.getDeclaringClass().getName()
+                            , member.getName());
+                }
+                bindingAnnotation = annotation;
+            }
+        }
+        return bindingAnnotation;
+    }
+
+    static Dependency parameterDependency(Class<?> parameter, Type genericType, Annotation qualifier, DefaultInjector injector) {
+        if (injector.getPredicates().isProviderType(parameter)) {
+            Type parameterType = GenericTypesUtils.getGenericParameterType(genericType);
+            Key<?> key = parameterType != null ? Key.get(TypeLiteral.of(parameterType), qualifier) : null;
+            return new Dependency(parameter, genericType, qualifier, key, true);
+        }
+
+        return new Dependency(parameter, genericType, qualifier, Key.get(TypeLiteral.of(genericType), qualifier), false);
+    }
+
+    /**
+     * A single injection point of a constructor, a method or a field.
+     */
+    static class Dependency {
+
+        private final Class<?> rawType;
+        private final Type genericType;
+        private final Annotation qualifier;
+        private final Key<?> key;
+        private final boolean provider;
+
+        Dependency(Class<?> rawType, Type genericType, Annotation qualifier, Key<?> key, boolean provider) {
+            this.rawType = rawType;
+            this.genericType = genericType;
+            this.qualifier = qualifier;
+            this.key = key;
+            this.provider = provider;
+        }
+
+        Class<?> getRawType() {
+            return rawType;
+        }
+
+        Type getGenericType() {
+            return genericType;
+        }
+
+        Annotation getQualifier() {
+            return qualifier;
+        }
+
+        /**
+         * Returns a key of the injected object. For Provider injection points this is a key of the object returned by
+         * the provider, which may be null if the Provider type is not parameterized.
+         */
+        Key<?> getKey() {
+            return key;
+        }
+
+        boolean isProvider() {
+            return provider;
+        }
+    }
+
+    static class ConstructorPlan<T> {
+
+        private final Constructor<? extends T> constructor;
+        private final ConstructorInvoker<? extends T> invoker;
+        private final Dependency[] arguments;
+
+        ConstructorPlan(Constructor<? extends T> constructor, DefaultInjector injector) {
+            this.constructor = constructor;
+            this.invoker = createInvoker(constructor, injector);
+
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Type[] genericTypes = constructor.getGenericParameterTypes();
+            Annotation[][] annotations = constructor.getParameterAnnotations();
+
+            this.arguments = new Dependency[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Annotation qualifier = null;
+                for (Annotation annotation : annotations[i]) {
+                    if (injector.getPredicates().isQualifierAnnotation(annotation)) {
+                        qualifier = annotation;
+                    }
+                }
+
+                arguments[i] = parameterDependency(parameterTypes[i], genericTypes[i], qualifier, injector);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <C> ConstructorInvoker<C> createInvoker(Constructor<C> constructor, DefaultInjector injector) {
+
+            // prefer compile-time generated invoker, if available
+            if (injector.getPredicates().isStandardAnnotations()) {
+                GeneratedConstructor<C> generated = GeneratedIndex.find(constructor.getDeclaringClass(), GeneratedConstructor.class);
+                if (generated != null && Arrays.equals(generated.parameterTypes(), constructor.getParameterTypes())) {
+                    return generated::newInstance;
+                }
+            }
+
+            return injector.getInvokers().constructor(constructor);
+        }
+
+        Constructor<? extends T> getConstructor() {
+            return constructor;
+        }
+
+        ConstructorInvoker<? extends T> getInvoker() {
+            return invoker;
+        }
+
+        Dependency[] getArguments() {
+            return arguments;
+        }
+    }
+
+    static class InjectableField {
+
+        private final Field field;
+        private final FieldSetter setter;
+        private final Dependency dependency;
+
+        InjectableField(Field field, FieldSetter setter, Dependency dependency) {
+            this.field = field;
+            this.setter = setter;
+            this.dependency = dependency;
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        FieldSetter getSetter() {
+            return setter;
+        }
+
+        Dependency getDependency() {
+            return dependency;
+        }
+    }
+
+    static class InjectableMethod {
+
+        private final Method method;
+        private final MethodInvoker invoker;
+        private final Dependency[] arguments;
+
+        InjectableMethod(Method method, MethodInvoker invoker, Dependency[] arguments) {
+            this.method = method;
+            this.invoker = invoker;
+            this.arguments = arguments;
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        MethodInvoker getInvoker() {
+            return invoker;
+        }
+
+        Dependency[] getArguments() {
+            return arguments;
+        }
+    }
+}
@@ -20,59 +20,127 @@
 package io.bootique.di.spi;
 
 import io.bootique.di.Key;
+import jakarta.inject.Provider;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.StringJoiner;
 
 /**
- * A helper object that tracks the injection stack to prevent circular dependencies.
+ * A helper object that tracks the injection stack to prevent circular dependencies. Keys of the current thread are
+ * kept in a compact array and are matched by identity first, falling back to equals() only for distinct instances.
+ * Virtual threads are expected to be numerous and short-lived, so for them the stack is discarded as soon as the
+ * outermost injection is finished. Platform threads keep their stack for reuse.
  */
 class InjectionStack {
 
-    private final ThreadLocal<LinkedList<Key<?>>> stack;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ThreadLocal<Frames> stack;
 
     InjectionStack() {
         this.stack = new ThreadLocal<>();
     }
 
     void reset() {
-        List<Key<?>> localStack = stack.get();
-        if (localStack != null) {
-            localStack.clear();
-        }
+        stack.remove();
     }
 
     boolean push(Key<?> bindingKey) {
-        LinkedList<Key<?>> localStack = stack.get();
-        if (localStack == null) {
-            localStack = new LinkedList<>();
-            stack.set(localStack);
-        }
-
-        if (localStack.contains(bindingKey)) {
-            return false;
+        Frames frames = stack.get();
+        if (frames == null) {
+            frames = new Frames();
+            stack.set(frames);
         }
 
-        localStack.add(bindingKey);
-        return true;
+        return frames.push(bindingKey);
     }
 
     void pop() {
-        LinkedList<Key<?>> localStack = stack.get();
-        if (localStack != null) {
-            localStack.removeLast();
-        } else {
+        Frames frames = stack.get();
+        if (frames == null || frames.size == 0) {
             throw new IndexOutOfBoundsException("0");
         }
+
+        frames.pop();
+        if (frames.size == 0 && Thread.currentThread().isVirtual()) {
+            stack.remove();
+        }
+    }
+
+    /**
+     * Returns a copy of the keys of the current thread stack, outermost first.
+     */
+    Key<?>[] snapshot() {
+        Frames frames = stack.get();
+        return frames != null ? Arrays.copyOf(frames.keys, frames.size) : new Key<?>[0];
+    }
+
+    /**
+     * Invokes the provider with the current thread stack replaced by the provided keys, so that the cycles are detected
+     * when the provider continues the injection started by another thread.
+     */
+    <T> T getWith(Key<?>[] keys, Provider<T> provider) {
+        Frames oldFrames = stack.get();
+
+        Frames frames = new Frames();
+        for (Key<?> key : keys) {
+            frames.push(key);
+        }
+
+        stack.set(frames);
+        try {
+            return provider.get();
+        } finally {
+            if (oldFrames != null) {
+                stack.set(oldFrames);
+            } else {
+                stack.remove();
+            }
+        }
     }
 
     @Override
     public String toString() {
-        List<Key<?>> localStack = stack.get();
-        if (localStack != null) {
-            return String.valueOf(localStack);
-        } else {
-            return "[]";
+        Frames frames = stack.get();
+        return frames != null ? frames.toString() : "[]";
+    }
+
+    private static class Frames {
+
+        private Key<?>[] keys = new Key<?>[INITIAL_CAPACITY];
+        private int size;
+
+        boolean push(Key<?> key) {
+
+            // identity check is cheap and covers the common case of the same key instance resolved recursively;
+            // otherwise compare the (cached) hash codes before the full equals
+            int hash = key.hashCode();
+            for (int i = size - 1; i >= 0; i--) {
+                Key<?> k = keys[i];
+                if (k == key || (k.hashCode() == hash && k.equals(key))) {
+                    return false;
+                }
+            }
+
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+
+            keys[size++] = key;
+            return true;
+        }
+
+        void pop() {
+            keys[--size] = null;
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            for (int i = 0; i < size; i++) {
+                joiner.add(String.valueOf(keys[i]));
+            }
+            return joiner.toString();
         }
     }
 }
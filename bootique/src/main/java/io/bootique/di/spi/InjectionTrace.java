@@ -22,47 +22,126 @@ package io.bootique.di.spi;
 import io.bootique.di.InjectionTraceElement;
 import io.bootique.di.Key;
 
-import java.util.LinkedList;
-import java.util.function.Supplier;
+import java.util.Arrays;
 
 /**
  * Optional detailed trace of injection.
  * Can be used in dev environment to create more user-friendly messages in case of injection errors.
+ * <p>
+ * Trace frames are recorded into reusable per-thread arrays as a key, a {@link TraceMessage} constant, its context
+ * and an int argument, so keeping the trace doesn't allocate. Messages are formatted only when the trace is drained
+ * into an exception. Like the {@link InjectionStack}, the arrays are not retained by virtual threads.
  */
 class InjectionTrace {
 
-    private ThreadLocal<LinkedList<InjectionTraceElement>> stack;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ThreadLocal<Frames> stack;
 
     InjectionTrace() {
         this.stack = new ThreadLocal<>();
     }
 
     void push(Key<?> key) {
-        getStack().push(new InjectionTraceElement(key));
+        Frames frames = stack.get();
+        if (frames == null) {
+            frames = new Frames();
+            stack.set(frames);
+        }
+
+        frames.push(key);
     }
 
-    void updateMessage(Supplier<String> messageSupplier) {
-        InjectionTraceElement element = getStack().peekFirst();
-        if(element != null) {
-            element.setMessage(messageSupplier);
+    void updateMessage(TraceMessage message, Object context, int argument) {
+        Frames frames = stack.get();
+        if (frames != null && frames.size > 0) {
+            frames.update(message, context, argument);
         }
     }
 
-    InjectionTraceElement pop() {
-        return getStack().pollFirst();
+    void pop() {
+        Frames frames = stack.get();
+        if (frames != null && frames.size > 0) {
+            frames.pop();
+            release(frames);
+        }
     }
 
     int size() {
-        return getStack().size();
+        Frames frames = stack.get();
+        return frames != null ? frames.size : 0;
+    }
+
+    /**
+     * Removes all the frames of the current thread, returning them as trace elements, innermost first.
+     */
+    InjectionTraceElement[] drain() {
+        Frames frames = stack.get();
+        if (frames == null) {
+            return new InjectionTraceElement[0];
+        }
+
+        InjectionTraceElement[] elements = new InjectionTraceElement[frames.size];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = frames.toElement();
+            frames.pop();
+        }
+
+        release(frames);
+        return elements;
     }
 
-    private LinkedList<InjectionTraceElement> getStack() {
-        LinkedList<InjectionTraceElement> localStack = stack.get();
-        if(localStack == null) {
-            localStack = new LinkedList<>();
-            stack.set(localStack);
+    private void release(Frames frames) {
+        if (frames.size == 0 && Thread.currentThread().isVirtual()) {
+            stack.remove();
         }
-        return localStack;
     }
 
+    private static class Frames {
+
+        private Key<?>[] keys = new Key<?>[INITIAL_CAPACITY];
+        private TraceMessage[] messages = new TraceMessage[INITIAL_CAPACITY];
+        private Object[] contexts = new Object[INITIAL_CAPACITY];
+        private int[] arguments = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void push(Key<?> key) {
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                messages = Arrays.copyOf(messages, capacity);
+                contexts = Arrays.copyOf(contexts, capacity);
+                arguments = Arrays.copyOf(arguments, capacity);
+            }
+
+            keys[size++] = key;
+        }
+
+        void update(TraceMessage message, Object context, int argument) {
+            int top = size - 1;
+            messages[top] = message;
+            contexts[top] = context;
+            arguments[top] = argument;
+        }
+
+        void pop() {
+            int top = --size;
+            keys[top] = null;
+            messages[top] = null;
+            contexts[top] = null;
+        }
+
+        InjectionTraceElement toElement() {
+            int top = size - 1;
+            InjectionTraceElement element = new InjectionTraceElement(keys[top]);
+
+            TraceMessage message = messages[top];
+            if (message != null) {
+                String text = message.format(contexts[top], arguments[top]);
+                element.setMessage(() -> text);
+            }
+
+            return element;
+        }
+    }
 }
@@ -59,27 +59,35 @@ public class InjectorPredicates {
 
     private ExceptionProvider<?> exceptionProvider = DIRuntimeException::new;
 
+    // code generated at compile time assumes standard annotations, so it can only be used until they are customized
+    private boolean standardAnnotations = true;
+
     public InjectorPredicates() {
     }
 
     public void setInjectPredicate(Predicate<AccessibleObject> injectPredicate) {
         this.injectPredicate = injectPredicate;
+        this.standardAnnotations = false;
     }
 
     public void setProviderPredicate(Predicate<Type> providerPredicate) {
         this.providerPredicate = providerPredicate;
+        this.standardAnnotations = false;
     }
 
     public void setProvidesMethodPredicate(Predicate<Method> providesMethodPredicate) {
         this.providesMethodPredicate = providesMethodPredicate;
+        this.standardAnnotations = false;
     }
 
     public void setQualifierPredicate(Predicate<Class<? extends Annotation>> qualifierPredicate) {
         this.qualifierPredicate = qualifierPredicate;
+        this.standardAnnotations = false;
     }
 
     public void setSingletonPredicate(Predicate<AnnotatedElement> singletonPredicate) {
         this.singletonPredicate = singletonPredicate;
+        this.standardAnnotations = false;
     }
 
     @SuppressWarnings("unchecked")
@@ -91,6 +99,14 @@ public class InjectorPredicates {
         this.exceptionProvider = exceptionProvider;
     }
 
+    /**
+     * Returns true if none of the annotation-related predicates were customized, and the injector can use the code
+     * generated at compile time by "bootique-di-processor".
+     */
+    boolean isStandardAnnotations() {
+        return standardAnnotations;
+    }
+
     boolean isSingleton(AnnotatedElement object) {
         return singletonPredicate.test(object);
     }
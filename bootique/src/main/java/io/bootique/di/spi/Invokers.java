@@ -0,0 +1,223 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates invokers for constructors, methods and fields used by the injector. Depending on the injector options,
+ * invokers either delegate to the core reflection, or to the {@link MethodHandle}s that are adapted to a fixed
+ * generic signature once, and can be invoked without the reflection access checks and boxing of the arguments
+ * array. In both cases exceptions thrown by the invoked member are wrapped in {@link InvocationTargetException}.
+ * Failures of the method handle invocation itself (e.g. a wrong argument type) are not attributed to the member, and
+ * result in a {@link DIRuntimeException}.
+ */
+class Invokers {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType METHOD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandle NEW_TARGET_EXCEPTION;
+
+    static {
+        try {
+            NEW_TARGET_EXCEPTION = MethodHandles.lookup().findConstructor(
+                    TargetException.class,
+                    MethodType.methodType(void.class, Throwable.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final boolean useMethodHandles;
+
+    Invokers(boolean useMethodHandles) {
+        this.useMethodHandles = useMethodHandles;
+    }
+
+    <T> ConstructorInvoker<T> constructor(Constructor<T> constructor) {
+        if (useMethodHandles) {
+            try {
+                MethodHandle handle = markTargetExceptions(MethodHandles.lookup().unreflectConstructor(constructor))
+                        .asSpreader(Object[].class, constructor.getParameterCount())
+                        .asType(CONSTRUCTOR_TYPE);
+                return new HandleConstructorInvoker<>(handle, constructor);
+            } catch (IllegalAccessException e) {
+                // the constructor is not accessible to us, fall back to reflection
+            }
+        }
+
+        return constructor::newInstance;
+    }
+
+    MethodInvoker method(Method method) {
+        if (useMethodHandles) {
+            try {
+                MethodHandle handle = markTargetExceptions(MethodHandles.lookup().unreflect(method));
+                if (Modifier.isStatic(method.getModifiers())) {
+                    // keep the same signature as for the instance methods, ignoring the target
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+
+                handle = handle
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(METHOD_TYPE);
+                return new HandleMethodInvoker(handle, method);
+            } catch (IllegalAccessException e) {
+                // the method is not accessible to us, fall back to reflection
+            }
+        }
+
+        return method::invoke;
+    }
+
+    FieldSetter setter(Field field) {
+        if (useMethodHandles) {
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+                return new HandleFieldSetter(handle, field);
+            } catch (IllegalAccessException e) {
+                // the field is not accessible to us (or is final), fall back to reflection
+            }
+        }
+
+        return field::set;
+    }
+
+    /**
+     * Wraps the exceptions thrown by the member in {@link TargetException}, so that they can be told apart from the
+     * exceptions thrown by the adapters added to the handle afterwards.
+     */
+    private static MethodHandle markTargetExceptions(MethodHandle target) {
+        MethodHandle thrower = MethodHandles.throwException(target.type().returnType(), TargetException.class);
+        MethodHandle handler = MethodHandles.filterArguments(thrower, 0, NEW_TARGET_EXCEPTION);
+        return MethodHandles.catchException(target, Throwable.class, handler);
+    }
+
+    private static DIRuntimeException invocationError(Throwable th, Object member) throws Error {
+        if (th instanceof Error e) {
+            throw e;
+        }
+
+        return new DIRuntimeException("Error invoking %s", th, member);
+    }
+
+    @FunctionalInterface
+    interface ConstructorInvoker<T> {
+        T newInstance(Object... args) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface MethodInvoker {
+        Object invoke(Object target, Object... args) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface FieldSetter {
+        void set(Object target, Object value) throws Exception;
+    }
+
+    private static class HandleConstructorInvoker<T> implements ConstructorInvoker<T> {
+
+        private final MethodHandle handle;
+        private final Constructor<T> constructor;
+
+        HandleConstructorInvoker(MethodHandle handle, Constructor<T> constructor) {
+            this.handle = handle;
+            this.constructor = constructor;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T newInstance(Object... args) throws InvocationTargetException {
+            try {
+                return (T) handle.invokeExact(args);
+            } catch (TargetException e) {
+                throw new InvocationTargetException(e.getCause());
+            } catch (Throwable th) {
+                throw invocationError(th, constructor);
+            }
+        }
+    }
+
+    private static class HandleMethodInvoker implements MethodInvoker {
+
+        private final MethodHandle handle;
+        private final Method method;
+
+        HandleMethodInvoker(MethodHandle handle, Method method) {
+            this.handle = handle;
+            this.method = method;
+        }
+
+        @Override
+        public Object invoke(Object target, Object... args) throws InvocationTargetException {
+            try {
+                return handle.invokeExact(target, args);
+            } catch (TargetException e) {
+                throw new InvocationTargetException(e.getCause());
+            } catch (Throwable th) {
+                throw invocationError(th, method);
+            }
+        }
+    }
+
+    private static class HandleFieldSetter implements FieldSetter {
+
+        private final MethodHandle handle;
+        private final Field field;
+
+        HandleFieldSetter(MethodHandle handle, Field field) {
+            this.handle = handle;
+            this.field = field;
+        }
+
+        @Override
+        public void set(Object target, Object value) {
+
+            // setting a field runs no user code, so any failure is an invocation error
+            try {
+                handle.invokeExact(target, value);
+            } catch (Throwable th) {
+                throw invocationError(th, field);
+            }
+        }
+    }
+
+    /**
+     * A carrier of an exception thrown by the invoked member.
+     */
+    private static final class TargetException extends RuntimeException {
+
+        TargetException(Throwable cause) {
+            super(null, cause, false, false);
+        }
+    }
+}
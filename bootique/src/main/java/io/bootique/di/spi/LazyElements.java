@@ -0,0 +1,263 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import jakarta.inject.Provider;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Elements of a lazy multibinding collection, each created on the first access. Resolved elements are kept for the
+ * lifetime of the collection.
+ *
+ * @since 4.0
+ */
+abstract class LazyElements<E> {
+
+    private static final Object UNRESOLVED = new Object();
+
+    protected final DefaultInjector injector;
+    protected final Provider<? extends E>[] providers;
+
+    private final AtomicReferenceArray<Object> values;
+    private final ReentrantLock lock;
+
+    LazyElements(DefaultInjector injector, Provider<? extends E>[] providers) {
+        this.injector = injector;
+        this.providers = providers;
+        this.values = new AtomicReferenceArray<>(providers.length);
+        this.lock = new ReentrantLock();
+
+        for (int i = 0; i < providers.length; i++) {
+            values.setPlain(i, UNRESOLVED);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    E element(int i) {
+        Object value = values.get(i);
+        if (value == UNRESOLVED) {
+
+            // the lock ensures that no-scope elements are created only once per collection
+            lock.lock();
+            try {
+                value = values.get(i);
+                if (value == UNRESOLVED) {
+                    trace(i);
+                    value = providers[i].get();
+                    resolved((E) value);
+                    values.set(i, value);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return (E) value;
+    }
+
+    protected abstract void trace(int i);
+
+    /**
+     * Called under the lock for each created element before it is stored, allowing to validate it.
+     */
+    protected void resolved(E value) {
+    }
+
+    /**
+     * An unmodifiable set that resolves its elements on iteration. Size of the set is the number of element
+     * providers. Duplicates can't be detected without creating the elements, so instead of being skipped, a duplicate
+     * element results in the same exception as in a regular set binding when it is resolved. Hence, the iteration
+     * never returns the same element twice. Note that {@link #contains(Object)} resolves the elements until it finds
+     * a match.
+     */
+    static class LazySet<T> extends AbstractSet<T> {
+
+        private final LazyElements<T> elements;
+
+        LazySet(DefaultInjector injector, Key<Set<T>> bindingKey, Provider<? extends T>[] providers) {
+            this.elements = new LazyElements<>(injector, providers) {
+
+                // guarded by the elements lock
+                private final Set<T> resolved = new HashSet<>();
+
+                @Override
+                protected void trace(int i) {
+                    injector.trace(TraceMessage.RESOLVING_SET_ELEMENT, null, i);
+                }
+
+                @Override
+                protected void resolved(T value) {
+                    if (!resolved.add(value)) {
+                        injector.throwException("Found duplicated value '%s' in set %s.", value, bindingKey);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+
+                int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < elements.providers.length;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return elements.element(next++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return elements.providers.length;
+        }
+    }
+
+    /**
+     * An unmodifiable map that resolves its values on lookup or on iteration over the values.
+     */
+    static class LazyMap<K, V> extends AbstractMap<K, V> {
+
+        private final K[] keys;
+        private final Map<K, Integer> index;
+        private final LazyElements<V> elements;
+        private Set<Entry<K, V>> entrySet;
+
+        /**
+         * @param index positions of the keys in the "keys" and "providers" arrays
+         */
+        LazyMap(DefaultInjector injector, K[] keys, Provider<? extends V>[] providers, Map<K, Integer> index) {
+            this.keys = keys;
+            this.index = index;
+            this.elements = new LazyElements<>(injector, providers) {
+                @Override
+                protected void trace(int i) {
+                    injector.trace(TraceMessage.RESOLVING_MAP_KEY, keys[i]);
+                }
+            };
+        }
+
+        @Override
+        public V get(Object key) {
+            Integer i = index.get(key);
+            return i != null ? elements.element(i) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return index.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            Set<Entry<K, V>> local = entrySet;
+            if (local == null) {
+                local = entrySet = new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<K, V>> iterator() {
+                        return new Iterator<>() {
+
+                            int next;
+
+                            @Override
+                            public boolean hasNext() {
+                                return next < keys.length;
+                            }
+
+                            @Override
+                            public Entry<K, V> next() {
+                                if (!hasNext()) {
+                                    throw new NoSuchElementException();
+                                }
+                                return new LazyEntry(next++);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return keys.length;
+                    }
+                };
+            }
+            return local;
+        }
+
+        private class LazyEntry implements Entry<K, V> {
+
+            private final int i;
+
+            LazyEntry(int i) {
+                this.i = i;
+            }
+
+            @Override
+            public K getKey() {
+                return keys[i];
+            }
+
+            @Override
+            public V getValue() {
+                return elements.element(i);
+            }
+
+            @Override
+            public V setValue(V value) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                return o instanceof Entry<?, ?> e
+                        && Objects.equals(getKey(), e.getKey())
+                        && Objects.equals(getValue(), e.getValue());
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import jakarta.inject.Provider;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * A provider of lazy bindings, returning interface proxies that obtain the actual object from the scoped provider
+ * on the first method call.
+ *
+ * @since 4.0
+ */
+class LazyProvider<T> implements Provider<T> {
+
+    private final Class<T> type;
+    private final Provider<T> delegate;
+    private final boolean shared;
+
+    private volatile T sharedProxy;
+
+    /**
+     * @param type     an interface implemented by the proxies
+     * @param delegate a scoped provider of the actual objects
+     * @param shared   whether the delegate always returns the same object, so that a single proxy can be reused
+     */
+    LazyProvider(Class<T> type, Provider<T> delegate, boolean shared) {
+        this.type = type;
+        this.delegate = delegate;
+        this.shared = shared;
+    }
+
+    @Override
+    public T get() {
+        if (!shared) {
+            return createProxy();
+        }
+
+        // concurrent calls may create more than one proxy, but all of them resolve the same object
+        T local = sharedProxy;
+        if (local == null) {
+            local = sharedProxy = createProxy();
+        }
+        return local;
+    }
+
+    private T createProxy() {
+        ProxyInvocationHandler<T> handler = new ProxyInvocationHandler<>(delegate, true);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
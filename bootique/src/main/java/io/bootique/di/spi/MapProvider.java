@@ -19,18 +19,34 @@
 
 package io.bootique.di.spi;
 
+import io.bootique.di.Key;
 import jakarta.inject.Provider;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 class MapProvider<K, V> implements Provider<Map<K, V>> {
 
     private final Map<K, Provider<? extends V>> providers;
     private final DefaultInjector injector;
 
+    private volatile boolean snapshot;
+    private volatile boolean lazyElements;
+    private volatile boolean parallel;
+    private volatile Executor executor;
+    private volatile Map<K, V> cached;
+    private volatile LazyIndex<K, V> lazyIndex;
+
+    // a parent injector with the same binding, whose map entries are included in this map
+    private volatile DefaultInjector parent;
+    private volatile Key<Map<K, V>> parentKey;
+
     MapProvider(DefaultInjector injector) {
         this.providers = new ConcurrentHashMap<>();
         this.injector = injector;
@@ -38,17 +54,161 @@ class MapProvider<K, V> implements Provider<Map<K, V>> {
 
     @Override
     public Map<K, V> get() {
-        Map<K, V> map = new HashMap<>();
+        Map<K, V> map = cached;
+        if (map != null) {
+            return map;
+        }
+
+        map = lazyElements ? createLazyMap() : createMap();
+        if (snapshot) {
+            if (!lazyElements) {
+                map = Collections.unmodifiableMap(map);
+            }
+
+            if (allSingletons()) {
+                cached = map;
+            }
+        }
+
+        return map;
+    }
+
+    private Map<K, V> createMap() {
+        if (parallel) {
+            return createMapInParallel();
+        }
+
+        Map<K, V> map = createMapWithParentEntries();
 
         for (Entry<K, Provider<? extends V>> entry : providers.entrySet()) {
-            injector.trace(() -> "Resolve map key '" + entry.getKey() + "'");
+            injector.trace(TraceMessage.RESOLVING_MAP_KEY, entry.getKey());
             map.put(entry.getKey(), entry.getValue().get());
         }
 
         return map;
     }
 
+    private Map<K, V> createMapInParallel() {
+        List<K> keys = new ArrayList<>(providers.size());
+        List<Provider<? extends V>> valueProviders = new ArrayList<>(providers.size());
+        for (Entry<K, Provider<? extends V>> entry : providers.entrySet()) {
+            keys.add(entry.getKey());
+            valueProviders.add(entry.getValue());
+        }
+
+        List<V> values = ParallelElements.resolve(
+                injector,
+                valueProviders,
+                executor,
+                i -> injector.trace(TraceMessage.RESOLVING_MAP_KEY, keys.get(i)));
+
+        Map<K, V> map = createMapWithParentEntries();
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), values.get(i));
+        }
+
+        return map;
+    }
+
+    private Map<K, V> createMapWithParentEntries() {
+        return parent != null ? new HashMap<>(parent.getInstance(parentKey)) : new HashMap<>();
+    }
+
+    private Map<K, V> createLazyMap() {
+        LazyIndex<K, V> index = lazyIndex;
+        if (index == null) {
+            if (parent != null) {
+
+                // parent map entries may change between calls, so the index is not cached
+                Map<K, Provider<? extends V>> all = new HashMap<>();
+                parent.getInstance(parentKey).forEach((k, v) -> all.put(k, new InstanceProvider<>(v)));
+                all.putAll(providers);
+                index = new LazyIndex<>(all);
+            } else {
+                index = lazyIndex = new LazyIndex<>(providers);
+            }
+        }
+
+        return new LazyElements.LazyMap<>(injector, index.keys, index.providers, index.positions);
+    }
+
+    private boolean allSingletons() {
+        if (parent != null && !parent.isSingleton(parentKey)) {
+            return false;
+        }
+
+        for (Provider<? extends V> provider : providers.values()) {
+            if (!DICollectionBuilder.isSingletonElement(injector, provider)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void put(K key, Provider<? extends V> provider) {
         providers.put(key, provider);
+        cached = null;
+        lazyIndex = null;
+    }
+
+    /**
+     * Includes entries of the same map binding of the parent injector in this map. Own entries take precedence
+     * over the parent entries with the same keys.
+     */
+    void setParent(DefaultInjector parent, Key<Map<K, V>> bindingKey) {
+        this.parent = parent;
+        this.parentKey = bindingKey;
+        this.cached = null;
+    }
+
+    /**
+     * Makes the provider return an unmodifiable map, that is created once if all its values are singletons.
+     */
+    void setSnapshot() {
+        this.snapshot = true;
+        this.cached = null;
+    }
+
+    /**
+     * Makes the provider create map values concurrently on the executor, or on virtual threads, if the executor
+     * is null.
+     */
+    void setParallel(Executor executor) {
+        this.parallel = true;
+        this.executor = executor;
+    }
+
+    /**
+     * Makes the provider return unmodifiable maps whose values are created on lookup.
+     */
+    void setLazyElements() {
+        this.lazyElements = true;
+        this.cached = null;
+    }
+
+    /**
+     * Map keys and providers laid out in arrays, that are shared by all lazy maps of the provider.
+     */
+    private static class LazyIndex<K, V> {
+
+        final K[] keys;
+        final Provider<? extends V>[] providers;
+        final Map<K, Integer> positions;
+
+        @SuppressWarnings("unchecked")
+        LazyIndex(Map<K, Provider<? extends V>> providerMap) {
+            int size = providerMap.size();
+            this.keys = (K[]) new Object[size];
+            this.providers = new Provider[size];
+            this.positions = new HashMap<>((int) (size / 0.75f) + 1);
+
+            int i = 0;
+            for (Entry<K, Provider<? extends V>> e : providerMap.entrySet()) {
+                keys[i] = e.getKey();
+                providers[i] = e.getValue();
+                positions.put(e.getKey(), i);
+                i++;
+            }
+        }
     }
 }
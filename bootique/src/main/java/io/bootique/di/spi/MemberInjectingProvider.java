@@ -19,18 +19,17 @@
 
 package io.bootique.di.spi;
 
+import io.bootique.di.Key;
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Member;
+import java.util.Collection;
 
 /**
  * Base abstract implementation for providers injecting into object members (fields and methods)
  *
  * @param <T> type of object for which we perform injection
  */
-abstract class MemberInjectingProvider<T> implements NamedProvider<T> {
+abstract class MemberInjectingProvider<T> implements NamedProvider<T>, DependencyAwareProvider {
 
     protected final DefaultInjector injector;
     protected final Provider<T> delegate;
@@ -57,22 +56,33 @@ abstract class MemberInjectingProvider<T> implements NamedProvider<T> {
 
     abstract void injectMembers(T object, Class<?> aClass);
 
-    Annotation getQualifier(Annotation[] annotations, AccessibleObject object) {
-        Annotation bindingAnnotation = null;
-        for(Annotation fieldAnnotation : annotations) {
-            if(injector.getPredicates().isQualifierAnnotation(fieldAnnotation)) {
-                if(bindingAnnotation != null) {
-                    injector.throwException("Found more than one qualifier annotation for '%s.%s'."
-                            , ((Member)object).getDeclaringClass().getName()
-                            , ((Member)object).getName());
-                }
-                bindingAnnotation = fieldAnnotation;
-            }
+    @Override
+    public void collectDependencies(Collection<Key<?>> dependencies) {
+        if (delegate instanceof DependencyAwareProvider aware) {
+            aware.collectDependencies(dependencies);
+        }
+
+        Class<?> type = getImplementationType();
+        if (type != null) {
+            collectMemberDependencies(type, dependencies);
         }
-        return bindingAnnotation;
     }
 
-    Annotation getQualifier(AccessibleObject object) {
-        return getQualifier(object.getAnnotations(), object);
+    abstract void collectMemberDependencies(Class<?> type, Collection<Key<?>> dependencies);
+
+    /**
+     * Returns the class of the objects created by the underlying constructor provider, or null if the objects are
+     * created by some other provider, and their class is not known in advance.
+     */
+    Class<?> getImplementationType() {
+        if (delegate instanceof ConstructorInjectingProvider<?> c) {
+            return c.getImplementationType();
+        }
+
+        if (delegate instanceof MemberInjectingProvider<?> m) {
+            return m.getImplementationType();
+        }
+
+        return null;
     }
 }
@@ -20,15 +20,16 @@
 package io.bootique.di.spi;
 
 import io.bootique.di.Key;
-import io.bootique.di.TypeLiteral;
+import io.bootique.di.spi.InjectionPlan.Dependency;
+import io.bootique.di.spi.InjectionPlan.InjectableMethod;
+import io.bootique.di.spi.Invokers.MethodInvoker;
 import jakarta.inject.Provider;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -51,13 +52,19 @@ class MethodInjectingProvider<T> extends MemberInjectingProvider<T> {
 
     @Override
     protected void injectMembers(T object, Class<?> type) {
-        Map<String, List<Method>> methods = collectMethods(type, new LinkedHashMap<>());
-        for (List<Method> methodList : methods.values()){
-            methodList.forEach(method -> {
-                if (injector.getPredicates().hasInjectAnnotation(method)) {
-                    injectMember(object, method);
+        for (InjectableMethod method : injector.getInjectionPlan(type).getMethods()) {
+            injectMember(object, method.getMethod(), method.getInvoker(), method.getArguments());
+        }
+    }
+
+    @Override
+    void collectMemberDependencies(Class<?> type, Collection<Key<?>> dependencies) {
+        for (InjectableMethod method : injector.getInjectionPlan(type).getMethods()) {
+            for (Dependency argument : method.getArguments()) {
+                if (argument.getKey() != null) {
+                    dependencies.add(argument.getKey());
                 }
-            });
+            }
         }
     }
 
@@ -157,15 +164,16 @@ class MethodInjectingProvider<T> extends MemberInjectingProvider<T> {
      *
      * @param object to perform inject at
      * @param method to inject
+     * @param invoker invoker of the method
+     * @param arguments method arguments to resolve
      */
-    private void injectMember(Object object, Method method) {
+    private void injectMember(Object object, Method method, MethodInvoker invoker, Dependency[] arguments) {
 
-        Object[] values = arguments(method);
+        Object[] values = arguments(method, arguments);
 
-        injector.trace(() -> "Injecting method '" + method.getName() + "()' of class " + method.getDeclaringClass().getName());
-        method.setAccessible(true);
+        injector.trace(TraceMessage.INJECTING_METHOD, method);
         try {
-            method.invoke(object, values);
+            invoker.invoke(object, values);
         } catch (Exception e) {
             injector.throwException("Error injecting into method '%s()' of class '%s'"
                     , e, method.getName(), method.getDeclaringClass().getName());
@@ -174,38 +182,29 @@ class MethodInjectingProvider<T> extends MemberInjectingProvider<T> {
 
     /**
      * @param method to collect arguments for
+     * @param arguments method arguments to resolve
      * @return values of arguments
      */
-    private Object[] arguments(Method method) {
-
-        Type[] parameterTypes = method.getGenericParameterTypes();
-        Class<?>[] parameterClasses = method.getParameterTypes();
-        Object[] result = new Object[parameterTypes.length];
-        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+    private Object[] arguments(Method method, Dependency[] arguments) {
 
-        InjectionStack stack = injector.getInjectionStack();
+        Object[] result = new Object[arguments.length];
 
-        for (int i = 0; i < parameterTypes.length; i++) {
-            Type parameterType = parameterTypes[i];
-            Annotation bindingAnnotation = getQualifier(parameterAnnotations[i], method);
+        for (int i = 0; i < arguments.length; i++) {
+            Dependency argument = arguments[i];
 
-            int idx = i;
-            injector.trace(() -> "Get argument " + idx + " for method '" + method.getName() + "()'" +
-                    " of class '" + method.getDeclaringClass().getName() + "'");
+            injector.trace(TraceMessage.GET_METHOD_ARGUMENT, method, i);
 
-            if (injector.getPredicates().isProviderType(parameterClasses[i])) {
-                parameterType = GenericTypesUtils.getGenericParameterType(parameterType);
-                if (parameterType == null) {
+            if (argument.isProvider()) {
+                if (argument.getKey() == null) {
                     injector.throwException("Parameter of method '%s.%s()' of 'Provider' type must be "
                             + "parameterized to be usable for injection"
                             , method.getDeclaringClass().getName()
                             , method.getName());
                 }
 
-                result[i] = injector.getProvider(Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
+                result[i] = injector.getProvider(argument.getKey());
             } else {
-                Key<?> key = Key.get(TypeLiteral.of(parameterType), bindingAnnotation);
-                result[i] = injector.getInstanceWithCycleProtection(key, false);
+                result[i] = injector.getInstanceWithCycleProtection(argument.getKey(), false);
             }
         }
 
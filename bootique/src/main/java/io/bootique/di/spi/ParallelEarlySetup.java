@@ -0,0 +1,218 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Key;
+import jakarta.inject.Provider;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Initializes early setup singletons concurrently. Keys are split into groups, so that the keys whose known
+ * dependencies intersect end up in the same group. Groups are initialized in parallel on virtual threads, and the keys
+ * within each group - sequentially. So dependencies shared between the keys are created once, by one thread, and
+ * independent subgraphs are created concurrently. Any concurrent access to the dependencies that could not be
+ * discovered in advance is handled by the {@link SingletonScope}.
+ *
+ * @since 4.0
+ */
+class ParallelEarlySetup {
+
+    private final DefaultInjector injector;
+
+    ParallelEarlySetup(DefaultInjector injector) {
+        this.injector = injector;
+    }
+
+    void setup(Collection<Key<?>> keys) {
+
+        List<List<Key<?>>> groups = groups(keys);
+        if (groups.size() < 2) {
+            keys.forEach(injector::getInstance);
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(groups.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<Key<?>> group : groups) {
+                futures.add(executor.submit(() -> group.forEach(injector::getInstance)));
+            }
+
+            // closing the executor waits for all the groups to finish
+        }
+
+        RuntimeException exception = null;
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                RuntimeException groupException = unwrap(e.getCause());
+                if (exception == null) {
+                    exception = groupException;
+                } else {
+                    exception.addSuppressed(groupException);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DIRuntimeException("Interrupted while waiting for early setup of singletons", e);
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable th) {
+        if (th instanceof RuntimeException re) {
+            return re;
+        }
+
+        if (th instanceof Error e) {
+            throw e;
+        }
+
+        return new DIRuntimeException("Error during early setup of singletons", th);
+    }
+
+    /**
+     * Splits keys into groups with disjoint known dependency graphs, preserving the original order of keys within
+     * the groups.
+     */
+    List<List<Key<?>>> groups(Collection<Key<?>> keys) {
+
+        Map<Key<?>, Key<?>> parents = new HashMap<>();
+        Map<Key<?>, Key<?>> dependencyOwners = new HashMap<>();
+
+        for (Key<?> key : keys) {
+            parents.put(key, key);
+            for (Key<?> dependency : dependencies(key)) {
+                Key<?> owner = dependencyOwners.putIfAbsent(dependency, key);
+                if (owner != null) {
+                    union(parents, owner, key);
+                }
+            }
+        }
+
+        Map<Key<?>, List<Key<?>>> groups = new LinkedHashMap<>();
+        for (Key<?> key : keys) {
+            groups.computeIfAbsent(find(parents, key), k -> new ArrayList<>()).add(key);
+        }
+
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Returns a key and all its transitive dependencies that can be discovered without creating any objects.
+     */
+    private Set<Key<?>> dependencies(Key<?> key) {
+        Set<Key<?>> seen = new HashSet<>();
+        Deque<Key<?>> queue = new ArrayDeque<>();
+        queue.add(key);
+
+        Collection<Key<?>> direct = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            Key<?> next = queue.poll();
+            if (!seen.add(next)) {
+                continue;
+            }
+
+            Binding<?> binding = injector.getBinding(next);
+            Provider<?> provider = binding != null ? binding.getOriginal() : null;
+
+            direct.clear();
+            try {
+                if (provider instanceof DependencyAwareProvider aware) {
+                    aware.collectDependencies(direct);
+                } else if (provider == null) {
+                    // a binding created by the injector on demand, will use constructor injection
+                    collectImplicitDependencies(next.getType().getRawType(), direct);
+                }
+            } catch (RuntimeException e) {
+                // invalid injection points (or types that can't be instantiated) will be reported when the object
+                // is created
+                continue;
+            }
+
+            queue.addAll(direct);
+        }
+
+        return seen;
+    }
+
+    private void collectImplicitDependencies(Class<?> type, Collection<Key<?>> dependencies) {
+        InjectionPlan<?> plan = injector.getInjectionPlan(type);
+
+        for (InjectionPlan.Dependency argument : plan.getConstructor().getArguments()) {
+            addKey(argument, dependencies);
+        }
+
+        for (InjectionPlan.InjectableField field : plan.getFields()) {
+            addKey(field.getDependency(), dependencies);
+        }
+
+        if (injector.isMethodInjectionEnabled()) {
+            for (InjectionPlan.InjectableMethod method : plan.getMethods()) {
+                for (InjectionPlan.Dependency argument : method.getArguments()) {
+                    addKey(argument, dependencies);
+                }
+            }
+        }
+    }
+
+    private static void addKey(InjectionPlan.Dependency dependency, Collection<Key<?>> dependencies) {
+        if (dependency.getKey() != null) {
+            dependencies.add(dependency.getKey());
+        }
+    }
+
+    private static Key<?> find(Map<Key<?>, Key<?>> parents, Key<?> key) {
+        Key<?> parent = parents.get(key);
+        while (parent != key) {
+            Key<?> grandParent = parents.get(parent);
+            parents.put(key, grandParent);
+            key = parent;
+            parent = grandParent;
+        }
+        return key;
+    }
+
+    private static void union(Map<Key<?>, Key<?>> parents, Key<?> k1, Key<?> k2) {
+        Key<?> r1 = find(parents, k1);
+        Key<?> r2 = find(parents, k2);
+        if (r1 != r2) {
+            parents.put(r2, r1);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Key;
+import io.bootique.internal.ParallelResults;
+import jakarta.inject.Provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Creates multibinding collection elements concurrently, returning them in the order of their providers, so that the
+ * collection providers can assemble them exactly as if they were created one by one.
+ *
+ * @since 4.0
+ */
+class ParallelElements {
+
+    /**
+     * @param injector  the injector that owns the collection
+     * @param providers element providers
+     * @param executor  an executor to create the elements on, or null to use a virtual thread per element
+     * @param trace     records the index of the element that failed, for the injection trace of the calling thread
+     */
+    static <T> List<T> resolve(
+            DefaultInjector injector,
+            List<Provider<? extends T>> providers,
+            Executor executor,
+            IntConsumer trace) {
+
+        int size = providers.size();
+        if (size < 2) {
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                trace.accept(i);
+                result.add(providers.get(i).get());
+            }
+            return result;
+        }
+
+        // Element threads continue the injection started by the calling thread, and the calling thread is blocked
+        // until they are done. So they need its injection stack and must be known to the singletons as its forks,
+        // otherwise a dependency cycle going through the collection would result in a deadlock instead of an exception
+        InjectionStack injectionStack = injector.getInjectionStack();
+        Key<?>[] stack = injectionStack.snapshot();
+        Object owner = SingletonScopeProvider.forkOwner();
+
+        List<FutureTask<T>> tasks = new ArrayList<>(size);
+        for (Provider<? extends T> provider : providers) {
+            Provider<T> element = provider::get;
+            tasks.add(new FutureTask<>(() -> SingletonScopeProvider.getForked(
+                    owner,
+                    () -> injectionStack.getWith(stack, element))));
+        }
+
+        if (executor != null) {
+            tasks.forEach(executor::execute);
+            return ParallelResults.collect(tasks, ParallelElements::wrap, trace);
+        }
+
+        try (ExecutorService perElement = Executors.newVirtualThreadPerTaskExecutor()) {
+            tasks.forEach(perElement::execute);
+            return ParallelResults.collect(tasks, ParallelElements::wrap, trace);
+        }
+    }
+
+    private static RuntimeException wrap(Throwable th) {
+        return th instanceof InterruptedException
+                ? new DIRuntimeException("Interrupted while waiting for collection elements", th)
+                : new DIRuntimeException("Error creating collection element", th);
+    }
+}
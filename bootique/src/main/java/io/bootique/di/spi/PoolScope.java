@@ -0,0 +1,289 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Scope;
+import jakarta.inject.Provider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A scope that keeps a bounded pool of instances per binding, for the objects that are expensive to create and are
+ * not thread-safe, such as parsers, compressors or ciphers. Instances are borrowed for the duration of a
+ * {@link Lease}, that is normally opened in a try-with-resources block:
+ * <pre>
+ * try (PoolScope.Lease lease = scope.lease()) {
+ *     parserProvider.get().parse(input);
+ * }
+ * </pre>
+ * Within a lease the scoped providers return the same instance, and when the lease is closed, the instances are
+ * returned to their pools. If all instances of a pool are leased, the caller blocks until one of them is returned.
+ * Instances that were idle for longer than the configured time are evicted. Evicted instances, as well as all
+ * instances on {@link #shutdown()}, receive {@link BeforeScopeEnd} event.
+ *
+ * @since 4.0
+ */
+public class PoolScope implements Scope {
+
+    private final int maxSize;
+    private final long maxIdleNanos;
+    private final ThreadLocal<Lease> current;
+    private final Collection<Pool<?>> pools;
+
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a scope with a given max number of instances per binding, whose idle instances are never evicted.
+     */
+    public PoolScope(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * Creates a scope with a given max number of instances per binding, evicting instances that were idle for
+     * longer than "maxIdleTime". Null "maxIdleTime" disables eviction.
+     */
+    public PoolScope(int maxSize, Duration maxIdleTime) {
+        if (maxSize < 1) {
+            throw new DIRuntimeException("Pool size must be positive: %d", maxSize);
+        }
+
+        this.maxSize = maxSize;
+        this.maxIdleNanos = maxIdleTime != null ? maxIdleTime.toNanos() : 0;
+        this.current = new ThreadLocal<>();
+        this.pools = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Opens a lease on the current thread. Scoped instances obtained until the lease is closed are borrowed from
+     * their pools. If another lease is already open on this thread, it is suspended until the new one is closed.
+     */
+    public Lease lease() {
+        if (shutdown) {
+            throw new DIRuntimeException("Scope is shutdown");
+        }
+
+        return new Lease(current.get());
+    }
+
+    /**
+     * Shuts down this scope, posting {@link BeforeScopeEnd} event to all idle instances. Instances that are
+     * currently leased receive the event when their lease is closed.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Pool<?> pool : pools) {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        Pool<T> pool = new Pool<>(unscoped);
+        pools.add(pool);
+        return pool;
+    }
+
+    private static void endOf(Object instance) {
+        ScopeEventHandlers.postScopeEvent(instance, BeforeScopeEnd.class);
+    }
+
+    /**
+     * A set of instances borrowed by a thread. Closing the lease returns them to their pools.
+     */
+    public class Lease implements AutoCloseable {
+
+        private final Lease suspended;
+        private final Thread thread;
+
+        // pool and instance pairs
+        private final List<Object> borrowed;
+        private boolean closed;
+
+        Lease(Lease suspended) {
+            this.suspended = suspended;
+            this.thread = Thread.currentThread();
+            this.borrowed = new ArrayList<>(4);
+
+            current.set(this);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T get(Pool<T> pool) {
+
+            // leases rarely hold more than a few instances, so a linear scan is cheaper than a map
+            for (int i = 0; i < borrowed.size(); i += 2) {
+                if (borrowed.get(i) == pool) {
+                    return (T) borrowed.get(i + 1);
+                }
+            }
+
+            T instance = pool.take();
+            borrowed.add(pool);
+            borrowed.add(instance);
+            return instance;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void close() {
+            if (closed) {
+                return;
+            }
+
+            if (thread != Thread.currentThread()) {
+                throw new DIRuntimeException("Lease must be closed by the thread that opened it");
+            }
+
+            closed = true;
+
+            if (suspended != null) {
+                current.set(suspended);
+            } else {
+                current.remove();
+            }
+
+            for (int i = borrowed.size() - 2; i >= 0; i -= 2) {
+                ((Pool<Object>) borrowed.get(i)).release(borrowed.get(i + 1));
+            }
+
+            borrowed.clear();
+        }
+    }
+
+    /**
+     * A scoped provider that hands out pooled instances to the current lease.
+     */
+    class Pool<T> implements Provider<T> {
+
+        private final Provider<T> delegate;
+        private final Semaphore permits;
+
+        // most recently returned instances first, so that the tail instances are the ones to evict
+        private final Deque<Idle<T>> idle;
+
+        Pool(Provider<T> delegate) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxSize);
+            this.idle = new ConcurrentLinkedDeque<>();
+        }
+
+        @Override
+        public T get() {
+            Lease lease = current.get();
+            if (lease == null) {
+                throw new DIRuntimeException("No active lease to provide a pooled instance of (%s)"
+                        , DIUtil.getProviderName(delegate));
+            }
+
+            return lease.get(this);
+        }
+
+        T take() {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DIRuntimeException("Interrupted while waiting for a pooled instance of (%s)"
+                        , e
+                        , DIUtil.getProviderName(delegate));
+            }
+
+            // anything below may fail, including the eviction that calls BeforeScopeEnd handlers, and the permit must
+            // be returned then, or the pool would eventually block forever
+            try {
+                evict();
+                Idle<T> reused = idle.pollFirst();
+                if (reused != null) {
+                    return reused.instance;
+                }
+
+                T instance = delegate.get();
+                if (instance == null) {
+                    throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
+                            , DIUtil.getProviderName(delegate));
+                }
+                return instance;
+            } catch (RuntimeException | Error e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        void release(T instance) {
+            try {
+                if (shutdown) {
+                    endOf(instance);
+                } else {
+                    idle.offerFirst(new Idle<>(instance, System.nanoTime()));
+                    evict();
+
+                    // the scope may have been shutdown concurrently, and missed this instance
+                    if (shutdown) {
+                        shutdown();
+                    }
+                }
+            } finally {
+                permits.release();
+            }
+        }
+
+        private void evict() {
+            if (maxIdleNanos <= 0) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            Idle<T> oldest;
+            while ((oldest = idle.peekLast()) != null && now - oldest.since > maxIdleNanos) {
+                if (idle.removeLastOccurrence(oldest)) {
+                    endOf(oldest.instance);
+                }
+            }
+        }
+
+        void shutdown() {
+            Idle<T> i;
+            while ((i = idle.pollFirst()) != null) {
+                endOf(i.instance);
+            }
+        }
+    }
+
+    private static class Idle<T> {
+
+        final T instance;
+        final long since;
+
+        Idle(T instance, long since) {
+            this.instance = instance;
+            this.since = since;
+        }
+    }
+}
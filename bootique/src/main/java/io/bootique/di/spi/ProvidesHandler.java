@@ -22,12 +22,15 @@ package io.bootique.di.spi;
 import io.bootique.di.Key;
 import io.bootique.di.Scope;
 import io.bootique.di.TypeLiteral;
+import io.bootique.di.spi.Invokers.MethodInvoker;
 import jakarta.inject.Provider;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Predicate;
 
 /**
@@ -42,7 +45,18 @@ class ProvidesHandler {
         this.injector = injector;
     }
 
+    @SuppressWarnings("unchecked")
     void bindingsFromAnnotatedMethods(Object module) {
+
+        // prefer compile-time generated bindings, if available
+        if (injector.getPredicates().isStandardAnnotations()) {
+            GeneratedProvides<Object> generated = GeneratedIndex.find(module.getClass(), GeneratedProvides.class);
+            if (generated != null) {
+                generated.bind(module, new GeneratedBinder(module));
+                return;
+            }
+        }
+
         Predicate<Method> providesMethodPredicate = injector.getPredicates().getProvidesMethodPredicate();
 
         // consider annotated methods in the module class
@@ -106,41 +120,95 @@ class ProvidesHandler {
     }
 
     private <T> Provider<T> createProvider(Key<T> key, Object module, Method method) {
-        Provider<?>[] argumentProviders = createArgumentProviders(method);
-        Provider<T> provider = new ProvidesMethodProvider<>(injector, argumentProviders, method, module);
+        Key<?>[] argumentKeys = createArgumentKeys(method);
+        Provider<?>[] argumentProviders = createArgumentProviders(method, argumentKeys);
+        MethodInvoker invoker = injector.getInvokers().method(method);
+        Provider<T> provider = new ProvidesMethodProvider<>(injector, argumentKeys, argumentProviders, method.getName(), invoker, module);
         return injector.wrapProvider(key, provider);
     }
 
     private Scope createScope(Method method) {
+        return createScope(injector.getPredicates().isSingleton(method));
+    }
+
+    private Scope createScope(boolean singleton) {
         // force singleton for annotated methods
-        if (injector.getPredicates().isSingleton(method)) {
+        if (singleton) {
             return injector.getSingletonScope();
         }
         // otherwise use injector's default scope
         return injector.getDefaultScope();
     }
 
-    private Provider<?>[] createArgumentProviders(Method method) {
+    private Key<?>[] createArgumentKeys(Method method) {
 
         Type[] params = method.getGenericParameterTypes();
         Annotation[][] paramAnnotations = method.getParameterAnnotations();
         int len = params.length;
-        Provider<?>[] providers = new Provider[len];
+        Key<?>[] keys = new Key[len];
 
         for (int i = 0; i < len; i++) {
             Annotation qualifier = extractQualifier(method, paramAnnotations[i]);
-            Key<?> key = createKey(params[i], qualifier);
+            keys[i] = createKey(params[i], qualifier);
+        }
+
+        return keys;
+    }
+
+    private Provider<?>[] createArgumentProviders(Method method, Key<?>[] keys) {
+
+        Type[] params = method.getGenericParameterTypes();
+        int len = params.length;
+        Provider<?>[] providers = new Provider[len];
+
+        for (int i = 0; i < len; i++) {
+            providers[i] = createArgumentProvider(keys[i], isProviderType(params[i]));
+        }
+
+        return providers;
+    }
 
-            if (isProviderType(params[i])) {
+    private Provider<?> createArgumentProvider(Key<?> key, boolean providerArgument) {
+        return providerArgument
                 // will resolve to provider of provider
-                providers[i] = () -> injector.getProvider(key);
-            } else {
+                ? () -> injector.getProvider(key)
                 // resolve the actual provider lazily
-                providers[i] = () -> injector.getInstance(key);
-            }
+                : () -> injector.getInstance(key);
+    }
+
+    /**
+     * Creates bindings for the provider methods described by the generated code.
+     */
+    private class GeneratedBinder implements GeneratedProvides.Binder {
+
+        private final Object module;
+
+        GeneratedBinder(Object module) {
+            this.module = module;
         }
 
-        return providers;
+        @Override
+        public <T> void provides(
+                Key<T> key,
+                boolean singleton,
+                String methodName,
+                Key<?>[] argumentKeys,
+                boolean[] providerArguments,
+                GeneratedProvides.Invoker<T> invoker) {
+
+            int len = argumentKeys.length;
+            Provider<?>[] argumentProviders = new Provider[len];
+            for (int i = 0; i < len; i++) {
+                argumentProviders[i] = createArgumentProvider(argumentKeys[i], providerArguments[i]);
+            }
+
+            MethodInvoker methodInvoker = (target, arguments) -> invoker.invoke(arguments);
+            Provider<T> provider = injector.wrapProvider(
+                    key,
+                    new ProvidesMethodProvider<>(injector, argumentKeys, argumentProviders, methodName, methodInvoker, module));
+
+            injector.putBinding(key, new Binding<>(key, provider, createScope(singleton), false));
+        }
     }
 
     /**
@@ -148,16 +216,27 @@ class ProvidesHandler {
      *
      * @param <T> provided type
      */
-    private static class ProvidesMethodProvider<T> implements NamedProvider<T> {
+    private static class ProvidesMethodProvider<T> implements NamedProvider<T>, DependencyAwareProvider {
         private final DefaultInjector injector;
+        private final Key<?>[] argumentKeys;
         private final Provider<?>[] argumentProviders;
-        private final Method method;
+        private final String methodName;
+        private final MethodInvoker invoker;
         private final Object module;
 
-        private ProvidesMethodProvider(DefaultInjector injector, Provider<?>[] argumentProviders, Method method, Object module) {
+        private ProvidesMethodProvider(
+                DefaultInjector injector,
+                Key<?>[] argumentKeys,
+                Provider<?>[] argumentProviders,
+                String methodName,
+                MethodInvoker invoker,
+                Object module) {
+
             this.injector = injector;
+            this.argumentKeys = argumentKeys;
             this.argumentProviders = argumentProviders;
-            this.method = method;
+            this.methodName = methodName;
+            this.invoker = invoker;
             this.module = module;
         }
 
@@ -167,15 +246,14 @@ class ProvidesHandler {
             Object[] arguments = new Object[len];
 
             for (int i = 0; i < len; i++) {
-                final int idx = i;
-                injector.trace(() -> "Get argument " + idx + " for " + getName());
+                injector.trace(TraceMessage.GET_ARGUMENT, this, i);
                 arguments[i] = argumentProviders[i].get();
             }
 
-            injector.trace(() -> "Invoking " + getName());
+            injector.trace(TraceMessage.INVOKING, this);
             try {
                 @SuppressWarnings("unchecked")
-                T result = (T) method.invoke(module, arguments);
+                T result = (T) invoker.invoke(module, arguments);
                 return result;
             } catch (Exception e) {
                 injector.throwException("Error invoking %s", e, getName());
@@ -183,9 +261,14 @@ class ProvidesHandler {
             }
         }
 
+        @Override
+        public void collectDependencies(Collection<Key<?>> dependencies) {
+            Collections.addAll(dependencies, argumentKeys);
+        }
+
         @Override
         public String getName() {
-            return String.format("provider method '%s()' of module '%s'", method.getName(), module.getClass().getName());
+            return String.format("provider method '%s()' of module '%s'", methodName, module.getClass().getName());
         }
     }
 }
@@ -0,0 +1,215 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import io.bootique.di.ProvisionStats;
+import jakarta.inject.Provider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Collects per-binding provisioning statistics. Only created when statistics are enabled, so that the injector
+ * doesn't pay for it otherwise. Each thread tracks a stack of objects being created, and the time of a nested
+ * creation is subtracted from its parent, so that every binding is charged only for its own work.
+ *
+ * @since 4.0
+ */
+class ProvisionStatsCollector {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Key<?>, Entry> entries;
+    private final ThreadLocal<Frames> frames;
+
+    ProvisionStatsCollector() {
+        this.entries = new ConcurrentHashMap<>();
+        this.frames = new ThreadLocal<>();
+    }
+
+    <T> Provider<T> wrap(Key<T> key, Provider<T> provider) {
+        return new StatsProvider<>(key, provider, entries.computeIfAbsent(key, k -> new Entry()));
+    }
+
+    <T> Provider<T> unwrap(Provider<T> provider) {
+        return provider instanceof StatsProvider<T> stats ? stats.delegate : provider;
+    }
+
+    /**
+     * Returns statistics of bindings that were provisioned at least once.
+     */
+    List<ProvisionStats> snapshot(Function<Key<?>, String> scopeResolver) {
+        List<ProvisionStats> result = new ArrayList<>(entries.size());
+        entries.forEach((k, e) -> {
+            long count = e.count.sum();
+            if (count > 0) {
+                result.add(new ProvisionStats(
+                        k,
+                        scopeResolver.apply(k),
+                        count,
+                        e.totalNanos.sum(),
+                        e.maxNanos.get(),
+                        e.firstThread.get()));
+            }
+        });
+        return result;
+    }
+
+    void reset() {
+        frames.remove();
+    }
+
+    private Frames frames() {
+        Frames local = frames.get();
+        if (local == null) {
+            local = new Frames();
+            frames.set(local);
+        }
+        return local;
+    }
+
+    private void release(Frames local) {
+        // see InjectionStack for the reasoning
+        if (local.size == 0 && Thread.currentThread().isVirtual()) {
+            frames.remove();
+        }
+    }
+
+    private static String threadName(Thread thread) {
+        String name = thread.getName();
+        return name.isEmpty() ? "#" + thread.threadId() : name;
+    }
+
+    private static class Entry {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        final AtomicReference<String> firstThread = new AtomicReference<>();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+
+            if (firstThread.get() == null) {
+                firstThread.compareAndSet(null, threadName(Thread.currentThread()));
+            }
+        }
+    }
+
+    private static class Frames {
+
+        private Key<?>[] keys = new Key<?>[INITIAL_CAPACITY];
+        private long[] starts = new long[INITIAL_CAPACITY];
+        private long[] nestedNanos = new long[INITIAL_CAPACITY];
+        private int size;
+
+        boolean push(Key<?> key, long start) {
+
+            // a decorated binding wraps its own undecorated provider, count them as a single provisioning
+            if (size > 0 && (keys[size - 1] == key || keys[size - 1].equals(key))) {
+                return false;
+            }
+
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                nestedNanos = Arrays.copyOf(nestedNanos, size * 2);
+            }
+
+            keys[size] = key;
+            starts[size] = start;
+            nestedNanos[size] = 0L;
+            size++;
+            return true;
+        }
+
+        /**
+         * Pops the top frame, returning its own time, excluding nested frames.
+         */
+        long pop(long end) {
+            int i = --size;
+            keys[i] = null;
+
+            long elapsed = end - starts[i];
+            if (i > 0) {
+                nestedNanos[i - 1] += elapsed;
+            }
+
+            return elapsed - nestedNanos[i];
+        }
+    }
+
+    private class StatsProvider<T> implements NamedProvider<T>, DependencyAwareProvider {
+
+        private final Key<T> key;
+        private final Provider<T> delegate;
+        private final Entry entry;
+
+        StatsProvider(Key<T> key, Provider<T> delegate, Entry entry) {
+            this.key = key;
+            this.delegate = delegate;
+            this.entry = entry;
+        }
+
+        @Override
+        public T get() {
+            Frames local = frames();
+            if (!local.push(key, System.nanoTime())) {
+                return delegate.get();
+            }
+
+            T result;
+            try {
+                result = delegate.get();
+            } catch (Throwable th) {
+                local.pop(System.nanoTime());
+                release(local);
+                throw th;
+            }
+
+            entry.record(local.pop(System.nanoTime()));
+            release(local);
+            return result;
+        }
+
+        @Override
+        public String getName() {
+            return key.toString();
+        }
+
+        @Override
+        public void collectDependencies(Collection<Key<?>> dependencies) {
+            if (delegate instanceof DependencyAwareProvider aware) {
+                aware.collectDependencies(dependencies);
+            }
+        }
+    }
+}
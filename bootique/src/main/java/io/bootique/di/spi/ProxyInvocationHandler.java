@@ -19,39 +19,96 @@
 
 package io.bootique.di.spi;
 
-import io.bootique.di.Key;
+import io.bootique.di.spi.Invokers.MethodInvoker;
+import jakarta.inject.Provider;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * An invocation handler of the interface proxies that resolve the actual object on the first call. Used for lazy
+ * bindings and to break circular dependencies. Calls are dispatched to the object via method handles created once
+ * per interface method and shared by all the proxies. The lazy binding proxies handle "equals", "hashCode" and
+ * "toString" themselves based on their identity, so that these calls do not resolve the object. The proxies breaking
+ * circular dependencies forward them to the object, same as any other method.
+ */
 class ProxyInvocationHandler<T> implements InvocationHandler {
 
-    private final DefaultInjector injector;
-    private final Key<T> key;
+    private static final Invokers INVOKERS = new Invokers(true);
+
+    private static final ClassValue<Map<Method, MethodInvoker>> METHOD_INVOKERS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodInvoker> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Provider<T> delegate;
+
+    // a dedicated lock, as opposed to synchronizing on a shared object like the binding key
+    private final ReentrantLock lock;
+
+    // whether "equals", "hashCode" and "toString" are handled by the proxy instead of the object
+    private final boolean identityObjectMethods;
 
     private volatile T instance;
 
-    ProxyInvocationHandler(DefaultInjector injector, Key<T> key) {
-        this.injector = injector;
-        this.key = key;
+    ProxyInvocationHandler(Provider<T> delegate, boolean identityObjectMethods) {
+        this.delegate = delegate;
+        this.identityObjectMethods = identityObjectMethods;
+        this.lock = new ReentrantLock();
     }
 
     @Override
-    public Object invoke(Object proxy, Method method, Object... args) throws Throwable {
-        method.setAccessible(true);
-        return method.invoke(getInstance(), args);
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        // the only Object methods dispatched to the handler are "equals", "hashCode" and "toString"
+        if (identityObjectMethods && method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, method, args);
+        }
+
+        try {
+            return invoker(method).invoke(getInstance(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> proxy.getClass().getInterfaces()[0].getName()
+                    + "$Proxy@" + Integer.toHexString(System.identityHashCode(proxy));
+        };
     }
 
     T getInstance() {
         T local = instance;
-        if(local == null) {
-            synchronized (key) {
+        if (local == null) {
+            lock.lock();
+            try {
                 local = instance;
-                if(local == null) {
-                    local = instance = injector.getInstanceWithCycleProtection(key, true);
+                if (local == null) {
+                    local = instance = delegate.get();
                 }
+            } finally {
+                lock.unlock();
             }
         }
         return local;
     }
+
+    private static MethodInvoker invoker(Method method) {
+        return METHOD_INVOKERS.get(method.getDeclaringClass()).computeIfAbsent(method, m -> {
+
+            // allow public methods of non-public interfaces
+            m.setAccessible(true);
+            return INVOKERS.method(m);
+        });
+    }
 }
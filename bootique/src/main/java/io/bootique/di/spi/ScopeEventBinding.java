@@ -20,6 +20,7 @@
 package io.bootique.di.spi;
 
 import io.bootique.di.DIRuntimeException;
+import io.bootique.di.spi.Invokers.MethodInvoker;
 
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
@@ -31,18 +32,21 @@ public class ScopeEventBinding {
 
     private final WeakReference<Object> objectReference;
     private final Method eventHandlerMethod;
+    private final MethodInvoker invoker;
     private final int argWidth;
 
     public ScopeEventBinding(Object object, Method eventHandlerMethod) {
+        this(object, new ScopeEventHandlers.Handler(eventHandlerMethod));
+    }
+
+    ScopeEventBinding(Object object, ScopeEventHandlers.Handler handler) {
 
         // store weak references for objects to avoid retaining them when they go out of
         // scope
         this.objectReference = new WeakReference<>(object);
-        this.eventHandlerMethod = eventHandlerMethod;
-        this.argWidth = eventHandlerMethod.getParameterTypes().length;
-
-        // allow public methods of non-public classes to be annotated
-        eventHandlerMethod.setAccessible(true);
+        this.eventHandlerMethod = handler.getMethod();
+        this.invoker = handler.getInvoker();
+        this.argWidth = handler.getArgWidth();
     }
 
     public Object getObject() {
@@ -57,7 +61,7 @@ public class ScopeEventBinding {
         }
 
         try {
-            eventHandlerMethod.invoke(object, invocationArguments(eventArgs));
+            invoker.invoke(object, invocationArguments(eventArgs));
         } catch (Exception e) {
             throw new DIRuntimeException(
                     "Error invoking event method %s",
@@ -0,0 +1,153 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.spi.Invokers.MethodInvoker;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Public annotated methods of a class that may handle scope events, resolved once per class. Scopes check the
+ * annotations of these methods against their event types, and skip objects with no handlers altogether.
+ *
+ * @since 4.0
+ */
+class ScopeEventHandlers {
+
+    private static final ClassValue<ScopeEventHandlers> HANDLERS = new ClassValue<>() {
+        @Override
+        protected ScopeEventHandlers computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private static final ScopeEventHandlers NONE = new ScopeEventHandlers(new Handler[0]);
+
+    private final Handler[] handlers;
+
+    private ScopeEventHandlers(Handler[] handlers) {
+        this.handlers = handlers;
+    }
+
+    static ScopeEventHandlers of(Class<?> type) {
+        return HANDLERS.get(type);
+    }
+
+    private static ScopeEventHandlers resolve(Class<?> type) {
+        List<Handler> handlers = new ArrayList<>();
+
+        // 'getMethods' grabs public method from the class and its superclasses...
+        for (Method method : type.getMethods()) {
+            Class<? extends Annotation>[] annotationTypes = eventAnnotationTypes(method);
+            if (annotationTypes.length > 0) {
+                handlers.add(new Handler(method, annotationTypes));
+            }
+        }
+
+        return handlers.isEmpty() ? NONE : new ScopeEventHandlers(handlers.toArray(new Handler[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Annotation>[] eventAnnotationTypes(Method method) {
+        List<Class<? extends Annotation>> types = new ArrayList<>(1);
+        for (Annotation a : method.getAnnotations()) {
+
+            // JDK annotations (e.g. @Deprecated) can't be event types, skipping them excludes most JDK methods
+            Class<? extends Annotation> type = a.annotationType();
+            if (type.getClassLoader() != null) {
+                types.add(type);
+            }
+        }
+
+        return types.toArray(new Class[0]);
+    }
+
+    boolean isEmpty() {
+        return handlers.length == 0;
+    }
+
+    Handler[] getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * Invokes the handlers of a given event type on the object, without registering it with any scope.
+     */
+    static void postScopeEvent(Object object, Class<? extends Annotation> type, Object... eventParameters) {
+        for (Handler handler : of(object.getClass()).handlers) {
+            if (handler.handles(type)) {
+                new ScopeEventBinding(object, handler).onScopeEvent(eventParameters);
+            }
+        }
+    }
+
+    static class Handler {
+
+        private static final Invokers INVOKERS = new Invokers(true);
+
+        private final Method method;
+        private final Class<? extends Annotation>[] annotationTypes;
+        private final int argWidth;
+
+        // created lazily, as most annotated methods are not event handlers
+        private volatile MethodInvoker invoker;
+
+        Handler(Method method) {
+            this(method, eventAnnotationTypes(method));
+        }
+
+        Handler(Method method, Class<? extends Annotation>[] annotationTypes) {
+            this.method = method;
+            this.annotationTypes = annotationTypes;
+            this.argWidth = method.getParameterCount();
+        }
+
+        boolean handles(Class<? extends Annotation> eventType) {
+            for (Class<? extends Annotation> type : annotationTypes) {
+                if (type == eventType) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        int getArgWidth() {
+            return argWidth;
+        }
+
+        MethodInvoker getInvoker() {
+            MethodInvoker local = invoker;
+            if (local == null) {
+
+                // allow public methods of non-public classes to be annotated
+                method.setAccessible(true);
+                local = invoker = INVOKERS.method(method);
+            }
+            return local;
+        }
+    }
+}
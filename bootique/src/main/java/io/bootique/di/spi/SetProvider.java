@@ -22,10 +22,14 @@ package io.bootique.di.spi;
 import io.bootique.di.Key;
 import jakarta.inject.Provider;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 
 class SetProvider<T> implements Provider<Set<T>> {
 
@@ -33,6 +37,15 @@ class SetProvider<T> implements Provider<Set<T>> {
     private final Collection<Provider<? extends T>> providers;
     private final Key<Set<T>> bindingKey;
 
+    private volatile boolean snapshot;
+    private volatile boolean lazyElements;
+    private volatile boolean parallel;
+    private volatile Executor executor;
+    private volatile Set<T> cached;
+
+    // a parent injector with the same binding, whose set elements are included in this set
+    private volatile DefaultInjector parent;
+
     SetProvider(DefaultInjector injector, Key<Set<T>> bindingKey) {
         this.injector = injector;
         this.providers = new ConcurrentLinkedQueue<>();
@@ -41,22 +54,134 @@ class SetProvider<T> implements Provider<Set<T>> {
 
     @Override
     public Set<T> get() {
-        Set<T> set = new LinkedHashSet<>(providers.size());
+        Set<T> set = cached;
+        if (set != null) {
+            return set;
+        }
+
+        set = lazyElements ? createLazySet() : createSet();
+        if (snapshot) {
+            if (!lazyElements) {
+                set = Collections.unmodifiableSet(set);
+            }
+
+            if (allSingletons()) {
+                cached = set;
+            }
+        }
+
+        return set;
+    }
+
+    private Set<T> createSet() {
+        if (parallel) {
+            return createSetInParallel();
+        }
+
+        Set<T> set = createSetWithParentElements(providers.size());
         int i = 0;
         for (Provider<? extends T> provider : providers) {
-            int idx = i++;
-            injector.trace(() -> "Resolving set element " + idx);
-            T value = provider.get();
-            if (!set.add(value)) {
-                injector.throwException("Found duplicated value '%s' in set %s.", value, bindingKey);
-            }
+            injector.trace(TraceMessage.RESOLVING_SET_ELEMENT, null, i++);
+            addValue(set, provider.get());
+        }
+
+        return set;
+    }
+
+    private Set<T> createSetInParallel() {
+        List<T> values = ParallelElements.resolve(
+                injector,
+                List.copyOf(providers),
+                executor,
+                i -> injector.trace(TraceMessage.RESOLVING_SET_ELEMENT, null, i));
+
+        Set<T> set = createSetWithParentElements(values.size());
+        for (T value : values) {
+            addValue(set, value);
+        }
+
+        return set;
+    }
+
+    private Set<T> createSetWithParentElements(int size) {
+        if (parent == null) {
+            return new LinkedHashSet<>(size);
         }
 
+        Set<T> parentSet = parent.getInstance(bindingKey);
+        Set<T> set = new LinkedHashSet<>(parentSet.size() + size);
+        set.addAll(parentSet);
         return set;
     }
 
+    private void addValue(Set<T> set, T value) {
+        if (!set.add(value)) {
+            injector.throwException("Found duplicated value '%s' in set %s.", value, bindingKey);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<T> createLazySet() {
+        if (parent == null) {
+            return new LazyElements.LazySet<>(injector, bindingKey, providers.toArray(new Provider[0]));
+        }
+
+        List<Provider<? extends T>> all = new ArrayList<>();
+        for (T value : parent.getInstance(bindingKey)) {
+            all.add(new InstanceProvider<>(value));
+        }
+        all.addAll(providers);
+        return new LazyElements.LazySet<>(injector, bindingKey, all.toArray(new Provider[0]));
+    }
+
+    private boolean allSingletons() {
+        if (parent != null && !parent.isSingleton(bindingKey)) {
+            return false;
+        }
+
+        for (Provider<? extends T> provider : providers) {
+            if (!DICollectionBuilder.isSingletonElement(injector, provider)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void add(Provider<? extends T> provider) {
         providers.add(provider);
+        cached = null;
+    }
+
+    /**
+     * Includes elements of the same set binding of the parent injector in this set, ahead of the own elements.
+     */
+    void setParent(DefaultInjector parent) {
+        this.parent = parent;
+        this.cached = null;
+    }
+
+    /**
+     * Makes the provider return an unmodifiable set, that is created once if all its elements are singletons.
+     */
+    void setSnapshot() {
+        this.snapshot = true;
+        this.cached = null;
     }
 
+    /**
+     * Makes the provider create set elements concurrently on the executor, or on virtual threads, if the executor
+     * is null.
+     */
+    void setParallel(Executor executor) {
+        this.parallel = true;
+        this.executor = executor;
+    }
+
+    /**
+     * Makes the provider return unmodifiable sets whose elements are created on iteration.
+     */
+    void setLazyElements() {
+        this.lazyElements = true;
+        this.cached = null;
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import jakarta.inject.Provider;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * A scope used by the injector for singletons. Unlike the {@link DefaultScope}, scoped providers do not block on a
+ * monitor while the object is being created, and detect dependency cycles between the singletons created
+ * concurrently by different threads.
+ *
+ * @since 4.0
+ */
+public class SingletonScope extends DefaultScope {
+
+    @SafeVarargs
+    public SingletonScope(Class<? extends Annotation>... customEventTypes) {
+        super(customEventTypes);
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        return new SingletonScopeProvider<>(this, unscoped);
+    }
+}
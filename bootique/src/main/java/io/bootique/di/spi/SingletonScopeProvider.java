@@ -0,0 +1,341 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+import jakarta.inject.Provider;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A provider of the {@link SingletonScope}. The object state is tracked explicitly: the state field is either null
+ * (not created), a {@link Waiter} of the thread creating the object, or the object itself. Threads that find the
+ * object being created by another thread park until the creation completes, and the creating thread wakes them up.
+ * If the creation fails, the state is reset, and the waiting threads retry. Waiting threads are linked in an
+ * intrusive stack via their per-thread {@link Waiter}, so waiting doesn't allocate.
+ * <p>
+ * Before parking, a thread follows the chain of "owner thread waits for a singleton owned by another thread" links,
+ * and if it leads back to itself, throws an exception instead of deadlocking. Likewise, a thread requesting a
+ * singleton it is already creating gets an exception instead of infinite recursion.
+ * <p>
+ * Once the object is created, the provider also exposes it via a constant provider (see {@link #getConstant()}),
+ * that the injector hands out instead of this provider, so that the callers holding it bypass the scope checks. The
+ * constant provider is invalidated when the scope ends, after which it delegates back to this provider, so the callers
+ * still holding it get a new object.
+ *
+ * @since 4.0
+ */
+public class SingletonScopeProvider<T> implements Provider<T> {
+
+    // protects from spinning forever on a chain that is changing concurrently
+    private static final int MAX_CYCLE_CHAIN = 256;
+
+    private static final ThreadLocal<Waiter> WAITER = ThreadLocal.withInitial(Waiter::new);
+
+    private static final VarHandle STATE;
+    private static final VarHandle WAITERS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            STATE = lookup.findVarHandle(SingletonScopeProvider.class, "state", Object.class);
+            WAITERS = lookup.findVarHandle(SingletonScopeProvider.class, "waiters", Waiter.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Provider<T> delegate;
+    private final DefaultScope scope;
+
+    // null, Waiter of the creating thread, or the scoped object
+    private volatile Object state;
+
+    // threads waiting for the object creation to complete
+    private volatile Waiter waiters;
+
+    // deliberately non-volatile: a reader that doesn't see the ConstantProvider (or its object) yet simply falls back
+    // to this provider
+    private ConstantProvider constant;
+
+    public SingletonScopeProvider(DefaultScope scope, Provider<T> delegate) {
+        this.scope = scope;
+        this.delegate = delegate;
+
+        scope.addScopeEventListener(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+
+        // fast path
+        Object localState = state;
+        if (localState != null && !(localState instanceof Waiter)) {
+            return (T) localState;
+        }
+
+        Waiter me = WAITER.get();
+
+        while (true) {
+            localState = state;
+
+            if (localState == null) {
+                if (STATE.compareAndSet(this, null, me)) {
+                    return create(me);
+                }
+            } else if (localState == me) {
+                // the object depends on itself, and creating it again would recurse infinitely
+                return throwException(
+                        "Dependency cycle detected while creating a singleton in thread '%s': %s"
+                        , me.thread.getName()
+                        , describe());
+            } else if (localState instanceof Waiter owner) {
+                await(me, owner);
+            } else {
+                return (T) localState;
+            }
+        }
+    }
+
+    private T create(Waiter me) {
+        T instance;
+        try {
+            instance = checkNotNull(delegate.get());
+        } catch (Throwable th) {
+            // reset the state and let the waiting threads retry
+            state = null;
+            releaseWaiters();
+            throw th;
+        }
+
+        state = instance;
+        constant = new ConstantProvider(instance);
+        releaseWaiters();
+        scope.addScopeEventListener(instance);
+        return instance;
+    }
+
+    /**
+     * Returns a provider of the already created scoped object, or null if the object is not created yet, or the scope
+     * has ended since it was created.
+     */
+    Provider<T> getConstant() {
+        return constant;
+    }
+
+    private T checkNotNull(T instance) {
+        if (instance == null) {
+            throwException("Underlying provider (%s) returned NULL instance"
+                    , DIUtil.getProviderName(delegate));
+        }
+        return instance;
+    }
+
+    private void await(Waiter me, Waiter owner) {
+
+        // must be published before checking for cycles, so that the threads in a cycle can't miss each other
+        me.waitingFor = this;
+        try {
+            checkCycle(me, owner);
+
+            me.queued = true;
+            Waiter head;
+            do {
+                head = waiters;
+                me.next = head;
+            } while (!WAITERS.compareAndSet(this, head, me));
+
+            // the creation may have completed before we were queued, in which case nobody would wake us up
+            if (state != owner) {
+                releaseWaiters();
+            }
+
+            boolean interrupted = false;
+            while (me.queued) {
+                LockSupport.park(this);
+
+                // can't abandon the object creation, so defer the interrupt until the wait is over
+                interrupted |= Thread.interrupted();
+            }
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            me.waitingFor = null;
+        }
+    }
+
+    private void checkCycle(Waiter me, Waiter owner) {
+        Waiter next = owner;
+        for (int i = 0; i < MAX_CYCLE_CHAIN; i++) {
+
+            // the thread we forked from is blocked until we are done, so waiting for it will never end
+            if (me.isForkedFrom(next)) {
+                throwException(
+                        "Dependency cycle detected between singletons created by threads '%s' and '%s'. Waiting for: %s"
+                        , me.thread.getName()
+                        , next.thread.getName()
+                        , describe());
+            }
+
+            SingletonScopeProvider<?> awaited = next.waitingFor;
+            if (awaited == null) {
+                return;
+            }
+
+            Object awaitedState = awaited.state;
+            if (!(awaitedState instanceof Waiter awaitedOwner)) {
+                return;
+            }
+
+            if (awaitedOwner == me) {
+                throwException(
+                        "Dependency cycle detected between singletons created by threads '%s' and '%s'. Waiting for: %s"
+                        , me.thread.getName()
+                        , owner.thread.getName()
+                        , describe());
+            }
+
+            next = awaitedOwner;
+        }
+    }
+
+    /**
+     * Throws an exception carrying the injection trace of the current thread, if the delegate is bound to an injector.
+     */
+    private <R> R throwException(String message, Object... args) {
+        if (delegate instanceof TraceableProvider<?> tp) {
+            return tp.getInjector().throwException(message, args);
+        }
+
+        throw new DIRuntimeException(message, args);
+    }
+
+    private String describe() {
+        return delegate instanceof TraceableProvider<?> tp
+                ? tp.getKey().toString()
+                : DIUtil.getProviderName(delegate);
+    }
+
+    private void releaseWaiters() {
+        Waiter w = (Waiter) WAITERS.getAndSet(this, null);
+        while (w != null) {
+            // read everything we need before releasing the waiter, as it may be reused for another wait right away
+            Waiter next = w.next;
+            Thread thread = w.thread;
+            w.next = null;
+            w.queued = false;
+            LockSupport.unpark(thread);
+            w = next;
+        }
+    }
+
+    /**
+     * Returns an opaque marker of the current thread, to be passed to {@link #getForked(Object, Provider)} by the
+     * threads that do some work on behalf of the current thread, while the current thread is blocked waiting for them.
+     */
+    static Object forkOwner() {
+        return WAITER.get();
+    }
+
+    /**
+     * Invokes the provider, treating the current thread as a fork of the owner thread for the purpose of singleton
+     * cycle detection. Waiting for a singleton being created by the owner (or by a thread waiting for the owner) would
+     * never end, so it results in an exception instead.
+     */
+    static <T> T getForked(Object owner, Provider<T> provider) {
+        Waiter me = WAITER.get();
+        Waiter oldForkedFrom = me.forkedFrom;
+        me.forkedFrom = (Waiter) owner;
+        try {
+            return provider.get();
+        } finally {
+            me.forkedFrom = oldForkedFrom;
+        }
+    }
+
+    @AfterScopeEnd
+    public void afterScopeEnd() throws Exception {
+        ConstantProvider localConstant = constant;
+        if (localConstant != null) {
+            constant = null;
+            localConstant.invalidate();
+        }
+        Object localState = state;
+
+        if (localState != null && !(localState instanceof Waiter) && STATE.compareAndSet(this, localState, null)) {
+            scope.removeScopeEventListener(localState);
+        }
+    }
+
+    /**
+     * A provider of the created object, valid until the end of the scope. Its "get()" is a plain field read, and the
+     * invalidation cost is only paid on scope end. The field is deliberately non-volatile: the threads that synchronize
+     * with the scope end (e.g. the shutdown sequence) see the invalidation, while a call racing with the scope end may
+     * still return the old object, same as a call that started just before the scope end.
+     */
+    private final class ConstantProvider implements Provider<T> {
+
+        private T instance;
+
+        ConstantProvider(T instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public T get() {
+            T local = instance;
+            return local != null ? local : SingletonScopeProvider.this.get();
+        }
+
+        void invalidate() {
+            instance = null;
+        }
+    }
+
+    /**
+     * Per-thread wait state that also serves as the "being created" marker of the objects created by the thread.
+     */
+    private static final class Waiter {
+
+        final Thread thread = Thread.currentThread();
+
+        volatile SingletonScopeProvider<?> waitingFor;
+        volatile boolean queued;
+        Waiter next;
+
+        // a waiter of the thread that is blocked until this thread completes its work
+        volatile Waiter forkedFrom;
+
+        boolean isForkedFrom(Waiter waiter) {
+            for (Waiter w = forkedFrom; w != null; w = w.forkedFrom) {
+                if (w == waiter) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Scope;
+import jakarta.inject.Provider;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A scope for short-lived units of work, such as requests or tasks. Each unit of work is started with
+ * {@link #enter()} and ended by closing the returned {@link Handle}, normally in a try-with-resources block:
+ * <pre>
+ * try (TaskScope.Handle h = scope.enter()) {
+ *     injector.getInstance(MyTaskService.class).run();
+ * }
+ * </pre>
+ * Scoped instances and their event listeners are kept in a per-unit "arena" that is not shared with other units.
+ * When the handle is closed, {@link BeforeScopeEnd} is posted to the arena objects in the reverse order of their
+ * creation, and the arena is discarded as a whole, so ending a unit of work doesn't depend on the number of
+ * concurrently active units. The arena is bound to the entering thread (virtual or platform). To use it from other
+ * threads, wrap their tasks with {@link Handle#wrap(Runnable)} or {@link Handle#wrap(Callable)}.
+ *
+ * @since 4.0
+ */
+public class TaskScope implements Scope {
+
+    private final Class<? extends Annotation>[] eventTypes;
+    private final ThreadLocal<Arena> current;
+    private final AtomicInteger slots;
+
+    @SafeVarargs
+    public TaskScope(Class<? extends Annotation>... customEventTypes) {
+        this.current = new ThreadLocal<>();
+        this.slots = new AtomicInteger();
+
+        List<Class<? extends Annotation>> eventTypes = new ArrayList<>();
+        eventTypes.add(BeforeScopeEnd.class);
+        if (customEventTypes != null) {
+            eventTypes.addAll(Arrays.asList(customEventTypes));
+        }
+
+        @SuppressWarnings("unchecked")
+        Class<? extends Annotation>[] eventTypesArray = eventTypes.toArray(new Class[0]);
+        this.eventTypes = eventTypesArray;
+    }
+
+    /**
+     * Starts a new unit of work on the current thread. If another unit is already active on this thread, it is
+     * suspended until the returned handle is closed.
+     */
+    public Handle enter() {
+        Arena arena = new Arena();
+        return new Handle(arena, current.get(), true);
+    }
+
+    /**
+     * Returns whether there is an active unit of work on the current thread.
+     */
+    public boolean isActive() {
+        return current.get() != null;
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        return new TaskScopeProvider<>(unscoped, slots.getAndIncrement());
+    }
+
+    private boolean isEventType(Class<? extends Annotation> type) {
+        for (Class<? extends Annotation> t : eventTypes) {
+            if (t == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A handle of a unit of work active on a given thread. Closing the handle deactivates the unit on this thread,
+     * and, if the handle was returned from {@link #enter()}, ends the unit of work.
+     */
+    public class Handle implements AutoCloseable {
+
+        private final Arena arena;
+        private final Arena suspended;
+        private final Thread thread;
+        private final boolean owner;
+        private boolean closed;
+
+        Handle(Arena arena, Arena suspended, boolean owner) {
+            this.arena = arena;
+            this.suspended = suspended;
+            this.thread = Thread.currentThread();
+            this.owner = owner;
+
+            current.set(arena);
+        }
+
+        /**
+         * Returns a Runnable that runs the task with this handle's unit of work active on the calling thread.
+         * The unit must not be ended before the task is finished.
+         */
+        public Runnable wrap(Runnable task) {
+            return () -> {
+                try (Handle h = new Handle(arena, current.get(), false)) {
+                    task.run();
+                }
+            };
+        }
+
+        /**
+         * Returns a Callable that calls the task with this handle's unit of work active on the calling thread.
+         * The unit must not be ended before the task is finished.
+         */
+        public <V> Callable<V> wrap(Callable<V> task) {
+            return () -> {
+                try (Handle h = new Handle(arena, current.get(), false)) {
+                    return task.call();
+                }
+            };
+        }
+
+        /**
+         * Posts a scope event to the objects of this unit of work that have methods annotated with the event type.
+         * The event type must be one of this scope event types.
+         */
+        public void postScopeEvent(Class<? extends Annotation> type, Object... eventParameters) {
+            if (!isEventType(type)) {
+                throw new DIRuntimeException("'%s' is not an event type of this scope", type.getName());
+            }
+
+            arena.postScopeEvent(type, eventParameters);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+
+            if (thread != Thread.currentThread()) {
+                throw new DIRuntimeException("Scope handle must be closed by the thread that created it");
+            }
+
+            closed = true;
+
+            // restore the suspended unit, or clear the thread state completely, not to leave any garbage in
+            // pooled threads
+            if (suspended != null) {
+                current.set(suspended);
+            } else {
+                current.remove();
+            }
+
+            if (owner) {
+                arena.close();
+            }
+        }
+    }
+
+    /**
+     * Scoped instances of a single unit of work, stored in the slots assigned to each scoped provider, and the
+     * objects that listen to scope events. Each slot has its own creation lock, so that the objects of different
+     * bindings can be created concurrently by the threads sharing the unit of work, and the arena lock is only held
+     * while publishing the created objects. Locks are {@link ReentrantLock} (and not "synchronized") to avoid
+     * pinning the carrier threads of the virtual threads.
+     */
+    static class Arena {
+
+        private final ReentrantLock lock;
+        private final Map<Integer, ReentrantLock> slotLocks;
+        private final List<Object> listeners;
+
+        // copy-on-write to allow unsynchronized reads
+        private volatile Object[] instances;
+        private volatile boolean closed;
+
+        Arena() {
+            this.lock = new ReentrantLock();
+            this.slotLocks = new ConcurrentHashMap<>();
+            this.listeners = new ArrayList<>();
+            this.instances = new Object[8];
+        }
+
+        Object get(int slot) {
+            Object[] local = instances;
+            return slot < local.length ? local[slot] : null;
+        }
+
+        <T> T getOrCreate(int slot, Provider<T> delegate) {
+
+            @SuppressWarnings("unchecked")
+            T instance = (T) get(slot);
+            if (instance != null) {
+                return instance;
+            }
+
+            ReentrantLock slotLock = slotLocks.computeIfAbsent(slot, s -> new ReentrantLock());
+            slotLock.lock();
+            try {
+
+                @SuppressWarnings("unchecked")
+                T existing = (T) get(slot);
+                if (existing != null) {
+                    return existing;
+                }
+
+                if (closed) {
+                    throw new DIRuntimeException("Unit of work is already ended");
+                }
+
+                T created = delegate.get();
+                if (created == null) {
+                    throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
+                            , DIUtil.getProviderName(delegate));
+                }
+
+                publish(slot, created);
+                return created;
+            } finally {
+                slotLock.unlock();
+            }
+        }
+
+        private void publish(int slot, Object created) {
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new DIRuntimeException("Unit of work is already ended");
+                }
+
+                Object[] local = instances;
+                int length = slot < local.length ? local.length : Math.max(slot + 1, local.length * 2);
+                Object[] copy = Arrays.copyOf(local, length);
+                copy[slot] = created;
+                instances = copy;
+
+                if (!ScopeEventHandlers.of(created.getClass()).isEmpty()) {
+                    listeners.add(created);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void postScopeEvent(Class<? extends Annotation> type, Object... eventParameters) {
+            Object[] objects;
+
+            lock.lock();
+            try {
+                objects = listeners.toArray();
+            } finally {
+                lock.unlock();
+            }
+
+            // dispatch in the reverse order of creation, so that dependencies are notified after their dependents
+            for (int i = objects.length - 1; i >= 0; i--) {
+                ScopeEventHandlers.postScopeEvent(objects[i], type, eventParameters);
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                postScopeEvent(BeforeScopeEnd.class);
+            } finally {
+
+                // drop the whole arena at once
+                instances = new Object[0];
+                lock.lock();
+                try {
+                    listeners.clear();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    class TaskScopeProvider<T> implements Provider<T> {
+
+        private final Provider<T> delegate;
+        private final int slot;
+
+        TaskScopeProvider(Provider<T> delegate, int slot) {
+            this.delegate = delegate;
+            this.slot = slot;
+        }
+
+        @Override
+        public T get() {
+            Arena arena = current.get();
+            if (arena == null) {
+                throw new DIRuntimeException("No active unit of work to provide a scoped instance of (%s)"
+                        , DIUtil.getProviderName(delegate));
+            }
+
+            return arena.getOrCreate(slot, delegate);
+        }
+    }
+}
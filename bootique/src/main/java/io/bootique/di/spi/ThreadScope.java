@@ -0,0 +1,124 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import jakarta.inject.Provider;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A scope that creates one instance per thread. Useful for the objects that are expensive to create and are not
+ * thread-safe, such as parsers or formatters, when they are used from a bounded pool of platform threads. Since
+ * virtual threads are normally not reused, thread scope would create an instance per task for them, so
+ * {@link PoolScope} is a better fit in this case.
+ * <p>
+ * {@link #shutdown()} posts {@link BeforeScopeEnd} to the instances of all threads that are still alive and resets
+ * the scope, so that the threads would get new instances afterwards.
+ *
+ * @since 4.0
+ */
+public class ThreadScope extends DefaultScope {
+
+    // how often to purge listeners of the instances that were garbage collected with their threads
+    private static final int PURGE_INTERVAL = 1024;
+
+    private final AtomicInteger registrations;
+
+    @SafeVarargs
+    public ThreadScope(Class<? extends Annotation>... customEventTypes) {
+        super(customEventTypes);
+        this.registrations = new AtomicInteger();
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+
+        // providers can't reach the instances of other threads to unregister them one by one, so drop all the
+        // instance listeners at once, keeping only the providers
+        for (Class<? extends Annotation> type : eventTypes) {
+            if (type != AfterScopeEnd.class) {
+                listeners.get(type.getName()).clear();
+            }
+        }
+    }
+
+    @Override
+    public void addScopeEventListener(Object object) {
+        super.addScopeEventListener(object);
+
+        if (registrations.incrementAndGet() % PURGE_INTERVAL == 0) {
+            for (Class<? extends Annotation> type : eventTypes) {
+                listeners.get(type.getName()).removeIf(binding -> binding.getObject() == null);
+            }
+        }
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        return new ThreadScopeProvider<>(this, unscoped);
+    }
+
+    /**
+     * A provider that keeps a separate instance for each calling thread.
+     */
+    static class ThreadScopeProvider<T> implements Provider<T> {
+
+        private final ThreadScope scope;
+        private final Provider<T> delegate;
+
+        // replaced on scope end, as there's no way to clear thread locals of other threads
+        private volatile ThreadLocal<T> instances;
+
+        ThreadScopeProvider(ThreadScope scope, Provider<T> delegate) {
+            this.scope = scope;
+            this.delegate = delegate;
+            this.instances = new ThreadLocal<>();
+
+            scope.addScopeEventListener(this);
+        }
+
+        @Override
+        public T get() {
+            ThreadLocal<T> localInstances = instances;
+            T instance = localInstances.get();
+            if (instance == null) {
+                instance = delegate.get();
+                if (instance == null) {
+                    throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
+                            , DIUtil.getProviderName(delegate));
+                }
+
+                localInstances.set(instance);
+                scope.addScopeEventListener(instance);
+            }
+
+            return instance;
+        }
+
+        @AfterScopeEnd
+        public void afterScopeEnd() {
+            instances = new ThreadLocal<>();
+        }
+    }
+}
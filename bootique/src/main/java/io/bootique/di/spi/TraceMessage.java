@@ -0,0 +1,61 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import jakarta.inject.Provider;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * A precomputed injection trace message. Trace sites record a message constant together with a context object and an
+ * int argument, so that the normal injection path doesn't allocate. The text is only formatted when an exception is
+ * thrown and the trace is attached to it.
+ *
+ * @since 4.0
+ */
+@FunctionalInterface
+interface TraceMessage {
+
+    TraceMessage INVOKING = (provider, i) -> "Invoking " + DIUtil.getProviderName((Provider<?>) provider);
+
+    TraceMessage GET_ARGUMENT = (provider, i) -> "Get argument " + i + " for " + DIUtil.getProviderName((Provider<?>) provider);
+
+    TraceMessage RESOLVING_CUSTOM_PROVIDER = (type, i) -> "Resolving custom provider of type " + type;
+
+    TraceMessage TARGET_IMPLEMENTATION = (key, i) -> "Target implementation is " + key;
+
+    TraceMessage CREATE_PROXY = (key, i) -> "Create proxy for binding " + key;
+
+    TraceMessage INJECTING_FIELD = (field, i) -> "Injecting field '" + ((Field) field).getName()
+            + "' of class " + ((Field) field).getDeclaringClass().getName();
+
+    TraceMessage INJECTING_METHOD = (method, i) -> "Injecting method '" + ((Method) method).getName()
+            + "()' of class " + ((Method) method).getDeclaringClass().getName();
+
+    TraceMessage GET_METHOD_ARGUMENT = (method, i) -> "Get argument " + i + " for method '" + ((Method) method).getName()
+            + "()' of class '" + ((Method) method).getDeclaringClass().getName() + "'";
+
+    TraceMessage RESOLVING_SET_ELEMENT = (ignored, i) -> "Resolving set element " + i;
+
+    TraceMessage RESOLVING_MAP_KEY = (key, i) -> "Resolve map key '" + key + "'";
+
+    String format(Object context, int argument);
+}
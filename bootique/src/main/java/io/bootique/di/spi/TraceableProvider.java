@@ -22,6 +22,7 @@ package io.bootique.di.spi;
 import io.bootique.di.Key;
 import jakarta.inject.Provider;
 
+import java.util.Collection;
 import java.util.Objects;
 
 /**
@@ -29,7 +30,7 @@ import java.util.Objects;
  *
  * @param <T> type of provided object
  */
-class TraceableProvider<T> implements Provider<T> {
+class TraceableProvider<T> implements Provider<T>, DependencyAwareProvider {
 
     private final Key<T> key;
     private final Provider<T> delegate;
@@ -58,6 +59,13 @@ class TraceableProvider<T> implements Provider<T> {
         return result;
     }
 
+    @Override
+    public void collectDependencies(Collection<Key<?>> dependencies) {
+        if (delegate instanceof DependencyAwareProvider aware) {
+            aware.collectDependencies(dependencies);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     <P extends Provider<T>> P unwrap() {
         return (P)delegate;
@@ -66,4 +74,8 @@ class TraceableProvider<T> implements Provider<T> {
     public Key<T> getKey() {
         return key;
     }
+
+    DefaultInjector getInjector() {
+        return injector;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Collects the results of the tasks running in parallel in the order of the tasks, so that the callers see the same
+ * results (and the same failure) as if the tasks were run one by one.
+ * <p>
+ * This is an internal class shared by the DI container and the configuration loaders. It is not a part of the
+ * Bootique API, and may change or go away without notice.
+ *
+ * @since 4.0
+ */
+public class ParallelResults {
+
+    /**
+     * Waits for all the futures and returns their results in the order of the futures. If any of the tasks fail,
+     * rethrows the exception of the first failed task, with the exceptions of other failed tasks added as suppressed.
+     *
+     * @param futures       futures of the tasks running in parallel
+     * @param exceptionWrap wraps the checked exceptions of the tasks, as well as an {@link InterruptedException} of the
+     *                      waiting thread, into unchecked exceptions of the caller's choice
+     * @param onFailure     receives the index of the first failed task
+     */
+    public static <T> List<T> collect(
+            List<? extends Future<? extends T>> futures,
+            Function<Throwable, RuntimeException> exceptionWrap,
+            IntConsumer onFailure) {
+
+        List<T> result = new ArrayList<>(futures.size());
+        RuntimeException exception = null;
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                result.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                RuntimeException taskException = unwrap(e.getCause(), exceptionWrap);
+                if (exception == null) {
+                    onFailure.accept(i);
+                    exception = taskException;
+                } else {
+                    exception.addSuppressed(taskException);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw exceptionWrap.apply(e);
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+
+        return result;
+    }
+
+    private static RuntimeException unwrap(Throwable th, Function<Throwable, RuntimeException> exceptionWrap) {
+        if (th instanceof RuntimeException re) {
+            return re;
+        }
+
+        if (th instanceof Error e) {
+            throw e;
+        }
+
+        return exceptionWrap.apply(th);
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.profile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records a timeline of nested startup phases ("spans"), that can be exported in the Chrome trace event format
+ * (viewable in "chrome://tracing" or Perfetto), or summarized as text. Startup code marks its phases via the static
+ * {@link #span(String)} methods, which return a no-op span unless a profiler is running, so the instrumentation is
+ * nearly free when profiling is off. Only one profiler can run at a time, and it records spans from all threads.
+ *
+ * @since 4.0
+ */
+public class StartupProfiler {
+
+    private static final AtomicReference<StartupProfiler> RUNNING = new AtomicReference<>();
+    private static final Span NOOP_SPAN = () -> {
+    };
+
+    private final long startNanos;
+    private final Queue<Event> events;
+    private final ThreadLocal<OpenSpans> openSpans;
+
+    private StartupProfiler() {
+        this.startNanos = System.nanoTime();
+        this.events = new ConcurrentLinkedQueue<>();
+        this.openSpans = ThreadLocal.withInitial(OpenSpans::new);
+    }
+
+    /**
+     * Starts a new profiler that will be recording spans until stopped. If another profiler is already running, the
+     * returned profiler will record nothing.
+     */
+    public static StartupProfiler start() {
+        StartupProfiler profiler = new StartupProfiler();
+        RUNNING.compareAndSet(null, profiler);
+        return profiler;
+    }
+
+    /**
+     * Starts a span with a given name, that ends when the returned object is closed. Intended to be used in a
+     * try-with-resources block.
+     */
+    public static Span span(String name) {
+        StartupProfiler profiler = RUNNING.get();
+        return profiler != null ? profiler.newSpan(name, null) : NOOP_SPAN;
+    }
+
+    /**
+     * Starts a span named after a phase and its subject, e.g. a module type. The name is only built if the profiler is
+     * running.
+     */
+    public static Span span(String phase, Object subject) {
+        StartupProfiler profiler = RUNNING.get();
+        return profiler != null ? profiler.newSpan(phase, subject) : NOOP_SPAN;
+    }
+
+    /**
+     * Stops recording spans. Spans that are still open will not be recorded when closed.
+     *
+     * @return true if this profiler was running before this call
+     */
+    public boolean stop() {
+        return RUNNING.compareAndSet(this, null);
+    }
+
+    /**
+     * Returns recorded spans ordered by their start time.
+     */
+    public List<Event> getEvents() {
+        List<Event> result = new ArrayList<>(events);
+        result.sort(Comparator.comparingLong(Event::getStartNanos));
+        return result;
+    }
+
+    /**
+     * Writes recorded spans as a Chrome trace event JSON.
+     */
+    public void writeChromeTrace(Appendable out) throws IOException {
+        List<Event> events = getEvents();
+
+        out.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+        // thread names metadata
+        Map<Long, String> threads = new LinkedHashMap<>();
+        events.forEach(e -> threads.putIfAbsent(e.getThreadId(), e.getThreadName()));
+
+        String separator = "";
+        for (Map.Entry<Long, String> t : threads.entrySet()) {
+            out.append(separator).append("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":")
+                    .append(String.valueOf(t.getKey()))
+                    .append(",\"args\":{\"name\":");
+            appendString(out, t.getValue());
+            out.append("}}");
+            separator = ",";
+        }
+
+        for (Event e : events) {
+            out.append(separator).append("\n{\"name\":");
+            appendString(out, e.getName());
+            out.append(",\"cat\":\"bootique\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(String.valueOf(e.getThreadId()))
+                    .append(",\"ts\":").append(String.valueOf(e.getStartNanos() / 1000))
+                    .append(",\"dur\":").append(String.valueOf(e.getDurationNanos() / 1000))
+                    .append('}');
+            separator = ",";
+        }
+
+        out.append("\n]}\n");
+    }
+
+    /**
+     * Returns a text report of the slowest recorded spans. Spans are ranked by their self time (i.e. excluding the
+     * nested spans of the same thread), so that the wrapper phases do not crowd out the phases doing the actual work.
+     *
+     * @param limit max number of spans to include
+     */
+    public String summary(int limit) {
+        List<Event> slowest = new ArrayList<>(events);
+        slowest.sort(Comparator.comparingLong(Event::getSelfNanos).reversed());
+
+        StringBuilder out = new StringBuilder("Slowest startup phases (self / total):");
+        slowest.stream().limit(limit).forEach(e -> out
+                .append(System.lineSeparator())
+                .append(String.format("%10.3f ms %10.3f ms  %-24s %s",
+                        e.getSelfNanos() / 1_000_000.,
+                        e.getDurationNanos() / 1_000_000.,
+                        e.getThreadName(),
+                        e.getName())));
+        return out.toString();
+    }
+
+    private Span newSpan(String phase, Object subject) {
+        OpenSpans threadSpans = openSpans.get();
+        Thread thread = Thread.currentThread();
+        int spanDepth = threadSpans.open();
+        long start = System.nanoTime();
+
+        return () -> {
+            long end = System.nanoTime();
+            long childNanos = threadSpans.close(spanDepth, end - start);
+
+            // the profiler may have been stopped while the span was open
+            if (RUNNING.get() == this) {
+                String name = subject != null ? phase + " " + subjectName(subject) : phase;
+                events.add(new Event(
+                        name,
+                        threadName(thread),
+                        thread.threadId(),
+                        start - startNanos,
+                        end - start,
+                        end - start - childNanos,
+                        spanDepth));
+            }
+        };
+    }
+
+    private static String subjectName(Object subject) {
+        return subject instanceof Class<?> c ? c.getName() : String.valueOf(subject);
+    }
+
+    private static String threadName(Thread thread) {
+        String name = thread.getName();
+        return name.isEmpty() ? "#" + thread.threadId() : name;
+    }
+
+    private static void appendString(Appendable out, String string) throws IOException {
+        out.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Per-thread stack of open spans, accumulating the time of the nested spans for each level.
+     */
+    private static class OpenSpans {
+
+        private int depth;
+        private long[] childNanos = new long[8];
+
+        int open() {
+            if (depth == childNanos.length) {
+                childNanos = Arrays.copyOf(childNanos, depth * 2);
+            }
+
+            childNanos[depth] = 0;
+            return depth++;
+        }
+
+        long close(int spanDepth, long durationNanos) {
+            depth = spanDepth;
+            if (spanDepth > 0) {
+                childNanos[spanDepth - 1] += durationNanos;
+            }
+
+            return childNanos[spanDepth];
+        }
+    }
+
+    /**
+     * A phase of startup that ends when closed.
+     */
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * A recorded span.
+     */
+    public static class Event {
+
+        private final String name;
+        private final String threadName;
+        private final long threadId;
+        private final long startNanos;
+        private final long durationNanos;
+        private final long selfNanos;
+        private final int depth;
+
+        Event(String name, String threadName, long threadId, long startNanos, long durationNanos, long selfNanos, int depth) {
+            this.name = name;
+            this.threadName = threadName;
+            this.threadId = threadId;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.selfNanos = selfNanos;
+            this.depth = depth;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public long getThreadId() {
+            return threadId;
+        }
+
+        /**
+         * Returns span start time relative to the profiler start.
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Returns span duration excluding the nested spans of the same thread.
+         */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        /**
+         * Returns span nesting level within its thread, zero for the top-level spans.
+         */
+        public int getDepth() {
+            return depth;
+        }
+    }
+}
@@ -19,10 +19,18 @@
 
 package io.bootique;
 
+import io.bootique.di.Key;
+import io.bootique.di.ProvisionStats;
+import io.bootique.run.Runner;
+import io.bootique.shutdown.ShutdownManager;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BQRuntimeIT {
 
@@ -48,9 +56,50 @@ public class BQRuntimeIT {
         assertEquals("-- .. --", rt.getAppMetadata().getDescription());
     }
 
+    @Test
+    public void getProvisionStats() {
+        assertTrue(Bootique.app().createRuntime().getProvisionStats().isEmpty());
+
+        BQRuntime rt = Bootique.app("--di-stats=3").provisionStats().createRuntime();
+        assertTrue(rt.run().isSuccess());
+
+        ProvisionStats stats = rt.getProvisionStats().stream()
+                .filter(s -> s.getKey().equals(Key.get(Runner.class)))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(1, stats.getCount());
+        assertEquals("singleton", stats.getScope());
+        assertNotNull(stats.getFirstThread());
+    }
+
+    @Test
+    public void createChild() {
+        BQRuntime rt = Bootique.app().createRuntime();
+        BQRuntime child = rt.createChild(b -> b.bind(Tenant.class).toInstance(new Tenant("t1")));
+
+        assertEquals("t1", child.getInstance(Tenant.class).name);
+        assertThrows(NullPointerException.class, () -> rt.getInstance(Tenant.class));
+
+        assertSame(rt.getEnvironment(), child.getEnvironment());
+        assertNotSame(rt.getInstance(ShutdownManager.class), child.getInstance(ShutdownManager.class));
+
+        child.shutdown();
+        assertNotNull(rt.getEnvironment());
+    }
+
     @Test
     public void getModulesMetadata() {
         BQRuntime rt = Bootique.app().createRuntime();
         assertNotNull(rt.getModulesMetadata());
     }
+
+    static class Tenant {
+
+        final String name;
+
+        Tenant(String name) {
+            this.name = name;
+        }
+    }
 }
@@ -25,16 +25,24 @@ import io.bootique.command.Command;
 import io.bootique.command.CommandOutcome;
 import io.bootique.di.Injector;
 import io.bootique.di.Key;
+import io.bootique.env.Environment;
 import io.bootique.it.ItestModule2;
 import io.bootique.log.BootLogger;
 import io.bootique.log.DefaultBootLogger;
 import io.bootique.meta.application.CommandMetadata;
+import io.bootique.meta.module.ModuleMetadata;
+import io.bootique.meta.module.ModulesMetadata;
 import io.bootique.shutdown.DefaultShutdownManager;
 import io.bootique.shutdown.ShutdownManager;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,6 +59,17 @@ public class BootiqueIT {
         assertTrue(outcome.isSuccess());
     }
 
+    @Test
+    public void exec_ProfileStartup(@TempDir Path dir) throws IOException {
+        Path profile = dir.resolve("profile.json");
+        CommandOutcome outcome = Bootique.app(args).profileStartup(profile).exec();
+        assertTrue(outcome.isSuccess());
+
+        String json = Files.readString(profile);
+        assertTrue(json.contains("\"create injector\""), json);
+        assertTrue(json.contains("\"configure io.bootique.BQCoreModule\""), json);
+    }
+
     @Test
     public void exec_Failure() {
         CommandOutcome outcome = Bootique.app("-a").module(b ->
@@ -117,4 +136,34 @@ public class BootiqueIT {
         String[] args = i.getInstance(Key.get(String[].class, Args.class));
         assertArrayEquals(this.args, args);
     }
+
+    @Test
+    public void template() {
+        BQRuntimeTemplate template = Bootique.app("a").autoLoadModules().template();
+
+        BQRuntime r1 = template.createRuntime("b");
+        BQRuntime r2 = template.createRuntime(Map.of("bq.x", "y"), "c", "d");
+
+        assertArrayEquals(new String[]{"a", "b"}, r1.getArgs());
+        assertArrayEquals(new String[]{"a", "c", "d"}, r2.getArgs());
+
+        assertNull(r1.getInstance(Environment.class).getProperty("bq.x"));
+        assertEquals("y", r2.getInstance(Environment.class).getProperty("bq.x"));
+
+        assertNotSame(r1.getInstance(ShutdownManager.class), r2.getInstance(ShutdownManager.class));
+
+        List<String> modules1 = r1.getInstance(ModulesMetadata.class).getModules().stream().map(ModuleMetadata::getName).toList();
+        List<String> modules2 = r2.getInstance(ModulesMetadata.class).getModules().stream().map(ModuleMetadata::getName).toList();
+        assertEquals(modules1, modules2);
+        assertTrue(modules1.contains("ItestModule2"), modules1::toString);
+    }
+
+    @Test
+    public void template_IgnoresLaterModules() {
+        Bootique app = Bootique.app();
+        BQRuntimeTemplate template = app.template();
+        app.module(b -> b.bind(String.class).toInstance("x"));
+
+        assertFalse(template.createRuntime().getInstance(Injector.class).hasProvider(Key.get(String.class)));
+    }
 }
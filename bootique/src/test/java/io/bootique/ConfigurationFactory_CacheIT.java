@@ -0,0 +1,89 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique;
+
+import io.bootique.config.ConfigurationFactory;
+import io.bootique.config.jackson.JsonConfigurationCache;
+import io.bootique.type.TypeRef;
+import io.bootique.unit.TestAppManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConfigurationFactory_CacheIT {
+
+    @RegisterExtension
+    final TestAppManager appManager = new TestAppManager();
+
+    @TempDir
+    Path dir;
+
+    private Map<String, Object> config(Path config, Path cache) {
+        BQRuntime runtime = appManager.runtime(Bootique
+                .app("--config=" + config)
+                .module(b -> BQCoreModule.extend(b).setProperty(JsonConfigurationCache.CACHE_DIR_PROPERTY, cache.toString())));
+
+        return runtime.getInstance(ConfigurationFactory.class).config(new TypeRef<>() {
+        }, "");
+    }
+
+    private List<Path> cachedFiles(Path cache) throws IOException {
+        try (Stream<Path> files = Files.list(cache)) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    public void cache() throws IOException {
+        Path config = Files.writeString(dir.resolve("c.yml"), "a: b");
+        Path cache = dir.resolve("cache");
+
+        assertEquals("b", config(config, cache).get("a"));
+
+        List<Path> cached = cachedFiles(cache);
+        assertEquals(1, cached.size());
+
+        // tamper with the cached tree to ensure the second run is reading from the cache
+        Files.writeString(cached.get(0), "{\"a\":\"cached\"}");
+        assertEquals("cached", config(config, cache).get("a"));
+        assertEquals(1, cachedFiles(cache).size());
+    }
+
+    @Test
+    public void cache_SourceChanged() throws IOException {
+        Path config = Files.writeString(dir.resolve("c.yml"), "a: b");
+        Path cache = dir.resolve("cache");
+
+        assertEquals("b", config(config, cache).get("a"));
+
+        Files.writeString(config, "a: changed");
+        assertEquals("changed", config(config, cache).get("a"));
+        assertEquals(2, cachedFiles(cache).size());
+    }
+}
@@ -323,9 +323,10 @@ public class CommandDecoratorIT {
                 tg = tg.getParent();
             }
 
+            // threads may terminate between counting and enumeration, leaving some array slots empty
             Thread[] active = new Thread[tg.activeCount()];
-            tg.enumerate(active);
-            return Arrays.stream(active);
+            int count = tg.enumerate(active);
+            return Arrays.stream(active, 0, count);
         }
     }
 
@@ -51,6 +51,50 @@ public class JsonConfigurationFactoryTest {
         assertEquals(55, b1.i);
     }
 
+    @Test
+    public void config_MemoizationShared() {
+        JsonConfigurationFactory factory = new JsonConfigurationFactory(
+                YamlReader.read("b1:\n  s: SS\n  i: 55\nb2:\n  s: SS\n  i: 55"),
+                new ObjectMapper(),
+                JsonConfigurationFactory.Memoization.SHARED);
+
+        Bean1 b1 = factory.config(Bean1.class, "b1");
+        assertSame(b1, factory.config(Bean1.class, "b1"));
+        assertSame(b1, factory.config(new TypeRef<Bean1>() {
+        }, "b1"));
+        assertNotSame(b1, factory.config(Bean1.class, "b2"));
+        assertEquals(2, factory.getCacheMisses());
+        assertEquals(2, factory.getCacheHits());
+
+        factory.invalidateCache();
+        assertNotSame(b1, factory.config(Bean1.class, "b1"));
+        assertEquals(3, factory.getCacheMisses());
+    }
+
+    @Test
+    public void config_MemoizationCopy() {
+        JsonConfigurationFactory factory = new JsonConfigurationFactory(
+                YamlReader.read("b1:\n  s: SS\n  i: 55"),
+                new ObjectMapper(),
+                JsonConfigurationFactory.Memoization.COPY);
+
+        Bean1 b1 = factory.config(Bean1.class, "b1");
+        Bean1 b2 = factory.config(Bean1.class, "b1");
+        assertNotSame(b1, b2);
+        assertEquals("SS", b2.getS());
+        assertEquals(55, b2.getI());
+        assertEquals(1, factory.getCacheMisses());
+        assertEquals(1, factory.getCacheHits());
+    }
+
+    @Test
+    public void config_NoMemoization() {
+        JsonConfigurationFactory factory = factory("s: SS\ni: 55");
+        assertNotSame(factory.config(Bean1.class, ""), factory.config(Bean1.class, ""));
+        assertEquals(0, factory.getCacheMisses());
+        assertEquals(0, factory.getCacheHits());
+    }
+
     @Test
     public void config_Nested() {
         Bean2 b2 = factory("b1:\n  s: SS\n  i: 55").config(Bean2.class, "");
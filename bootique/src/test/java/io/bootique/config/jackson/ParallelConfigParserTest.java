@@ -0,0 +1,76 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.config.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelConfigParserTest {
+
+    @Test
+    public void parse_Order() {
+
+        // each source waits for all others to start, so the test would hang unless they are parsed concurrently
+        CountDownLatch started = new CountDownLatch(5);
+        List<JsonNode> parsed = ParallelConfigParser.parse(List.of("a", "b", "c", "d", "e"), s -> {
+            started.countDown();
+            try {
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return new TextNode(s);
+        });
+
+        assertEquals(List.of(
+                new TextNode("a"),
+                new TextNode("b"),
+                new TextNode("c"),
+                new TextNode("d"),
+                new TextNode("e")), parsed);
+    }
+
+    @Test
+    public void parse_Single() {
+        assertEquals(List.of(new TextNode("a")), ParallelConfigParser.parse(List.of("a"), TextNode::new));
+        assertEquals(List.of(), ParallelConfigParser.parse(List.<String>of(), TextNode::new));
+    }
+
+    @Test
+    public void parse_Exception() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> ParallelConfigParser.parse(List.of("a", "b", "c"), s -> {
+            if (!s.equals("a")) {
+                throw new IllegalStateException("failed " + s);
+            }
+            return new TextNode(s);
+        }));
+
+        assertEquals("failed b", e.getMessage());
+        assertEquals(1, e.getSuppressed().length);
+        assertEquals("failed c", e.getSuppressed()[0].getMessage());
+    }
+}
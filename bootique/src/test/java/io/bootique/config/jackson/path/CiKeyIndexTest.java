@@ -0,0 +1,85 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.config.jackson.path;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.bootique.config.jackson.YamlReader;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CiKeyIndexTest {
+
+    private static ObjectNode bigNode() {
+        StringBuilder yaml = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            yaml.append("key").append(i).append(": v").append(i).append('\n');
+        }
+
+        yaml.append("MixedCase:\n  Nested: x\n");
+        yaml.append("mixedcase: y\n");
+        return (ObjectNode) YamlReader.read(yaml.toString());
+    }
+
+    @Test
+    public void getKey() {
+        CiKeyIndex index = new CiKeyIndex();
+        ObjectNode node = bigNode();
+
+        assertEquals("key5", index.getKey(node, "KEY5"));
+        assertEquals("key99", index.getKey(node, "kEy99"));
+        assertNull(index.getKey(node, "key100"));
+    }
+
+    @Test
+    public void getKey_FirstMatchWins() {
+        CiKeyIndex index = new CiKeyIndex();
+        assertEquals("MixedCase", index.getKey(bigNode(), "MIXEDCASE"));
+    }
+
+    @Test
+    public void getKey_SmallNode() {
+        CiKeyIndex index = new CiKeyIndex();
+        ObjectNode node = (ObjectNode) YamlReader.read("Ab: 1\ncd: 2");
+
+        assertEquals("Ab", index.getKey(node, "aB"));
+        assertNull(index.getKey(node, "x"));
+    }
+
+    @Test
+    public void normalize() {
+        assertEquals(CiKeyIndex.normalize("ABC"), CiKeyIndex.normalize("abc"));
+        assertEquals(CiKeyIndex.normalize("İx"), CiKeyIndex.normalize("iX"));
+        assertSame("abc", CiKeyIndex.normalize("abc"));
+    }
+
+    @Test
+    public void ciPropertySegment_WithIndex() {
+        JsonNode node = bigNode();
+        Optional<PathSegment<?>> last = CiPropertySegment
+                .create(node, "MIXEDCASE.nested", new CiKeyIndex())
+                .lastPathComponent();
+
+        assertEquals("x", last.get().getNode().asText());
+    }
+}
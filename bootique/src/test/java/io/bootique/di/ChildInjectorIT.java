@@ -0,0 +1,144 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockImplementation1Alt;
+import io.bootique.di.mock.MockImplementation2;
+import io.bootique.di.mock.MockInterface1;
+import io.bootique.di.mock.MockInterface1_Decorator1;
+import io.bootique.di.mock.MockInterface2;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChildInjectorIT {
+
+    @Test
+    public void sharesParentSingletons() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope());
+        Injector child1 = parent.createChild();
+        Injector child2 = parent.createChild();
+
+        MockInterface1 s = parent.getInstance(MockInterface1.class);
+        assertSame(s, child1.getInstance(MockInterface1.class));
+        assertSame(s, child2.getInstance(MockInterface1.class));
+        assertTrue(child1.hasProvider(Key.get(MockInterface1.class)));
+        assertTrue(child1.isSingleton(MockInterface1.class));
+    }
+
+    @Test
+    public void override() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(MockInterface1.class).to(MockImplementation1.class));
+        Injector child = parent.createChild(b -> b.bind(MockInterface1.class).to(MockImplementation1Alt.class));
+
+        assertInstanceOf(MockImplementation1.class, parent.getInstance(MockInterface1.class));
+        assertInstanceOf(MockImplementation1Alt.class, child.getInstance(MockInterface1.class));
+    }
+
+    @Test
+    public void childDependsOnParent() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope());
+        Injector child = parent.createChild(b -> b.bind(MockInterface2.class).to(MockImplementation2.class));
+
+        MockInterface2 s2 = child.getInstance(MockInterface2.class);
+        assertEquals("altered_MyName", s2.getAlteredName());
+        assertFalse(parent.hasProvider(Key.get(MockInterface2.class)));
+    }
+
+    @Test
+    public void decorateParentService() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope());
+        Injector child1 = parent.createChild(b -> b.decorate(MockInterface1.class).before(MockInterface1_Decorator1.class));
+        Injector child2 = parent.createChild();
+
+        MockInterface1 decorated = child1.getInstance(MockInterface1.class);
+        assertEquals("[MyName]", decorated.getName());
+        assertSame(decorated, child1.getInstance(MockInterface1.class));
+        assertTrue(child1.isSingleton(MockInterface1.class));
+
+        assertEquals("MyName", parent.getInstance(MockInterface1.class).getName());
+        assertEquals("MyName", child2.getInstance(MockInterface1.class).getName());
+    }
+
+    @Test
+    public void injector() {
+        Injector parent = DIBootstrap.createInjector();
+        Injector child = parent.createChild();
+
+        assertSame(parent, parent.getInstance(Injector.class));
+        assertSame(child, child.getInstance(Injector.class));
+    }
+
+    @Test
+    public void set() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bindSet(String.class).addInstance("a").addInstance("b"));
+        Injector child = parent.createChild(b -> b.bindSet(String.class).addInstance("c"));
+
+        assertEquals(List.of("a", "b"), List.copyOf(parent.getInstance(Key.getSetOf(String.class))));
+        assertEquals(List.of("a", "b", "c"), List.copyOf(child.getInstance(Key.getSetOf(String.class))));
+    }
+
+    @Test
+    public void set_NotExtended() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bindSet(String.class).addInstance("a"));
+        Injector child = parent.createChild();
+
+        assertEquals(Set.of("a"), child.getInstance(Key.getSetOf(String.class)));
+    }
+
+    @Test
+    public void map() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bindMap(String.class, String.class)
+                .putInstance("a", "A")
+                .putInstance("b", "B"));
+        Injector child = parent.createChild(b -> b.bindMap(String.class, String.class)
+                .putInstance("b", "B1")
+                .putInstance("c", "C"));
+
+        assertEquals(Map.of("a", "A", "b", "B"), parent.getInstance(Key.getMapOf(String.class, String.class)));
+        assertEquals(Map.of("a", "A", "b", "B1", "c", "C"), child.getInstance(Key.getMapOf(String.class, String.class)));
+    }
+
+    @Test
+    public void keys() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(MockInterface1.class).to(MockImplementation1.class));
+        Injector child = parent.createChild(b -> b.bind(MockInterface2.class).to(MockImplementation2.class));
+
+        assertTrue(child.getKeys().contains(Key.get(MockInterface1.class)));
+        assertTrue(child.getKeys().contains(Key.get(MockInterface2.class)));
+        assertFalse(parent.getKeys().contains(Key.get(MockInterface2.class)));
+        assertEquals(1, child.getKeysByType(MockInterface1.class).size());
+    }
+
+    @Test
+    public void shutdown() {
+        Injector parent = DIBootstrap.createInjector(b -> b.bind(MockInterface1.class).to(MockImplementation1.class));
+        Injector child = parent.createChild();
+
+        child.shutdown();
+        assertNotNull(parent.getInstance(MockInterface1.class));
+        assertThrows(DIRuntimeException.class, () -> child.getInstance(MockInterface1.class));
+    }
+}
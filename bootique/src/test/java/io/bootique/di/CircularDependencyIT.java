@@ -24,7 +24,9 @@ import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CircularDependencyIT {
 
@@ -39,6 +41,24 @@ public class CircularDependencyIT {
         assertEquals("service1 + service2.2.2", service2.exec());
     }
 
+    @Test
+    public void proxyCreation_ObjectMethods() {
+        Injector injector = DIBootstrap.injectorBuilder(binder -> {
+            binder.bind(Service1.class).to(Service1Impl1.class).inSingletonScope();
+            binder.bind(Service2.class).to(Service2Impl1.class).inSingletonScope();
+        }).build();
+
+        Service2 service2 = injector.getInstance(Service2.class);
+        Service1Impl1 service1 = (Service1Impl1) injector.getInstance(Service1.class);
+
+        // the circular dependency proxy forwards Object methods to the actual object
+        Service2 proxy = service1.service2;
+        assertNotSame(service2, proxy);
+        assertTrue(proxy.equals(service2));
+        assertEquals(service2.hashCode(), proxy.hashCode());
+        assertEquals(service2.toString(), proxy.toString());
+    }
+
     @Test
     public void proxyCreationFailure() {
         Injector injector = DIBootstrap.injectorBuilder(binder -> {
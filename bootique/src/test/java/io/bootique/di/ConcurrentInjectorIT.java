@@ -20,15 +20,19 @@
 package io.bootique.di;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 import org.junit.jupiter.api.Test;
 
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ConcurrentInjectorIT {
 
@@ -86,6 +90,67 @@ public class ConcurrentInjectorIT {
                 assertEquals(4, injector.getInstance(Key.get(FooImplSleep.class)).getStrings().size()));
     }
 
+    @Test
+    public void singletonScope_CrossThreadCycle() throws Exception {
+        Injector injector = DIBootstrap.createInjector(binder -> {
+            binder.bind(CycleA.class).inSingletonScope();
+            binder.bind(CycleB.class).inSingletonScope();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CycleA.LATCH = new CountDownLatch(2);
+            Future<?> a = executor.submit(() -> injector.getInstance(CycleA.class));
+            Future<?> b = executor.submit(() -> injector.getInstance(CycleB.class));
+
+            // without cycle detection this would deadlock
+            int cycles = 0;
+            for (Future<?> f : new Future<?>[]{a, b}) {
+                try {
+                    f.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertTrue(hasMessage(e, "Dependency cycle detected"), () -> "Unexpected exception: " + e.getCause());
+                    cycles++;
+                }
+            }
+
+            assertTrue(cycles > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean hasMessage(Throwable th, String message) {
+        for (Throwable t = th; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static class CycleA {
+
+        static CountDownLatch LATCH;
+
+        @Inject
+        CycleA(Provider<CycleB> b) throws Exception {
+            // make sure both threads are creating their singletons before resolving the dependency
+            LATCH.countDown();
+            LATCH.await(10, TimeUnit.SECONDS);
+            b.get();
+        }
+    }
+
+    static class CycleB {
+
+        @Inject
+        CycleB(Provider<CycleA> a) throws Exception {
+            CycleA.LATCH.countDown();
+            CycleA.LATCH.await(10, TimeUnit.SECONDS);
+            a.get();
+        }
+    }
 
     interface Foo {
         Set<String> getStrings();
@@ -104,6 +104,24 @@ public class DIErrorsIT {
         }
     }
 
+    @Test
+    public void singletonCycleFailure() {
+        Injector injector = DIBootstrap.createInjector(binder ->
+                binder.bind(Foo.class).to(FooImpl6.class).inSingletonScope());
+
+        try {
+            injector.getInstance(Foo.class);
+            fail("Should throw DIRuntimeException");
+        } catch (DIRuntimeException ex) {
+            assertTrue(ex.getOriginalMessage().contains("Dependency cycle detected"), ex.getOriginalMessage());
+
+            InjectionTraceElement[] traceElements = ex.getInjectionTrace();
+            assertNotNull(traceElements);
+            assertEquals(Key.get(FooImpl6.class), traceElements[0].getBindingKey());
+            assertEquals(Key.get(Foo.class), traceElements[traceElements.length - 1].getBindingKey());
+        }
+    }
+
     private static class TestModule implements BQModule {
 
         @Override
@@ -191,6 +209,13 @@ public class DIErrorsIT {
         Bar bar;
     }
 
+    private static class FooImpl6 implements Foo {
+        @Inject
+        public FooImpl6(Provider<Foo> self) {
+            self.get();
+        }
+    }
+
     interface Foo  {
         default String doIt() {
             return "foo";
@@ -0,0 +1,198 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.BQModule;
+import io.bootique.di.spi.GeneratedConstructor;
+import io.bootique.di.spi.GeneratedProvides;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneratedCodeIT {
+
+    static final AtomicInteger GENERATED_PROVIDES_CALLS = new AtomicInteger();
+    static final AtomicInteger GENERATED_CONSTRUCTOR_CALLS = new AtomicInteger();
+
+    @BeforeEach
+    public void resetCounters() {
+        GENERATED_PROVIDES_CALLS.set(0);
+        GENERATED_CONSTRUCTOR_CALLS.set(0);
+    }
+
+    @Test
+    public void generatedProvides() {
+        Injector injector = DIBootstrap.createInjector(new ProvidesModule());
+
+        assertEquals("a:b", injector.getInstance(Key.get(String.class, "ab")));
+        assertEquals(1, GENERATED_PROVIDES_CALLS.get());
+        assertTrue(injector.isSingleton(Key.get(String.class, "ab")));
+    }
+
+    @Test
+    public void generatedProvides_CustomPredicates() {
+        Injector injector = DIBootstrap.injectorBuilder(new ProvidesModule())
+                .withProvidesMethodPredicate(m -> m.isAnnotationPresent(Provides.class))
+                .build();
+
+        // reflection must be used, as generated code can't account for custom predicates
+        assertEquals("a:b", injector.getInstance(Key.get(String.class, "ab")));
+        assertEquals(0, GENERATED_PROVIDES_CALLS.get());
+    }
+
+    @Test
+    public void generatedConstructor() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Dependency.class).toInstance(new Dependency()));
+
+        Service s = injector.getInstance(Service.class);
+        assertNotNull(s.dependency);
+        assertNotNull(s.dependencyProvider.get());
+        assertEquals(1, GENERATED_CONSTRUCTOR_CALLS.get());
+    }
+
+    @Test
+    public void generatedConstructor_Stale() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Dependency.class).toInstance(new Dependency()));
+
+        // the generated class has the same parameter count, but different types, so reflection must be used instead
+        StaleService s = injector.getInstance(StaleService.class);
+        assertNotNull(s.dependency);
+        assertEquals(0, GENERATED_CONSTRUCTOR_CALLS.get());
+    }
+
+    public static class Dependency {
+    }
+
+    public static class StaleService {
+
+        final Dependency dependency;
+
+        @Inject
+        public StaleService(Dependency dependency) {
+            this.dependency = dependency;
+        }
+    }
+
+    public static class Service {
+
+        final Dependency dependency;
+        final Provider<Dependency> dependencyProvider;
+
+        @Inject
+        public Service(Dependency dependency, Provider<Dependency> dependencyProvider) {
+            this.dependency = dependency;
+            this.dependencyProvider = dependencyProvider;
+        }
+    }
+
+    public static class ProvidesModule implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        @Named("a")
+        String provideA() {
+            return "a";
+        }
+
+        @Provides
+        @Named("ab")
+        @jakarta.inject.Singleton
+        String provideAB(@Named("a") String a, @Named("b") Provider<String> b) {
+            return a + ":" + b.get();
+        }
+
+        @Provides
+        @Named("b")
+        static String provideB() {
+            return "b";
+        }
+    }
+
+    // emulates the output of "bootique-di-processor"
+    public static final class ProvidesModule_BQProvides implements GeneratedProvides<ProvidesModule> {
+
+        @Override
+        public void bind(ProvidesModule module, Binder binder) {
+            binder.provides(
+                    Key.get(String.class, "a"),
+                    false,
+                    "provideA",
+                    new Key<?>[0],
+                    new boolean[0],
+                    args -> module.provideA());
+            binder.provides(
+                    Key.get(String.class, "ab"),
+                    true,
+                    "provideAB",
+                    new Key<?>[]{Key.get(String.class, "a"), Key.get(String.class, "b")},
+                    new boolean[]{false, true},
+                    args -> {
+                        GENERATED_PROVIDES_CALLS.incrementAndGet();
+                        return module.provideAB((String) args[0], (Provider<String>) args[1]);
+                    });
+            binder.provides(
+                    Key.get(String.class, "b"),
+                    false,
+                    "provideB",
+                    new Key<?>[0],
+                    new boolean[0],
+                    args -> ProvidesModule.provideB());
+        }
+    }
+
+    // emulates the output of "bootique-di-processor"
+    public static final class Service_BQConstructor implements GeneratedConstructor<Service> {
+
+        @Override
+        public Class<?>[] parameterTypes() {
+            return new Class<?>[]{Dependency.class, Provider.class};
+        }
+
+        @Override
+        public Service newInstance(Object[] arguments) {
+            GENERATED_CONSTRUCTOR_CALLS.incrementAndGet();
+            return new Service((Dependency) arguments[0], (Provider<Dependency>) arguments[1]);
+        }
+    }
+
+    // emulates the output of "bootique-di-processor" for an earlier version of the StaleService constructor
+    public static final class StaleService_BQConstructor implements GeneratedConstructor<StaleService> {
+
+        @Override
+        public Class<?>[] parameterTypes() {
+            return new Class<?>[]{String.class};
+        }
+
+        @Override
+        public StaleService newInstance(Object[] arguments) {
+            GENERATED_CONSTRUCTOR_CALLS.incrementAndGet();
+            throw new ClassCastException("stale");
+        }
+    }
+}
@@ -19,9 +19,15 @@
 
 package io.bootique.di;
 
+import io.bootique.BQModule;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class InjectorOptionsIT {
@@ -36,6 +42,25 @@ public class InjectorOptionsIT {
         assertThrows(DIRuntimeException.class, () -> injector.getInstance(Consumer1.class));
     }
 
+    @Test
+    public void dynamicBindingDisabled_Frozen() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Service.class).to(Service_Impl1.class).inSingletonScope();
+                    b.bind(Consumer1.class);
+                })
+                .disableDynamicBindings()
+                .build();
+
+        // incomplete binding is resolved on freeze
+        Consumer1 consumer = injector.getInstance(Consumer1.class);
+        assertInstanceOf(Service_Impl1.class, consumer.service);
+        assertSame(injector.getInstance(Service.class), consumer.service);
+
+        assertEquals(1, injector.getKeysByType(Service.class).size());
+        assertTrue(injector.getKeys().contains(Key.get(Consumer1.class)));
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(Consumer2.class));
+    }
+
     @Test
     public void dynamicBindingEnabled() {
         Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Service.class).to(Service_Impl1.class))
@@ -75,6 +100,92 @@ public class InjectorOptionsIT {
         assertNotSame(service1, service2);
     }
 
+    @Test
+    public void parallelEarlySetup() {
+        ParallelA.LATCH = new CountDownLatch(2);
+        ParallelB.LATCH = ParallelA.LATCH;
+
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(ParallelA.class).initOnStartup();
+                    b.bind(ParallelB.class).initOnStartup();
+                })
+                .parallelEarlySetup()
+                .build();
+
+        // each singleton waits for the other to start, so this only succeeds if they are created concurrently
+        assertTrue(injector.getInstance(ParallelA.class).concurrent);
+        assertTrue(injector.getInstance(ParallelB.class).concurrent);
+    }
+
+    @Test
+    public void parallelEarlySetup_Error() {
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Service.class).to(Service_Impl1.class).initOnStartup();
+                    b.bind(Consumer1.class).toProviderInstance(() -> {
+                        throw new IllegalStateException("test error");
+                    }).initOnStartup();
+                })
+                .parallelEarlySetup()
+                .build());
+
+        assertTrue(hasMessage(e, "test error"), e::getMessage);
+    }
+
+    @Test
+    public void provisionStats() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(SlowService.class).inSingletonScope())
+                .enableProvisionStats()
+                .build();
+
+        injector.getInstance(SlowConsumer.class);
+        injector.getInstance(SlowConsumer.class);
+
+        Map<Key<?>, ProvisionStats> stats = injector.getProvisionStats().stream()
+                .collect(Collectors.toMap(ProvisionStats::getKey, s -> s));
+
+        ProvisionStats service = stats.get(Key.get(SlowService.class));
+        assertEquals(1, service.getCount());
+        assertEquals("singleton", service.getScope());
+        assertTrue(service.getTotalNanos() >= TimeUnit.MILLISECONDS.toNanos(50), service.toString());
+
+        // nested dependency time is excluded
+        ProvisionStats consumer = stats.get(Key.get(SlowConsumer.class));
+        assertEquals(2, consumer.getCount());
+        assertEquals("none", consumer.getScope());
+        assertTrue(consumer.getTotalNanos() < service.getTotalNanos(), consumer.toString());
+    }
+
+    @Test
+    public void provisionStats_Disabled() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(SlowService.class));
+        assertTrue(injector.getProvisionStats().isEmpty());
+    }
+
+    @Test
+    public void fastReflection() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Service.class).to(Service_Impl1.class))
+                .enableFastReflection()
+                .enableMethodInjection()
+                .build();
+
+        Consumer2 consumer = injector.getInstance(Consumer2.class);
+        assertInstanceOf(Service_Impl1.class, consumer.constructorService);
+        assertInstanceOf(Service_Impl1.class, consumer.fieldService);
+        assertInstanceOf(Service_Impl1.class, consumer.methodService);
+    }
+
+    @Test
+    public void fastReflection_Provides() {
+        Injector injector = DIBootstrap.injectorBuilder(new ServiceModule())
+                .enableFastReflection()
+                .build();
+
+        assertEquals("provided", injector.getInstance(Service.class).doIt());
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> injector.getInstance(Consumer1.class));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
     interface Service {
         String doIt();
     }
@@ -90,4 +201,87 @@ public class InjectorOptionsIT {
         @Inject
         Service service;
     }
+
+    static class Consumer2 {
+
+        final Service constructorService;
+
+        @Inject
+        Service fieldService;
+
+        Service methodService;
+
+        @Inject
+        Consumer2(Service constructorService) {
+            this.constructorService = constructorService;
+        }
+
+        @Inject
+        void setMethodService(Service methodService) {
+            this.methodService = methodService;
+        }
+    }
+
+    static class ServiceModule implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        Service provideService() {
+            return () -> "provided";
+        }
+
+        @Provides
+        Consumer1 provideConsumer() {
+            throw new IllegalStateException("Not today");
+        }
+    }
+
+    static class SlowService {
+
+        SlowService() throws InterruptedException {
+            Thread.sleep(50);
+        }
+    }
+
+    static class SlowConsumer {
+
+        @Inject
+        SlowService service;
+    }
+
+    static class ParallelA {
+
+        static CountDownLatch LATCH;
+
+        final boolean concurrent;
+
+        ParallelA() throws InterruptedException {
+            LATCH.countDown();
+            this.concurrent = LATCH.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    static class ParallelB {
+
+        static CountDownLatch LATCH;
+
+        final boolean concurrent;
+
+        ParallelB() throws InterruptedException {
+            LATCH.countDown();
+            this.concurrent = LATCH.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static boolean hasMessage(Throwable th, String message) {
+        for (Throwable t = th; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
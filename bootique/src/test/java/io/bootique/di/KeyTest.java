@@ -82,6 +82,14 @@ public class KeyTest {
         assertFalse(key7.equals(key4));
     }
 
+    @Test
+    public void unqualifiedKeysInterned() {
+        assertSame(Key.get(String.class), Key.get(String.class));
+        assertSame(Key.get(String.class), Key.get(String.class, ""));
+        assertSame(Key.get(String.class), Key.get(TypeLiteral.of(String.class), (Class<CustomQualifier>) null));
+        assertNotSame(Key.get(String.class), Key.get(String.class, "x"));
+    }
+
     @Test
     public void listKeysEquals() {
         Key<List<Integer>> key1 = Key.getListOf(Integer.class);
@@ -27,6 +27,10 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -122,6 +126,81 @@ public class MapTypesIT {
         assertTrue(map.values().contains("str2"));
     }
 
+    @Test
+    public void snapshot() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(Key.get(String.class, "1")).toInstance("str1").inSingletonScope();
+            b.bindMap(Integer.class, String.class)
+                    .put(1, Key.get(String.class, "1"))
+                    .putInstance(2, "str2")
+                    .snapshot();
+        });
+
+        Key<Map<Integer, String>> key = Key.getMapOf(Integer.class, String.class);
+        Map<Integer, String> m1 = injector.getInstance(key);
+        assertEquals(Map.of(1, "str1", 2, "str2"), m1);
+        assertSame(m1, injector.getInstance(key));
+        assertThrows(UnsupportedOperationException.class, () -> m1.put(3, "str3"));
+    }
+
+    @Test
+    public void snapshot_NotSingletons() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bindMap(Integer.class, String.class)
+                .putProviderInstance(1, () -> "str1")
+                .snapshot());
+
+        Key<Map<Integer, String>> key = Key.getMapOf(Integer.class, String.class);
+        Map<Integer, String> m1 = injector.getInstance(key);
+        Map<Integer, String> m2 = injector.getInstance(key);
+        assertEquals(m1, m2);
+        assertNotSame(m1, m2);
+    }
+
+    @Test
+    public void lazyElements() {
+        AtomicInteger created = new AtomicInteger();
+        Injector injector = DIBootstrap.createInjector(b -> b.bindMap(String.class, String.class)
+                .putProviderInstance("a", () -> "A" + created.incrementAndGet())
+                .putProviderInstance("b", () -> "B" + created.incrementAndGet())
+                .lazyElements());
+
+        Map<String, String> map = injector.getInstance(Key.getMapOf(String.class, String.class));
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("a"));
+        assertFalse(map.containsKey("c"));
+        assertEquals(Set.of("a", "b"), map.keySet());
+        assertEquals(0, created.get());
+
+        assertEquals("A1", map.get("a"));
+        assertEquals("A1", map.get("a"));
+        assertNull(map.get("c"));
+        assertEquals(1, created.get());
+
+        assertEquals(Map.of("a", "A1", "b", "B2"), map);
+        assertEquals(2, created.get());
+        assertThrows(UnsupportedOperationException.class, () -> map.put("c", "C"));
+    }
+
+    @Test
+    public void parallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Injector injector = DIBootstrap.createInjector(b -> b.bindMap(String.class, String.class)
+                    .putProviderInstance("a", () -> Thread.currentThread().getName())
+                    .putProviderInstance("b", () -> Thread.currentThread().getName())
+                    .putInstance("c", "C")
+                    .parallel(executor));
+
+            Map<String, String> map = injector.getInstance(Key.getMapOf(String.class, String.class));
+            assertEquals(3, map.size());
+            assertEquals("C", map.get("c"));
+            assertNotEquals(Thread.currentThread().getName(), map.get("a"));
+            assertNotEquals(Thread.currentThread().getName(), map.get("b"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void assertMapContent(Injector injector) {
         Service service = injector.getInstance(Service.class);
 
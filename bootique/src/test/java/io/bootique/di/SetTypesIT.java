@@ -25,10 +25,14 @@ import jakarta.inject.Named;
 import jakarta.inject.Provider;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
@@ -185,6 +189,149 @@ public class SetTypesIT {
         assertEquals(new HashSet<>(asList(1, 2, 3)), integers);
     }
 
+    @Test
+    public void snapshot() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(Key.get(Integer.class, "1")).toInstance(1);
+            b.bindSet(Integer.class).add(Key.get(Integer.class, "1")).addInstance(2).snapshot();
+        });
+
+        Key<Set<Integer>> key = Key.getSetOf(Integer.class);
+        Set<Integer> s1 = injector.getInstance(key);
+        Set<Integer> s2 = injector.getInstance(key);
+        assertEquals(List.of(1, 2), List.copyOf(s1));
+        assertEquals(s1, s2);
+        assertNotSame(s1, s2, "Keys not bound as singletons");
+        assertThrows(UnsupportedOperationException.class, () -> s1.add(3));
+    }
+
+    @Test
+    public void snapshot_Singletons() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(Key.get(Integer.class, "1")).toInstance(1).inSingletonScope();
+            b.bindSet(Integer.class).add(Key.get(Integer.class, "1")).addInstance(2).snapshot();
+        });
+
+        Key<Set<Integer>> key = Key.getSetOf(Integer.class);
+        assertSame(injector.getInstance(key), injector.getInstance(key));
+    }
+
+    @Test
+    public void lazyElements() {
+        AtomicInteger created = new AtomicInteger();
+        Injector injector = DIBootstrap.createInjector(b -> b.bindSet(Integer.class)
+                .addProviderInstance(() -> created.incrementAndGet())
+                .addProviderInstance(() -> created.incrementAndGet() * 10)
+                .lazyElements());
+
+        Set<Integer> set = injector.getInstance(Key.getSetOf(Integer.class));
+        assertEquals(2, set.size());
+        assertEquals(0, created.get());
+
+        Iterator<Integer> it = set.iterator();
+        assertEquals(1, it.next());
+        assertEquals(1, created.get());
+        assertEquals(20, it.next());
+        assertEquals(2, created.get());
+
+        assertEquals(List.of(1, 20), List.copyOf(set));
+        assertEquals(2, created.get());
+        assertThrows(UnsupportedOperationException.class, () -> set.add(3));
+    }
+
+    @Test
+    public void lazyElements_Duplicates() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bindSet(String.class)
+                .addProviderInstance(() -> "a")
+                .addProviderInstance(() -> "b")
+                .addProviderInstance(() -> "a")
+                .lazyElements());
+
+        Set<String> set = injector.getInstance(Key.getSetOf(String.class));
+        Iterator<String> it = set.iterator();
+        assertEquals("a", it.next());
+        assertEquals("b", it.next());
+        assertThrows(DIRuntimeException.class, it::next);
+    }
+
+    @Test
+    public void parallel() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        Injector injector = DIBootstrap.createInjector(b -> {
+            SetBuilder<Integer> set = b.bindSet(Integer.class).parallel();
+            for (int i = 0; i < 10; i++) {
+                int value = i;
+                set.addProviderInstance(() -> {
+                    threads.add(Thread.currentThread());
+
+                    // make later elements finish first
+                    sleep(10 - value);
+                    return value;
+                });
+            }
+        });
+
+        Set<Integer> set = injector.getInstance(Key.getSetOf(Integer.class));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), List.copyOf(set));
+        assertFalse(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void parallel_Duplicates() {
+        Injector injector = DIBootstrap.createInjector(b ->
+                b.bindSet(Integer.class).addInstance(1).addInstance(2).addInstance(1).parallel());
+
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(Key.getSetOf(Integer.class)));
+    }
+
+    @Test
+    public void parallel_Exception() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bindSet(Integer.class)
+                .addInstance(1)
+                .addProviderInstance(() -> {
+                    throw new IllegalStateException("test");
+                })
+                .parallel());
+
+        // same as with sequential resolution, provider exceptions are wrapped
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(Key.getSetOf(Integer.class)));
+    }
+
+    @Test
+    public void parallel_Cycle() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(CycleRoot.class).inSingletonScope();
+            b.bindSet(CycleElement.class).add(CycleElement1.class).addInstance(new CycleElement() {
+            }).parallel();
+        });
+
+        // must fail just like sequential resolution does, instead of deadlocking
+        DIRuntimeException e = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(DIRuntimeException.class, () -> injector.getInstance(CycleRoot.class)));
+        assertTrue(e.getMessage().contains("Circular dependency"), e.getMessage());
+    }
+
+    @Test
+    public void parallel_Cycle_Provider() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(CycleRoot.class).inSingletonScope();
+            b.bindSet(CycleElement.class).add(CycleElement2.class).addInstance(new CycleElement() {
+            }).parallel();
+        });
+
+        // a cycle via Provider is not visible to the injection stack, and must be caught by the singleton itself
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(DIRuntimeException.class, () -> injector.getInstance(CycleRoot.class)));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void assertSetContent(Injector injector) {
         Service service = injector.getInstance(Service.class);
 
@@ -200,6 +347,31 @@ public class SetTypesIT {
 
     private static final BQModule serviceModule1 = b -> b.bind(Service.class).to(Service_Impl1.class);
 
+    static class CycleRoot {
+
+        @Inject
+        CycleRoot(Set<CycleElement> elements) {
+        }
+    }
+
+    interface CycleElement {
+    }
+
+    static class CycleElement1 implements CycleElement {
+
+        @Inject
+        CycleElement1(CycleRoot root) {
+        }
+    }
+
+    static class CycleElement2 implements CycleElement {
+
+        @Inject
+        CycleElement2(Provider<CycleRoot> root) {
+            root.get();
+        }
+    }
+
     interface Service {
     }
 
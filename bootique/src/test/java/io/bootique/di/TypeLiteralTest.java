@@ -21,6 +21,7 @@ package io.bootique.di;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -192,6 +193,17 @@ public class TypeLiteralTest {
     }
 
 
+    @Test
+    public void canonical() throws NoSuchFieldException {
+        assertSame(TypeLiteral.of(Integer.class), TypeLiteral.of(Integer.class));
+        assertSame(TypeLiteral.of(Integer.class), TypeLiteral.of((Type) Integer.class));
+
+        Type genericType = TypeLiteralTest.class.getDeclaredField("listField").getGenericType();
+        TypeLiteral<?> literal = TypeLiteral.of(genericType);
+        assertSame(literal, TypeLiteral.of(genericType));
+        assertTypesEqual(TypeLiteral.listOf(Integer.class), literal);
+    }
+
     @Test
     public void creationFailure_NoGenericParam() {
         // No type parameters
@@ -229,4 +241,7 @@ public class TypeLiteralTest {
         assertNotEquals(literal1.toString(), literal2.toString());
         assertNotEquals(literal1, literal2);
     }
+
+    // used in the "canonical" test
+    private List<Integer> listField;
 }
@@ -0,0 +1,151 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BindingBuilder;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockInterface1;
+import io.bootique.di.mock.MockInterface1_Decorator1;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultInjectorLazyTest {
+
+    @BeforeEach
+    public void reset() {
+        HeavyService.created = 0;
+    }
+
+    @Test
+    public void lazy_Singleton() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Service.class).lazy().to(HeavyService.class).inSingletonScope());
+
+        Service s1 = injector.getInstance(Service.class);
+        Service s2 = injector.getInstance(Service.class);
+        assertTrue(Proxy.isProxyClass(s1.getClass()));
+        assertSame(s1, s2);
+        assertEquals(0, HeavyService.created);
+
+        assertEquals("x1", s1.call("x"));
+        assertEquals("y1", s2.call("y"));
+        assertEquals(1, HeavyService.created);
+    }
+
+    @Test
+    public void lazy_NoScope() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Service.class).lazy().to(HeavyService.class).withoutScope());
+
+        Service s1 = injector.getInstance(Service.class);
+        Service s2 = injector.getInstance(Service.class);
+        assertNotSame(s1, s2);
+        assertEquals(0, HeavyService.created);
+
+        s1.call("x");
+        s1.call("x");
+        assertEquals(1, HeavyService.created);
+
+        s2.call("x");
+        assertEquals(2, HeavyService.created);
+    }
+
+    @Test
+    public void lazy_AfterTarget() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            BindingBuilder<Service> builder = b.bind(Service.class);
+            builder.to(HeavyService.class).inSingletonScope();
+            builder.lazy();
+        });
+
+        Service s = injector.getInstance(Service.class);
+        assertTrue(Proxy.isProxyClass(s.getClass()));
+        assertEquals(0, HeavyService.created);
+        assertEquals("x1", s.call("x"));
+    }
+
+    @Test
+    public void lazy_Exception() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Service.class).lazy().to(HeavyService.class));
+
+        Service s = injector.getInstance(Service.class);
+        assertThrows(IllegalArgumentException.class, () -> s.call(null));
+    }
+
+    @Test
+    public void lazy_NotInterface() {
+        assertThrows(DIRuntimeException.class, () -> DIBootstrap.createInjector(b -> b
+                .bind(MockImplementation1.class).lazy()));
+    }
+
+    @Test
+    public void lazy_Decorated() {
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(MockInterface1.class).lazy().to(MockImplementation1.class);
+            b.decorate(MockInterface1.class).before(MockInterface1_Decorator1.class);
+        });
+
+        MockInterface1 s = injector.getInstance(MockInterface1.class);
+        assertTrue(Proxy.isProxyClass(s.getClass()));
+        assertEquals("[MyName]", s.getName());
+    }
+
+    @Test
+    public void lazy_ObjectMethods() {
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Service.class).lazy().to(HeavyService.class).withoutScope());
+
+        Service s1 = injector.getInstance(Service.class);
+        Service s2 = injector.getInstance(Service.class);
+
+        assertEquals(s1, s1);
+        assertNotEquals(s1, s2);
+        assertEquals(System.identityHashCode(s1), s1.hashCode());
+        assertTrue(s1.toString().startsWith(Service.class.getName()), s1::toString);
+
+        // none of the above should create the object
+        assertEquals(0, HeavyService.created);
+    }
+
+    public interface Service {
+        String call(String arg);
+    }
+
+    public static class HeavyService implements Service {
+
+        static int created;
+
+        public HeavyService() {
+            created++;
+        }
+
+        @Override
+        public String call(String arg) {
+            if (arg == null) {
+                throw new IllegalArgumentException("null");
+            }
+            return arg + created;
+        }
+    }
+}
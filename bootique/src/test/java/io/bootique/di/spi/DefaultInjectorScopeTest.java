@@ -25,6 +25,7 @@ import io.bootique.di.DIBootstrap;
 import io.bootique.di.DIRuntimeException;
 import io.bootique.di.Injector;
 import io.bootique.di.mock.*;
+import jakarta.inject.Provider;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -132,6 +133,34 @@ public class DefaultInjectorScopeTest {
         assertSame(instance2, instance3);
     }
 
+    @Test
+    public void singletonScope_ConstantProvider() {
+
+        BQModule module = binder -> binder
+                .bind(MockInterface1.class)
+                .to(MockImplementation1.class)
+                .inSingletonScope();
+
+        DefaultInjector injector = new DefaultInjector(module);
+
+        Provider<MockInterface1> p1 = injector.getProvider(MockInterface1.class);
+        assertInstanceOf(SingletonScopeProvider.class, p1);
+
+        MockInterface1 instance1 = p1.get();
+        Provider<MockInterface1> p2 = injector.getProvider(MockInterface1.class);
+        assertNotSame(p1, p2);
+        assertSame(instance1, p2.get());
+
+        // after the scope end the singleton must be recreated, including by the constant provider obtained earlier
+        injector.getSingletonScope().shutdown();
+        Provider<MockInterface1> p3 = injector.getProvider(MockInterface1.class);
+        assertInstanceOf(SingletonScopeProvider.class, p3);
+
+        MockInterface1 instance2 = p3.get();
+        assertNotSame(instance1, instance2);
+        assertSame(instance2, p2.get());
+    }
+
     @Test
     public void singletonScope_AnnotatedEvents() {
 
@@ -20,10 +20,14 @@
 package io.bootique.di.spi;
 
 import io.bootique.BQModule;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Key;
 import io.bootique.di.mock.MockImplementation1_EventAnnotations;
 import io.bootique.di.mock.MockInterface1;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DefaultInjectorTest {
@@ -84,4 +88,38 @@ public class DefaultInjectorTest {
         assertTrue(MockImplementation1_EventAnnotations.shutdown3);
     }
 
+    @Test
+    public void freeze() {
+        BQModule module = binder -> binder.bind(MockInterface1.class).to(MockImplementation1_EventAnnotations.class);
+
+        DefaultInjector injector = new DefaultInjector(module);
+        assertFalse(injector.isFrozen());
+
+        injector.freeze();
+        assertTrue(injector.isFrozen());
+        assertEquals("XuI", injector.getInstance(MockInterface1.class).getName());
+
+        // no new dynamic bindings after freeze
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(DynamicService.class));
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class,
+                () -> injector.putBinding(Key.get(String.class), () -> "x"));
+        assertTrue(e.getMessage().contains("frozen"), e.getMessage());
+    }
+
+    @Test
+    public void freeze_DynamicBindingsDisabled() {
+        BQModule module = binder -> binder.bind(MockInterface1.class).to(MockImplementation1_EventAnnotations.class);
+
+        DefaultInjector injector = new DefaultInjector(
+                Set.of(DefaultInjector.Options.DISABLE_DYNAMIC_BINDINGS),
+                new InjectorPredicates(),
+                module);
+
+        assertTrue(injector.isFrozen());
+        assertEquals("XuI", injector.getInstance(MockInterface1.class).getName());
+    }
+
+    static class DynamicService {
+    }
 }
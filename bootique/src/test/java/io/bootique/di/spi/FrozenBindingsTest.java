@@ -0,0 +1,77 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrozenBindingsTest {
+
+    @Test
+    public void get() {
+        Map<Key<?>, Binding<?>> bindings = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            Key<String> key = Key.get(String.class, "k" + i);
+            bindings.put(key, new Binding<>(key, () -> "x", NoScope.INSTANCE, false));
+        }
+
+        Key<Integer> intKey = Key.get(Integer.class);
+        bindings.put(intKey, new Binding<>(intKey, () -> 1, NoScope.INSTANCE, false));
+
+        FrozenBindings frozen = new FrozenBindings(bindings);
+        assertEquals(101, frozen.size());
+
+        // lookup by equal, but not the same keys
+        for (int i = 0; i < 100; i++) {
+            assertSame(bindings.get(Key.get(String.class, "k" + i)), frozen.get(Key.get(String.class, "k" + i)));
+        }
+        assertSame(bindings.get(intKey), frozen.get(Key.get(Integer.class)));
+
+        assertNull(frozen.get(Key.get(String.class)));
+        assertNull(frozen.get(Key.get(String.class, "k100")));
+    }
+
+    @Test
+    public void keysByRawType() {
+        Key<String> k1 = Key.get(String.class, "a");
+        Key<String> k2 = Key.get(String.class, "b");
+        Map<Key<?>, Binding<?>> bindings = new LinkedHashMap<>();
+        bindings.put(k1, new Binding<>(k1, () -> "a", NoScope.INSTANCE, false));
+        bindings.put(k2, new Binding<>(k2, () -> "b", NoScope.INSTANCE, false));
+
+        FrozenBindings frozen = new FrozenBindings(bindings);
+        assertEquals(List.of(k1, k2), frozen.keysByRawType(String.class));
+        assertEquals(List.of(), frozen.keysByRawType(Integer.class));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.keysByRawType(String.class).add(k1));
+    }
+
+    @Test
+    public void empty() {
+        FrozenBindings frozen = new FrozenBindings(Map.of());
+        assertEquals(0, frozen.size());
+        assertNull(frozen.get(Key.get(String.class)));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockImplementation2Sub1;
+import io.bootique.di.mock.MockInterface1;
+import io.bootique.di.mock.MockInterface3;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionPlanTest {
+
+    @Test
+    public void cachedPerClass() {
+        DefaultInjector injector = new DefaultInjector();
+
+        InjectionPlan<MockImplementation2Sub1> plan = injector.getInjectionPlan(MockImplementation2Sub1.class);
+        assertSame(plan, injector.getInjectionPlan(MockImplementation2Sub1.class));
+        assertSame(plan.getFields(), plan.getFields());
+        assertSame(plan.getConstructor(), plan.getConstructor());
+    }
+
+    @Test
+    public void fields_SuperclassFirst() {
+        DefaultInjector injector = new DefaultInjector();
+
+        List<InjectionPlan.InjectableField> fields = injector.getInjectionPlan(MockImplementation2Sub1.class).getFields();
+        assertEquals(2, fields.size());
+        assertEquals(Key.get(MockInterface1.class), fields.get(0).getDependency().getKey());
+        assertEquals(Key.get(MockInterface3.class), fields.get(1).getDependency().getKey());
+        assertFalse(fields.get(0).getDependency().isProvider());
+    }
+
+    @Test
+    public void constructor_NoArgs() {
+        DefaultInjector injector = new DefaultInjector();
+
+        InjectionPlan.ConstructorPlan<MockImplementation1> plan = injector.getInjectionPlan(MockImplementation1.class).getConstructor();
+        assertEquals(0, plan.getArguments().length);
+    }
+}
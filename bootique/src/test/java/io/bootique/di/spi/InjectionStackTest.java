@@ -0,0 +1,88 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionStackTest {
+
+    @Test
+    public void pushPop() {
+        InjectionStack stack = new InjectionStack();
+
+        assertTrue(stack.push(Key.get(String.class)));
+        assertTrue(stack.push(Key.get(String.class, "x")));
+        assertEquals("[<BindingKey: java.lang.String>, <BindingKey: java.lang.String, 'x'>]", stack.toString());
+
+        stack.pop();
+        stack.pop();
+        assertEquals("[]", stack.toString());
+        assertThrows(IndexOutOfBoundsException.class, stack::pop);
+    }
+
+    @Test
+    public void push_Cycle() {
+        InjectionStack stack = new InjectionStack();
+
+        assertTrue(stack.push(Key.get(String.class)));
+        assertTrue(stack.push(Key.get(Integer.class)));
+
+        // equal, but not the same key instance
+        assertFalse(stack.push(Key.get(String.class)));
+    }
+
+    @Test
+    public void push_Deep() {
+        InjectionStack stack = new InjectionStack();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(stack.push(Key.get(String.class, "k" + i)));
+        }
+
+        assertFalse(stack.push(Key.get(String.class, "k0")));
+        assertFalse(stack.push(Key.get(String.class, "k99")));
+
+        for (int i = 0; i < 100; i++) {
+            stack.pop();
+        }
+        assertEquals("[]", stack.toString());
+    }
+
+    @Test
+    public void perThread() throws InterruptedException {
+        InjectionStack stack = new InjectionStack();
+        assertTrue(stack.push(Key.get(String.class)));
+
+        AtomicReference<Boolean> pushed = new AtomicReference<>();
+        Thread t = Thread.ofVirtual().start(() -> {
+            pushed.set(stack.push(Key.get(String.class)));
+            stack.pop();
+        });
+        t.join();
+
+        assertTrue(pushed.get());
+        assertEquals("[<BindingKey: java.lang.String>]", stack.toString());
+    }
+}
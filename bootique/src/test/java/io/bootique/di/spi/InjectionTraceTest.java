@@ -0,0 +1,73 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.InjectionTraceElement;
+import io.bootique.di.Key;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionTraceTest {
+
+    @Test
+    public void drain() {
+        InjectionTrace trace = new InjectionTrace();
+
+        trace.push(Key.get(String.class));
+        trace.updateMessage(TraceMessage.RESOLVING_SET_ELEMENT, null, 3);
+        trace.push(Key.get(Integer.class));
+        trace.updateMessage(TraceMessage.RESOLVING_MAP_KEY, "k", 0);
+        trace.push(Key.get(Long.class));
+
+        InjectionTraceElement[] elements = trace.drain();
+        assertEquals(3, elements.length);
+        assertEquals(0, trace.size());
+
+        // innermost first
+        assertEquals(Key.get(Long.class), elements[0].getBindingKey());
+        assertEquals("", elements[0].getMessage());
+        assertEquals(Key.get(Integer.class), elements[1].getBindingKey());
+        assertEquals("Resolve map key 'k'", elements[1].getMessage());
+        assertEquals(Key.get(String.class), elements[2].getBindingKey());
+        assertEquals("Resolving set element 3", elements[2].getMessage());
+    }
+
+    @Test
+    public void messagesAreLazy() {
+        InjectionTrace trace = new InjectionTrace();
+        AtomicInteger formatted = new AtomicInteger();
+        TraceMessage message = (c, i) -> "m" + formatted.incrementAndGet();
+
+        for (int i = 0; i < 100; i++) {
+            trace.push(Key.get(String.class, "k" + i));
+            trace.updateMessage(message, null, i);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            trace.pop();
+        }
+
+        assertEquals(0, trace.size());
+        assertEquals(0, formatted.get());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InvokersTest {
+
+    private final Invokers invokers = new Invokers(true);
+
+    @Test
+    public void constructor_TargetException() throws Exception {
+        Invokers.ConstructorInvoker<Failing> invoker = invokers.constructor(Failing.class.getConstructor(String.class));
+
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> invoker.newInstance("x"));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals("x", e.getCause().getMessage());
+    }
+
+    @Test
+    public void constructor_WrongArgumentType() throws Exception {
+        Invokers.ConstructorInvoker<Failing> invoker = invokers.constructor(Failing.class.getConstructor(String.class));
+        assertThrows(DIRuntimeException.class, () -> invoker.newInstance(1));
+    }
+
+    @Test
+    public void method_TargetException() throws Exception {
+        Invokers.MethodInvoker invoker = invokers.method(Failing.class.getMethod("fail", String.class));
+
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> invoker.invoke(null, "y"));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals("y", e.getCause().getMessage());
+    }
+
+    @Test
+    public void method_WrongArgumentType() throws Exception {
+        Invokers.MethodInvoker invoker = invokers.method(Failing.class.getMethod("fail", String.class));
+        assertThrows(DIRuntimeException.class, () -> invoker.invoke(null, 1));
+    }
+
+    @Test
+    public void method_WrongArgumentCount() throws Exception {
+        Invokers.MethodInvoker invoker = invokers.method(Failing.class.getMethod("fail", String.class));
+        assertThrows(DIRuntimeException.class, () -> invoker.invoke(null, "y", "z"));
+    }
+
+    @Test
+    public void setter_WrongValueType() throws Exception {
+        Invokers.FieldSetter setter = invokers.setter(Failing.class.getField("field"));
+        assertThrows(DIRuntimeException.class, () -> setter.set(new Failing(), 1));
+    }
+
+    public static class Failing {
+
+        public String field;
+
+        public Failing() {
+        }
+
+        public Failing(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        public static void fail(String message) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
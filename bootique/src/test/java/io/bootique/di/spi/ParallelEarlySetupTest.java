@@ -0,0 +1,122 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.BQModule;
+import io.bootique.di.Binder;
+import io.bootique.di.Key;
+import io.bootique.di.Provides;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelEarlySetupTest {
+
+    @Test
+    public void groups_Independent() {
+        DefaultInjector injector = new DefaultInjector(b -> {
+            b.bind(A.class);
+            b.bind(B.class);
+        });
+
+        List<List<Key<?>>> groups = new ParallelEarlySetup(injector).groups(List.of(Key.get(A.class), Key.get(B.class)));
+        assertEquals(List.of(List.of(Key.get(A.class)), List.of(Key.get(B.class))), groups);
+    }
+
+    @Test
+    public void groups_SharedDependency() {
+        DefaultInjector injector = new DefaultInjector(b -> {
+            b.bind(A.class);
+            b.bind(B.class);
+            b.bind(C.class);
+            b.bind(DependsOnA1.class);
+            b.bind(DependsOnA2.class);
+        });
+
+        List<List<Key<?>>> groups = new ParallelEarlySetup(injector).groups(List.of(
+                Key.get(DependsOnA1.class),
+                Key.get(B.class),
+                Key.get(DependsOnA2.class),
+                Key.get(C.class)));
+
+        assertEquals(List.of(
+                List.of(Key.get(DependsOnA1.class), Key.get(DependsOnA2.class)),
+                List.of(Key.get(B.class)),
+                List.of(Key.get(C.class))), groups);
+    }
+
+    @Test
+    public void groups_TransitiveProvidesDependency() {
+        DefaultInjector injector = new DefaultInjector(new ProvidesModule());
+
+        List<List<Key<?>>> groups = new ParallelEarlySetup(injector).groups(List.of(
+                Key.get(String.class),
+                Key.get(B.class),
+                Key.get(DependsOnA1.class)));
+
+        assertEquals(List.of(
+                List.of(Key.get(String.class), Key.get(DependsOnA1.class)),
+                List.of(Key.get(B.class))), groups);
+    }
+
+    public static class A {
+    }
+
+    public static class B {
+    }
+
+    public static class C {
+    }
+
+    public static class DependsOnA1 {
+        @Inject
+        public DependsOnA1(A a) {
+        }
+    }
+
+    public static class DependsOnA2 {
+        @Inject
+        Provider<A> a;
+    }
+
+    public static class ProvidesModule implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+            binder.bind(A.class);
+            binder.bind(B.class);
+            binder.bind(DependsOnA1.class);
+        }
+
+        @Provides
+        Integer provideInt(A a) {
+            return 1;
+        }
+
+        @Provides
+        String provideString(Integer i) {
+            return String.valueOf(i);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoolScopeTest {
+
+    @Test
+    public void noLease() {
+        PoolScope scope = new PoolScope(2);
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Parser.class).in(scope));
+
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(Parser.class));
+    }
+
+    @Test
+    public void reuse() {
+        PoolScope scope = new PoolScope(2);
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Parser.class).in(scope));
+
+        Parser p1;
+        try (PoolScope.Lease lease = scope.lease()) {
+            p1 = injector.getInstance(Parser.class);
+            assertSame(p1, injector.getInstance(Parser.class));
+
+            try (PoolScope.Lease nested = scope.lease()) {
+                assertNotSame(p1, injector.getInstance(Parser.class));
+            }
+        }
+
+        try (PoolScope.Lease lease = scope.lease()) {
+            assertSame(p1, injector.getInstance(Parser.class));
+        }
+    }
+
+    @Test
+    public void maxSize() throws Exception {
+        PoolScope scope = new PoolScope(1);
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Parser.class).in(scope));
+
+        CountDownLatch borrowed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            Future<Parser> f1 = executor.submit(() -> {
+                try (PoolScope.Lease lease = scope.lease()) {
+                    Parser p = injector.getInstance(Parser.class);
+                    borrowed.countDown();
+                    release.await();
+                    return p;
+                }
+            });
+
+            borrowed.await();
+            Future<Parser> f2 = executor.submit(() -> {
+                try (PoolScope.Lease lease = scope.lease()) {
+                    return injector.getInstance(Parser.class);
+                }
+            });
+
+            assertThrows(Exception.class, () -> f2.get(100, TimeUnit.MILLISECONDS));
+            release.countDown();
+
+            assertSame(f1.get(), f2.get());
+        }
+    }
+
+    @Test
+    public void eviction() throws InterruptedException {
+        PoolScope scope = new PoolScope(2, Duration.ofMillis(1));
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Parser.class).in(scope));
+
+        Parser p1;
+        try (PoolScope.Lease lease = scope.lease()) {
+            p1 = injector.getInstance(Parser.class);
+        }
+
+        Thread.sleep(5);
+
+        try (PoolScope.Lease lease = scope.lease()) {
+            assertNotSame(p1, injector.getInstance(Parser.class));
+        }
+
+        assertEquals(1, p1.ended.get());
+    }
+
+    @Test
+    public void eviction_HandlerFailure() throws InterruptedException {
+        PoolScope scope = new PoolScope(1, Duration.ofMillis(1));
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(FailingParser.class).in(scope));
+
+        FailingParser p1;
+        try (PoolScope.Lease lease = scope.lease()) {
+            p1 = injector.getInstance(FailingParser.class);
+        }
+
+        Thread.sleep(5);
+
+        try (PoolScope.Lease lease = scope.lease()) {
+            assertThrows(RuntimeException.class, () -> injector.getInstance(FailingParser.class));
+        }
+
+        // the permit must have been returned despite the failure, or this would block forever
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            try (PoolScope.Lease lease = scope.lease()) {
+                assertNotSame(p1, injector.getInstance(FailingParser.class));
+            }
+        });
+    }
+
+    @Test
+    public void shutdown() {
+        PoolScope scope = new PoolScope(2);
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Parser.class).in(scope));
+
+        Parser p1, p2;
+        try (PoolScope.Lease lease1 = scope.lease()) {
+            p1 = injector.getInstance(Parser.class);
+
+            try (PoolScope.Lease lease2 = scope.lease()) {
+                p2 = injector.getInstance(Parser.class);
+            }
+
+            scope.shutdown();
+            assertEquals(0, p1.ended.get());
+            assertEquals(1, p2.ended.get());
+        }
+
+        assertEquals(1, p1.ended.get());
+        assertThrows(DIRuntimeException.class, scope::lease);
+    }
+
+    public static class Parser {
+
+        final AtomicInteger ended = new AtomicInteger();
+
+        @BeforeScopeEnd
+        public void end() {
+            ended.incrementAndGet();
+        }
+    }
+
+    public static class FailingParser {
+
+        @BeforeScopeEnd
+        public void end() {
+            throw new IllegalStateException("end failed");
+        }
+    }
+}
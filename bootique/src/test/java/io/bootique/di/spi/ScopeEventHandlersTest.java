@@ -0,0 +1,68 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScopeEventHandlersTest {
+
+    @Test
+    public void of_NoHandlers() {
+        assertTrue(ScopeEventHandlers.of(Object.class).isEmpty());
+        assertTrue(ScopeEventHandlers.of(String.class).isEmpty());
+    }
+
+    @Test
+    public void of() {
+        ScopeEventHandlers handlers = ScopeEventHandlers.of(WithHandler.class);
+        assertSame(handlers, ScopeEventHandlers.of(WithHandler.class));
+
+        assertEquals(1, handlers.getHandlers().length);
+        ScopeEventHandlers.Handler handler = handlers.getHandlers()[0];
+        assertEquals("beforeEnd", handler.getMethod().getName());
+        assertTrue(handler.handles(BeforeScopeEnd.class));
+        assertFalse(handler.handles(AfterScopeEnd.class));
+    }
+
+    @Test
+    public void addScopeEventListener() {
+        DefaultScope scope = new DefaultScope();
+        WithHandler object = new WithHandler();
+
+        scope.addScopeEventListener(object);
+        scope.addScopeEventListener(new Object());
+
+        scope.shutdown();
+        assertEquals(1, object.calls);
+    }
+
+    static class WithHandler {
+
+        int calls;
+
+        @BeforeScopeEnd
+        public void beforeEnd() {
+            calls++;
+        }
+    }
+}
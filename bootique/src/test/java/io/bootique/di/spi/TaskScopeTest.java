@@ -0,0 +1,249 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import io.bootique.di.mock.MockImplementation1_EventAnnotations;
+import io.bootique.di.mock.MockInterface1;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskScopeTest {
+
+    @Test
+    public void sameInstanceWithinUnit() {
+        TaskScope scope = new TaskScope();
+        Injector injector = DIBootstrap.createInjector(b -> b
+                .bind(MockInterface1.class).to(MockImplementation1_EventAnnotations.class).in(scope));
+
+        MockInterface1 i1, i2;
+        try (TaskScope.Handle h = scope.enter()) {
+            assertTrue(scope.isActive());
+            i1 = injector.getInstance(MockInterface1.class);
+            assertSame(i1, injector.getInstance(MockInterface1.class));
+        }
+        assertFalse(scope.isActive());
+
+        try (TaskScope.Handle h = scope.enter()) {
+            i2 = injector.getInstance(MockInterface1.class);
+        }
+
+        assertNotSame(i1, i2);
+    }
+
+    @Test
+    public void noActiveUnit() {
+        TaskScope scope = new TaskScope();
+        Injector injector = DIBootstrap.createInjector(b -> b
+                .bind(MockInterface1.class).to(MockImplementation1_EventAnnotations.class).in(scope));
+
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(MockInterface1.class));
+    }
+
+    @Test
+    public void beforeScopeEnd() {
+        TaskScope scope = new TaskScope();
+        Injector injector = DIBootstrap.createInjector(b -> b
+                .bind(MockInterface1.class).to(MockImplementation1_EventAnnotations.class).in(scope));
+
+        MockImplementation1_EventAnnotations.reset();
+        try (TaskScope.Handle h = scope.enter()) {
+            injector.getInstance(MockInterface1.class);
+            assertFalse(MockImplementation1_EventAnnotations.shutdown1);
+        }
+
+        assertTrue(MockImplementation1_EventAnnotations.shutdown1);
+        assertTrue(MockImplementation1_EventAnnotations.shutdown2);
+    }
+
+    @Test
+    public void beforeScopeEnd_ReverseOrder() {
+        List<String> events = new ArrayList<>();
+        TaskScope scope = new TaskScope();
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(List.class).toInstance(events);
+            b.bind(Dependency.class).in(scope);
+            b.bind(Dependent.class).in(scope);
+        });
+
+        try (TaskScope.Handle h = scope.enter()) {
+            injector.getInstance(Dependent.class);
+        }
+
+        assertEquals(List.of("dependent", "dependency"), events);
+    }
+
+    @Test
+    public void nestedUnits() {
+        TaskScope scope = new TaskScope();
+        Injector injector = DIBootstrap.createInjector(b -> b
+                .bind(MockInterface1.class).to(MockImplementation1_EventAnnotations.class).in(scope));
+
+        try (TaskScope.Handle outer = scope.enter()) {
+            MockInterface1 i1 = injector.getInstance(MockInterface1.class);
+
+            try (TaskScope.Handle inner = scope.enter()) {
+                assertNotSame(i1, injector.getInstance(MockInterface1.class));
+            }
+
+            assertSame(i1, injector.getInstance(MockInterface1.class));
+        }
+    }
+
+    @Test
+    public void wrap_VirtualThreads() throws Exception {
+        TaskScope scope = new TaskScope();
+        Injector injector = DIBootstrap.createInjector(b -> b
+                .bind(MockInterface1.class).to(MockImplementation1_EventAnnotations.class).in(scope));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             TaskScope.Handle h = scope.enter()) {
+
+            MockInterface1 i1 = injector.getInstance(MockInterface1.class);
+
+            Future<MockInterface1> f1 = executor.submit(h.wrap(() -> injector.getInstance(MockInterface1.class)));
+            Future<Boolean> f2 = executor.submit(() -> scope.isActive());
+
+            assertSame(i1, f1.get());
+            assertFalse(f2.get());
+        }
+    }
+
+    @Test
+    public void create_WaitsForOtherThread() {
+        TaskScope scope = new TaskScope();
+        AtomicReference<Injector> injectorRef = new AtomicReference<>();
+        AtomicReference<TaskScope.Handle> handleRef = new AtomicReference<>();
+
+        // a provider that waits for another thread of the same unit creating a different scoped object
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(List.class).toInstance(new ArrayList<>());
+            b.bind(Dependency.class).in(scope);
+            b.bind(String.class).toProviderInstance(() -> {
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    Future<Dependency> f = executor.submit(handleRef.get().wrap(
+                            () -> injectorRef.get().getInstance(Dependency.class)));
+                    return "s:" + (f.get() != null);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }).in(scope);
+        });
+        injectorRef.set(injector);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            try (TaskScope.Handle h = scope.enter()) {
+                handleRef.set(h);
+                assertEquals("s:true", injector.getInstance(String.class));
+            }
+        });
+    }
+
+    @Test
+    public void close_OtherThread() throws Exception {
+        TaskScope scope = new TaskScope();
+        TaskScope.Handle h = scope.enter();
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread t = Thread.ofVirtual().start(() -> {
+            try {
+                h.close();
+            } catch (Throwable th) {
+                error.set(th);
+            }
+        });
+        t.join();
+
+        assertInstanceOf(DIRuntimeException.class, error.get());
+
+        assertTrue(scope.isActive());
+        h.close();
+        assertFalse(scope.isActive());
+    }
+
+    @Test
+    public void postScopeEvent() {
+        TaskScope scope = new TaskScope(CustomEvent.class);
+        Injector injector = DIBootstrap.createInjector(b -> {
+            b.bind(List.class).toInstance(new ArrayList<>());
+            b.bind(Dependency.class).in(scope);
+        });
+
+        try (TaskScope.Handle h = scope.enter()) {
+            Dependency d = injector.getInstance(Dependency.class);
+            h.postScopeEvent(CustomEvent.class, "x");
+            assertEquals(List.of("custom:x"), d.events);
+
+            assertThrows(DIRuntimeException.class, () -> h.postScopeEvent(Deprecated.class));
+        }
+    }
+
+    @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+    public @interface CustomEvent {
+    }
+
+    public static class Dependency {
+
+        final List<String> events;
+
+        @Inject
+        public Dependency(List events) {
+            this.events = events;
+        }
+
+        @BeforeScopeEnd
+        public void end() {
+            events.add("dependency");
+        }
+
+        @CustomEvent
+        public void custom(String arg) {
+            events.add("custom:" + arg);
+        }
+    }
+
+    public static class Dependent {
+
+        final List<String> events;
+
+        @Inject
+        public Dependent(List events, Dependency dependency) {
+            this.events = events;
+        }
+
+        @BeforeScopeEnd
+        public void end() {
+            events.add("dependent");
+        }
+    }
+}
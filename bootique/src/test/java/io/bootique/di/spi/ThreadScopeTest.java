@@ -0,0 +1,81 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.Injector;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreadScopeTest {
+
+    @Test
+    public void instancePerThread() throws Exception {
+        ThreadScope scope = new ThreadScope();
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Formatter.class).in(scope));
+
+        Formatter f1 = injector.getInstance(Formatter.class);
+        assertSame(f1, injector.getInstance(Formatter.class));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Formatter f2 = executor.submit(() -> injector.getInstance(Formatter.class)).get();
+            assertNotSame(f1, f2);
+            assertSame(f2, executor.submit(() -> injector.getInstance(Formatter.class)).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shutdown() {
+        ThreadScope scope = new ThreadScope();
+        Injector injector = DIBootstrap.createInjector(b -> b.bind(Formatter.class).in(scope));
+
+        Formatter f1 = injector.getInstance(Formatter.class);
+        assertEquals(0, f1.ended.get());
+
+        scope.shutdown();
+        assertEquals(1, f1.ended.get());
+
+        Formatter f2 = injector.getInstance(Formatter.class);
+        assertNotSame(f1, f2);
+
+        scope.shutdown();
+        assertEquals(1, f1.ended.get());
+        assertEquals(1, f2.ended.get());
+    }
+
+    public static class Formatter {
+
+        final AtomicInteger ended = new AtomicInteger();
+
+        @BeforeScopeEnd
+        public void end() {
+            ended.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.profile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupProfilerTest {
+
+    @Test
+    public void span_NotRunning() {
+        try (StartupProfiler.Span span = StartupProfiler.span("x")) {
+            assertNotNull(span);
+        }
+    }
+
+    @Test
+    public void nestedSpans() throws IOException {
+        StartupProfiler profiler = StartupProfiler.start();
+        try {
+            try (StartupProfiler.Span outer = StartupProfiler.span("outer")) {
+                try (StartupProfiler.Span inner = StartupProfiler.span("inner", String.class)) {
+                }
+            }
+        } finally {
+            assertTrue(profiler.stop());
+        }
+
+        // not recorded after stop
+        try (StartupProfiler.Span span = StartupProfiler.span("after")) {
+        }
+
+        List<StartupProfiler.Event> events = profiler.getEvents();
+        assertEquals(2, events.size());
+
+        StartupProfiler.Event outer = events.get(0);
+        StartupProfiler.Event inner = events.get(1);
+        assertEquals("outer", outer.getName());
+        assertEquals(0, outer.getDepth());
+        assertEquals("inner java.lang.String", inner.getName());
+        assertEquals(1, inner.getDepth());
+        assertTrue(outer.getDurationNanos() >= inner.getDurationNanos());
+
+        StringBuilder out = new StringBuilder();
+        profiler.writeChromeTrace(out);
+        JsonNode json = new ObjectMapper().readTree(out.toString());
+        JsonNode traceEvents = json.get("traceEvents");
+
+        // thread name metadata + 2 spans
+        assertEquals(3, traceEvents.size());
+        assertEquals("M", traceEvents.get(0).get("ph").asText());
+        assertEquals("X", traceEvents.get(1).get("ph").asText());
+        assertEquals("outer", traceEvents.get(1).get("name").asText());
+
+        assertTrue(profiler.summary(10).contains("inner java.lang.String"));
+    }
+
+    @Test
+    public void start_AlreadyRunning() {
+        StartupProfiler p1 = StartupProfiler.start();
+        StartupProfiler p2 = StartupProfiler.start();
+        try {
+            try (StartupProfiler.Span span = StartupProfiler.span("x")) {
+            }
+        } finally {
+            assertFalse(p2.stop());
+            assertTrue(p1.stop());
+        }
+
+        assertEquals(1, p1.getEvents().size());
+        assertEquals(0, p2.getEvents().size());
+    }
+
+    @Test
+    public void stop_OpenSpan() {
+        StartupProfiler profiler = StartupProfiler.start();
+        StartupProfiler.Span span = StartupProfiler.span("open");
+        try {
+            assertTrue(profiler.stop());
+        } finally {
+            span.close();
+        }
+
+        assertEquals(0, profiler.getEvents().size());
+    }
+
+    @Test
+    public void summary_RankedBySelfTime() throws InterruptedException {
+        StartupProfiler profiler = StartupProfiler.start();
+        try {
+            try (StartupProfiler.Span wrapper = StartupProfiler.span("wrapper")) {
+                try (StartupProfiler.Span fast = StartupProfiler.span("fast")) {
+                }
+                try (StartupProfiler.Span slow = StartupProfiler.span("slow")) {
+                    Thread.sleep(50);
+                }
+            }
+        } finally {
+            assertTrue(profiler.stop());
+        }
+
+        StartupProfiler.Event wrapper = profiler.getEvents().get(0);
+        assertEquals("wrapper", wrapper.getName());
+        assertTrue(wrapper.getSelfNanos() < wrapper.getDurationNanos());
+
+        String[] lines = profiler.summary(1).split(System.lineSeparator());
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].endsWith(" slow"), lines[1]);
+    }
+}